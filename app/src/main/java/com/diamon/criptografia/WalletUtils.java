@@ -1,4 +0,0 @@
-package com.diamon.criptografia;
-
-public class WalletUtils {
-}
@@ -1,7 +1,7 @@
 package com.diamon.ganar;
 
-import com.diamon.ganar.utils.Base58Utils;
-import com.diamon.ganar.utils.CryptoUtils;
+import com.diamon.criptografia.Base58Utils;
+import com.diamon.criptografia.CryptoUtils;
 
 /**
  * Fachada principal para operaciones criptográficas de Bitcoin.
@@ -4,6 +4,8 @@ import android.app.Activity;
 import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
@@ -14,15 +16,19 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.text.HtmlCompat;
 import androidx.lifecycle.ViewModelProvider;
 
+import com.diamon.criptografia.VanitySearch;
+import com.diamon.criptografia.model.WalletData;
 import com.diamon.ganar.databinding.ActivityMainBinding;
 import com.diamon.ganar.model.FileProcessingResult;
-import com.diamon.ganar.model.WalletData;
+import com.diamon.ganar.model.FileProgress;
 import com.diamon.ganar.utils.ClipboardUtils;
 import com.diamon.ganar.utils.PantallaCompleta;
 import com.diamon.ganar.utils.SecurityUtils;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.snackbar.Snackbar;
 
+import java.util.Locale;
+
 /**
  * Activity principal para generación de carteras Bitcoin.
  * Implementa Material Design 3 con funcionalidad de copiar y seguridad
@@ -62,6 +68,9 @@ public class MainActivity extends AppCompatActivity {
 
         viewModel = new ViewModelProvider(this).get(MainViewModel.class);
 
+        // Preparar tablas y digests en segundo plano antes del primer toque
+        viewModel.warmUp();
+
         setSupportActionBar(binding.toolbar);
 
         pantallaCompleta = new PantallaCompleta(this);
@@ -86,7 +95,38 @@ public class MainActivity extends AppCompatActivity {
                 return;
             }
 
-            viewModel.generateFromText(seed);
+            viewModel.generateFromText(seed, binding.switchStretch.isChecked());
+        });
+
+        // Vista previa al escribir (opcional)
+        binding.inputSeed.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                // Con el campo deshabilitado el texto es la información del archivo
+                if (binding.switchLivePreview.isChecked() && binding.inputSeed.isEnabled()) {
+                    requestPreview();
+                }
+            }
+        });
+
+        binding.switchLivePreview.setOnCheckedChangeListener((button, isChecked) -> {
+            if (isChecked && binding.inputSeed.isEnabled()) {
+                requestPreview();
+            }
+        });
+
+        binding.switchStretch.setOnCheckedChangeListener((button, isChecked) -> {
+            if (binding.switchLivePreview.isChecked() && binding.inputSeed.isEnabled()) {
+                requestPreview();
+            }
         });
 
         // Botón cargar archivo
@@ -97,6 +137,18 @@ public class MainActivity extends AppCompatActivity {
             filePickerLauncher.launch(intent);
         });
 
+        // Botón buscar / detener búsqueda por prefijo
+        binding.btnVanity.setOnClickListener(v -> {
+            if (Boolean.TRUE.equals(viewModel.getIsSearching().getValue())) {
+                viewModel.cancelVanity();
+                return;
+            }
+
+            binding.inputSeed.setEnabled(true);
+            clearResults();
+            viewModel.searchVanity(binding.inputVanity.getText().toString().trim());
+        });
+
         // Botón limpiar
         binding.btnClear.setOnClickListener(v -> {
             binding.inputSeed.setText("");
@@ -124,6 +176,32 @@ public class MainActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Pide la vista previa del texto actual. Las claves privadas se ocultan
+     * en cuanto cambia la semilla: solo se ven tras pulsar "Mostrar".
+     */
+    private void requestPreview() {
+        hidePrivateKeys();
+
+        String seed = binding.inputSeed.getText().toString();
+        if (seed.isEmpty()) {
+            clearResults();
+        }
+        viewModel.previewFromText(seed, binding.switchStretch.isChecked());
+    }
+
+    /**
+     * Los botones de generar solo se habilitan sin carga ni búsqueda en
+     * curso; cada estado por separado no basta porque terminan en
+     * cualquier orden.
+     */
+    private void updateGenerateButtons() {
+        boolean busy = Boolean.TRUE.equals(viewModel.getIsLoading().getValue())
+                || Boolean.TRUE.equals(viewModel.getIsSearching().getValue());
+        binding.btnGenerate.setEnabled(!busy);
+        binding.btnLoadFile.setEnabled(!busy);
+    }
+
     /**
      * Configura observadores de LiveData del ViewModel.
      */
@@ -131,8 +209,44 @@ public class MainActivity extends AppCompatActivity {
         // Observar estado de carga
         viewModel.getIsLoading().observe(this, isLoading -> {
             binding.progressBar.setVisibility(isLoading ? View.VISIBLE : View.GONE);
-            binding.btnGenerate.setEnabled(!isLoading);
-            binding.btnLoadFile.setEnabled(!isLoading);
+            updateGenerateButtons();
+        });
+
+        // Observar avance del archivo
+        viewModel.getFileProgress().observe(this, progress -> {
+            if (progress == null) {
+                binding.progressFile.setVisibility(View.GONE);
+                binding.tvFileProgress.setVisibility(View.GONE);
+                return;
+            }
+
+            if (progress.hasTotal()) {
+                binding.progressFile.setIndeterminate(false);
+                binding.progressFile.setProgressCompat(progress.getPercent(), true);
+            } else {
+                binding.progressFile.setIndeterminate(true);
+            }
+            binding.progressFile.setVisibility(View.VISIBLE);
+            binding.tvFileProgress.setText(formatFileProgress(progress));
+            binding.tvFileProgress.setVisibility(View.VISIBLE);
+        });
+
+        // Observar búsqueda por prefijo
+        viewModel.getIsSearching().observe(this, isSearching -> {
+            binding.btnVanity.setText(getString(isSearching ? R.string.btn_vanity_stop : R.string.btn_vanity_search));
+            binding.inputVanity.setEnabled(!isSearching);
+            // Sin escritura (ni vista previa) mientras se busca
+            binding.inputSeed.setEnabled(!isSearching);
+            updateGenerateButtons();
+        });
+
+        viewModel.getVanityProgress().observe(this, progress -> {
+            if (progress == null) {
+                binding.tvVanityProgress.setVisibility(View.GONE);
+            } else {
+                binding.tvVanityProgress.setText(formatVanityProgress(progress));
+                binding.tvVanityProgress.setVisibility(View.VISIBLE);
+            }
         });
 
         // Observar mensajes de error
@@ -157,6 +271,68 @@ public class MainActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Texto de avance del archivo: etapa y bytes leídos (del total, si el
+     * proveedor lo informa).
+     */
+    private String formatFileProgress(FileProgress progress) {
+        String phase;
+        switch (progress.phase) {
+            case COMPRESS:
+                phase = getString(R.string.file_phase_compress);
+                break;
+            case HASH:
+                phase = getString(R.string.file_phase_hash);
+                break;
+            default:
+                phase = getString(R.string.file_phase_read);
+                break;
+        }
+
+        String read = FileProcessingResult.formatSize(progress.bytesRead);
+        if (!progress.hasTotal()) {
+            return getString(R.string.file_progress_unknown_template, phase, read);
+        }
+        return getString(R.string.file_progress_template, phase, read,
+                FileProcessingResult.formatSize(progress.totalBytes), progress.getPercent());
+    }
+
+    /**
+     * Texto de avance de la búsqueda por prefijo: velocidad, claves
+     * probadas, probabilidad acumulada y tiempo hasta el 50 %.
+     */
+    private String formatVanityProgress(VanitySearch.Progress progress) {
+        String eta;
+        if (Double.isInfinite(progress.secondsTo50Percent)) {
+            eta = getString(R.string.vanity_eta_unknown);
+        } else if (progress.secondsTo50Percent == 0) {
+            eta = getString(R.string.vanity_eta_reached);
+        } else {
+            eta = formatDuration(progress.secondsTo50Percent);
+        }
+
+        return getString(R.string.vanity_progress_template,
+                String.format(Locale.getDefault(), "%,.0f", progress.keysPerSecond),
+                String.format(Locale.getDefault(), "%,d", progress.keysTried),
+                progress.probability * 100, eta);
+    }
+
+    /**
+     * Duración aproximada en la unidad más grande que quepa.
+     */
+    private static String formatDuration(double seconds) {
+        if (seconds < 60) {
+            return String.format(Locale.getDefault(), "%.0f s", seconds);
+        } else if (seconds < 3600) {
+            return String.format(Locale.getDefault(), "%.1f min", seconds / 60);
+        } else if (seconds < 86400) {
+            return String.format(Locale.getDefault(), "%.1f h", seconds / 3600);
+        } else if (seconds < 365.25 * 86400) {
+            return String.format(Locale.getDefault(), "%.1f d", seconds / 86400);
+        }
+        return String.format(Locale.getDefault(), "%.3g a", seconds / (365.25 * 86400));
+    }
+
     /**
      * Muestra información del archivo procesado.
      */
@@ -169,8 +345,9 @@ public class MainActivity extends AppCompatActivity {
                     FileProcessingResult.formatSize(fileInfo.processedSize));
         }
 
-        binding.inputSeed.setText(message);
+        // Deshabilitar antes de escribir para que no dispare la vista previa
         binding.inputSeed.setEnabled(false);
+        binding.inputSeed.setText(message);
     }
 
     /**
@@ -182,6 +359,8 @@ public class MainActivity extends AppCompatActivity {
         binding.tvWif.setText(wallet.wif);
         binding.tvPublicKey.setText(wallet.publicKeyHex);
         binding.tvAddress.setText(wallet.address);
+        binding.tvCompressedAddress.setText(wallet.compressedAddress);
+        binding.tvCompressedWif.setText(wallet.compressedWif);
 
         // Mostrar layout de resultados
         binding.resultsLayout.setVisibility(View.VISIBLE);
@@ -201,6 +380,9 @@ public class MainActivity extends AppCompatActivity {
         binding.btnCopyAddress.setOnClickListener(v -> ClipboardUtils.copyToClipboard(this, binding.getRoot(),
                 getString(R.string.copy_address), wallet.address));
 
+        binding.btnCopyCompressedAddress.setOnClickListener(v -> ClipboardUtils.copyToClipboard(this,
+                binding.getRoot(), getString(R.string.copy_compressed_address), wallet.compressedAddress));
+
         // Copiar clave pública (seguro)
         binding.btnCopyPublicKey.setOnClickListener(v -> ClipboardUtils.copyToClipboard(this, binding.getRoot(),
                 getString(R.string.copy_public_key), wallet.publicKeyHex));
@@ -213,6 +395,10 @@ public class MainActivity extends AppCompatActivity {
         // Copiar WIF (sensible - con confirmación)
         binding.btnCopyWif
                 .setOnClickListener(v -> showCopyConfirmationDialog(getString(R.string.copy_wif), wallet.wif));
+
+        binding.btnCopyCompressedWif
+                .setOnClickListener(v -> showCopyConfirmationDialog(getString(R.string.copy_compressed_wif),
+                        wallet.compressedWif));
     }
 
     /**
@@ -236,11 +422,26 @@ public class MainActivity extends AppCompatActivity {
         if (isPrivKeyVisible) {
             binding.tvPrivateKey.setTransformationMethod(null);
             binding.tvWif.setTransformationMethod(null);
+            binding.tvCompressedWif.setTransformationMethod(null);
         } else {
             binding.tvPrivateKey.setTransformationMethod(
                     new android.text.method.PasswordTransformationMethod());
             binding.tvWif.setTransformationMethod(
                     new android.text.method.PasswordTransformationMethod());
+            binding.tvCompressedWif.setTransformationMethod(
+                    new android.text.method.PasswordTransformationMethod());
+        }
+    }
+
+    /**
+     * Oculta las claves privadas si estaban visibles.
+     */
+    private void hidePrivateKeys() {
+        if (isPrivKeyVisible) {
+            isPrivKeyVisible = false;
+            updateVisibility();
+            binding.btnToggleVisibility.setText(getString(R.string.btn_show));
+            binding.btnToggleVisibility.setIconResource(R.drawable.ic_visibility);
         }
     }
 
@@ -253,6 +454,8 @@ public class MainActivity extends AppCompatActivity {
         binding.tvWif.setText("");
         binding.tvPublicKey.setText("");
         binding.tvAddress.setText("");
+        binding.tvCompressedAddress.setText("");
+        binding.tvCompressedWif.setText("");
 
         // Resetear visibilidad
         isPrivKeyVisible = false;
@@ -343,15 +546,9 @@ public class MainActivity extends AppCompatActivity {
         super.onPause();
 
         // Por seguridad, ocultar claves al pausar
-        if (isPrivKeyVisible) {
-            isPrivKeyVisible = false;
-            updateVisibility();
-            binding.btnToggleVisibility.setText(getString(R.string.btn_show));
-            binding.btnToggleVisibility.setIconResource(R.drawable.ic_visibility);
-
-            // NOTA: No desactivamos FLAG_SECURE aquí para que la vista previa
-            // en el selector de tareas (Recents) aparezca protegida (negra/blanca).
-        }
+        // NOTA: No desactivamos FLAG_SECURE aquí para que la vista previa
+        // en el selector de tareas (Recents) aparezca protegida (negra/blanca).
+        hidePrivateKeys();
 
         // Opcional: limpiar portapapeles
         // ClipboardUtils.clearClipboard(this);
@@ -1,19 +1,33 @@
 package com.diamon.ganar;
 
 import android.app.Application;
+import android.content.pm.ApplicationInfo;
 import android.net.Uri;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.diamon.criptografia.CryptoBackends;
+import com.diamon.criptografia.FixedBaseMultiplier;
+import com.diamon.criptografia.SeedStretcher;
+import com.diamon.criptografia.VanitySearch;
+import com.diamon.criptografia.WalletUtils;
+import com.diamon.criptografia.metrics.MetricsRegistry;
+import com.diamon.criptografia.metrics.PipelineMetrics;
+import com.diamon.criptografia.model.WalletData;
 import com.diamon.ganar.model.FileProcessingResult;
-import com.diamon.ganar.model.WalletData;
-import com.diamon.ganar.utils.CryptoUtils;
+import com.diamon.ganar.model.FileProgress;
 import com.diamon.ganar.utils.FileUtils;
+import com.diamon.ganar.utils.LatestJobScheduler;
+import com.diamon.ganar.utils.SecurityUtils;
+import com.diamon.ganar.utils.TraceMetricsListener;
 
+import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -27,6 +41,14 @@ import java.util.concurrent.Executors;
  */
 public class MainViewModel extends AndroidViewModel {
 
+    private static final String TAG = "MainViewModel";
+
+    /** Tabla precalculada de secp256k1 en la caché de la app */
+    private static final String TABLE_FILE_NAME = "secp256k1-fixed-base.tbl";
+
+    /** Pausa sin escribir antes de derivar la vista previa */
+    public static final long PREVIEW_DEBOUNCE_MILLIS = 300;
+
     // LiveData para resultados de cartera
     private final MutableLiveData<WalletData> walletData = new MutableLiveData<>();
 
@@ -39,11 +61,44 @@ public class MainViewModel extends AndroidViewModel {
     // LiveData para información de archivo procesado
     private final MutableLiveData<FileProcessingResult> fileProcessingInfo = new MutableLiveData<>();
 
-    // Executor para operaciones en segundo plano
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // LiveData para el avance del archivo en proceso (null si no hay ninguno)
+    private final MutableLiveData<FileProgress> fileProgress = new MutableLiveData<>();
+
+    // LiveData para el avance de la búsqueda por prefijo (null si no hay búsqueda)
+    private final MutableLiveData<VanitySearch.Progress> vanityProgress = new MutableLiveData<>();
+
+    // LiveData para indicar si hay una búsqueda por prefijo en curso
+    private final MutableLiveData<Boolean> isSearching = new MutableLiveData<>(false);
+
+    // Hilo de derivación: cada generación reemplaza a las anteriores
+    private final LatestJobScheduler scheduler = new LatestJobScheduler();
+
+    // Hilo que espera la búsqueda por prefijo; los núcleos los usa el buscador
+    private final ExecutorService vanityExecutor = Executors.newSingleThreadExecutor();
+
+    // Buscador por prefijo, creado al primer uso (solo en el hilo principal)
+    private VanitySearch vanitySearch;
+
+    // Métricas por etapa (solo en compilaciones depurables, null si no)
+    private final MetricsRegistry metrics;
+
+    // Endurecedor scrypt, creado al primer uso y reutilizado (solo en el
+    // hilo del planificador)
+    private SeedStretcher stretcher;
+
+    // Calentamiento ya encolado (el ViewModel sobrevive a rotaciones)
+    private boolean warmUpRequested;
 
     public MainViewModel(@NonNull Application application) {
         super(application);
+
+        // Secciones de Trace y registro de latencias solo al depurar
+        if ((application.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            metrics = new MetricsRegistry();
+            PipelineMetrics.setListener(new TraceMetricsListener(metrics));
+        } else {
+            metrics = null;
+        }
     }
 
     // Getters para LiveData
@@ -63,12 +118,67 @@ public class MainViewModel extends AndroidViewModel {
         return fileProcessingInfo;
     }
 
+    /**
+     * Avance del archivo en proceso, como mucho cada
+     * {@link FileUtils#PROGRESS_INTERVAL_MILLIS} ms por etapa.
+     */
+    public LiveData<FileProgress> getFileProgress() {
+        return fileProgress;
+    }
+
+    public LiveData<VanitySearch.Progress> getVanityProgress() {
+        return vanityProgress;
+    }
+
+    public LiveData<Boolean> getIsSearching() {
+        return isSearching;
+    }
+
+    /**
+     * Calienta el núcleo criptográfico en el hilo de derivación: tabla de
+     * secp256k1 (mapeada desde la caché si ya existe), autoprueba de
+     * backends, digests y codificadores. Así la primera generación no paga
+     * la inicialización. Solo tiene efecto la primera vez.
+     */
+    public void warmUp() {
+        if (warmUpRequested) {
+            return;
+        }
+        warmUpRequested = true;
+        FixedBaseMultiplier.setTableFile(new File(getApplication().getCacheDir(), TABLE_FILE_NAME));
+
+        scheduler.execute(() -> {
+            long start = System.nanoTime();
+            WalletUtils.warmUp();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+            // No contar la cartera descartable en las métricas
+            if (metrics != null) {
+                metrics.reset();
+                Log.d(TAG, "Backends criptográficos: " + CryptoBackends.describe());
+                Log.d(TAG, "Calentamiento hasta la primera cartera: " + elapsedMillis + " ms (tabla "
+                        + (FixedBaseMultiplier.getInstance().isTableLoaded() ? "mapeada" : "construida") + ")");
+            }
+        });
+    }
+
     /**
      * Genera cartera desde texto.
      * 
      * @param seedText Texto semilla
      */
     public void generateFromText(String seedText) {
+        generateFromText(seedText, false);
+    }
+
+    /**
+     * Genera cartera desde texto, opcionalmente endureciendo la semilla con
+     * scrypt (ver {@link SeedStretcher}). Ambos modos dan carteras distintas.
+     * 
+     * @param seedText Texto semilla
+     * @param stretch  true para derivar la clave con scrypt
+     */
+    public void generateFromText(String seedText, boolean stretch) {
         if (seedText == null || seedText.isEmpty()) {
             errorMessage.setValue("Por favor ingrese un texto semilla.");
             return;
@@ -78,45 +188,172 @@ public class MainViewModel extends AndroidViewModel {
         fileProcessingInfo.setValue(null);
 
         // Procesar semilla de texto
-        processSeed(seedText.getBytes(StandardCharsets.UTF_8));
+        processSeed(seedText.getBytes(StandardCharsets.UTF_8), stretch, 0);
+    }
+
+    /**
+     * Vista previa mientras se escribe: deriva la cartera cuando el texto
+     * lleva {@link #PREVIEW_DEBOUNCE_MILLIS} ms sin cambiar. Cada llamada
+     * reemplaza a la anterior, y un texto vacío solo cancela.
+     * 
+     * @param seedText Texto semilla actual
+     * @param stretch  true para derivar la clave con scrypt
+     */
+    public void previewFromText(String seedText, boolean stretch) {
+        if (seedText == null || seedText.isEmpty()) {
+            scheduler.cancel();
+            isLoading.setValue(false);
+            fileProgress.setValue(null);
+            return;
+        }
+
+        fileProcessingInfo.setValue(null);
+        processSeed(seedText.getBytes(StandardCharsets.UTF_8), stretch, PREVIEW_DEBOUNCE_MILLIS);
     }
 
     /**
      * Genera cartera desde archivo.
-     * Aplica límites de tamaño y compresión automática.
+     * Aplica límites de tamaño y compresión automática. Como las demás
+     * generaciones, reemplaza a las anteriores, y una posterior la abandona
+     * en el siguiente bloque leído. El avance se publica en
+     * {@link #getFileProgress()}.
      * 
      * @param fileUri URI del archivo seleccionado
      */
     public void generateFromFile(Uri fileUri) {
         isLoading.setValue(true);
-        executor.execute(() -> {
+        fileProgress.setValue(null);
+        scheduler.submit(token -> {
             try {
                 // Procesar archivo con límites y compresión
                 FileProcessingResult result = FileUtils.processFile(
                         getApplication().getApplicationContext(),
-                        fileUri);
+                        fileUri,
+                        token,
+                        progress -> {
+                            if (token.isCurrent()) {
+                                fileProgress.postValue(progress);
+                            }
+                        });
+
+                if (!token.isCurrent()) {
+                    SecurityUtils.clearSensitiveData(result.seedDigest);
+                    return;
+                }
 
                 // Publicar información del archivo
                 fileProcessingInfo.postValue(result);
 
-                // Procesar bytes del archivo como semilla
-                processSeedInternal(result.processedBytes);
+                // Completar el doble SHA-256 con el hash calculado en streaming
+                processWalletInternal(() -> WalletUtils.fromSeedDigest(result.seedDigest), token);
+                SecurityUtils.clearSensitiveData(result.seedDigest);
 
+            } catch (CancellationException e) {
+                // Reemplazado por una generación más reciente: nada que publicar
+                if (metrics != null) {
+                    Log.d(TAG, "Procesamiento de archivo abandonado");
+                }
             } catch (Exception e) {
-                errorMessage.postValue("Error procesando archivo: " + e.getMessage());
-                isLoading.postValue(false);
+                if (token.isCurrent()) {
+                    errorMessage.postValue("Error procesando archivo: " + e.getMessage());
+                    isLoading.postValue(false);
+                }
+            } finally {
+                if (token.isCurrent()) {
+                    fileProgress.postValue(null);
+                }
             }
         });
     }
 
     /**
-     * Procesa semilla en segundo plano.
+     * Busca en todos los núcleos una cartera aleatoria cuya dirección empiece
+     * por el prefijo (ver {@link VanitySearch}). El avance se publica en
+     * {@link #getVanityProgress()} y la cartera en {@link #getWalletData()}.
      * 
-     * @param seedBytes Bytes de la semilla
+     * @param prefix Prefijo de la dirección, empezando por '1'
      */
-    private void processSeed(byte[] seedBytes) {
-        isLoading.setValue(true);
-        executor.execute(() -> processSeedInternal(seedBytes));
+    public void searchVanity(String prefix) {
+        if (Boolean.TRUE.equals(isSearching.getValue())) {
+            return;
+        }
+
+        double difficulty;
+        try {
+            difficulty = VanitySearch.getDifficulty(prefix);
+        } catch (IllegalArgumentException e) {
+            errorMessage.setValue(e.getMessage());
+            return;
+        }
+
+        if (vanitySearch == null) {
+            vanitySearch = new VanitySearch();
+        }
+        VanitySearch search = vanitySearch;
+        // Tomado aquí: un "Detener" antes de que arranque el hilo también cuenta
+        long ticket = search.ticket();
+
+        // Una vista previa pendiente publicaría su cartera sobre la búsqueda
+        scheduler.cancel();
+        isLoading.setValue(false);
+        fileProgress.setValue(null);
+        fileProcessingInfo.setValue(null);
+        isSearching.setValue(true);
+        if (metrics != null) {
+            Log.d(TAG, "Búsqueda de " + prefix + ": " + Math.round(difficulty) + " claves esperadas");
+        }
+
+        vanityExecutor.execute(() -> {
+            try {
+                WalletData wallet = search.search(prefix, vanityProgress::postValue, ticket);
+                if (wallet != null) {
+                    walletData.postValue(wallet);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                errorMessage.postValue("Error en la búsqueda: " + e.getMessage());
+            } finally {
+                vanityProgress.postValue(null);
+                isSearching.postValue(false);
+
+                if (metrics != null) {
+                    Log.d(TAG, "Métricas de la búsqueda:\n" + metrics.format());
+                }
+            }
+        });
+    }
+
+    /**
+     * Detiene la búsqueda por prefijo en curso, si la hay.
+     */
+    public void cancelVanity() {
+        if (vanitySearch != null) {
+            vanitySearch.cancel();
+        }
+    }
+
+    /**
+     * Procesa semilla en segundo plano, reemplazando cualquier generación
+     * anterior aún pendiente o en curso.
+     * 
+     * @param seedBytes   Bytes de la semilla
+     * @param stretch     true para derivar la clave con scrypt
+     * @param delayMillis Retardo antes de empezar (0 para inmediato)
+     */
+    private void processSeed(byte[] seedBytes, boolean stretch, long delayMillis) {
+        fileProgress.setValue(null);
+        if (delayMillis == 0) {
+            isLoading.setValue(true);
+        }
+        scheduler.schedule(token -> {
+            isLoading.postValue(true);
+            if (stretch) {
+                processStretchedSeedInternal(seedBytes, token);
+            } else {
+                processSeedInternal(seedBytes, token);
+            }
+        }, delayMillis);
     }
 
     /**
@@ -124,46 +361,77 @@ public class MainViewModel extends AndroidViewModel {
      * Ya corre en hilo secundario.
      * 
      * @param seedBytes Bytes de la semilla
+     * @param token     Generación del trabajo
      */
-    private void processSeedInternal(byte[] seedBytes) {
-        try {
-            // Generar clave privada: SHA256(SHA256(seed))
-            byte[] privateKeyBytes = CryptoUtils.generatePrivateKey(seedBytes);
-            String privateKeyHex = CryptoUtils.bytesToHex(privateKeyBytes);
-
-            // Generar WIF
-            String wif = CryptoUtils.generateWIF(privateKeyBytes);
-
-            // Derivar clave pública
-            byte[] publicKeyBytes = CryptoUtils.derivePublicKey(privateKeyBytes);
-            String publicKeyHex = CryptoUtils.bytesToHex(publicKeyBytes);
+    private void processSeedInternal(byte[] seedBytes, LatestJobScheduler.Token token) {
+        // Clave privada SHA256(SHA256(seed)) -> WIF, clave pública y dirección
+        processWalletInternal(() -> WalletUtils.fromSeed(seedBytes), token);
+    }
 
-            // Generar dirección Bitcoin
-            String address = CryptoUtils.generateAddress(publicKeyBytes);
+    /**
+     * Deriva la clave privada con scrypt. Ya corre en hilo secundario.
+     * 
+     * @param seedBytes Bytes de la semilla
+     * @param token     Generación del trabajo
+     */
+    private void processStretchedSeedInternal(byte[] seedBytes, LatestJobScheduler.Token token) {
+        if (stretcher == null) {
+            stretcher = new SeedStretcher(SeedStretcher.Params.defaults());
+        }
+        processWalletInternal(() -> WalletUtils.fromStretchedSeed(seedBytes, new byte[0], stretcher), token);
+    }
 
+    /**
+     * Ejecuta la derivación y publica la cartera resultante, salvo que una
+     * generación más reciente la haya reemplazado entretanto.
+     * Ya corre en hilo secundario.
+     * 
+     * @param derivation Derivación a ejecutar
+     * @param token      Generación del trabajo
+     */
+    private void processWalletInternal(WalletDerivation derivation, LatestJobScheduler.Token token) {
+        try {
             // Crear modelo de datos inmutable
-            WalletData wallet = new WalletData(
-                    privateKeyHex,
-                    wif,
-                    publicKeyHex,
-                    address);
+            WalletData wallet = derivation.derive();
 
             // Publicar resultado
-            walletData.postValue(wallet);
+            if (token.isCurrent()) {
+                walletData.postValue(wallet);
+            }
 
         } catch (Exception e) {
             e.printStackTrace();
-            errorMessage.postValue("Error criptográfico: " + e.getMessage());
+            if (token.isCurrent()) {
+                errorMessage.postValue("Error criptográfico: " + e.getMessage());
+            }
         } finally {
-            isLoading.postValue(false);
+            // El estado de carga pertenece a la generación más reciente
+            if (token.isCurrent()) {
+                isLoading.postValue(false);
+            }
+
+            if (metrics != null) {
+                Log.d(TAG, "Métricas de derivación:\n" + metrics.format());
+            }
         }
     }
 
+    /**
+     * Paso de derivación ejecutado en segundo plano.
+     */
+    private interface WalletDerivation {
+        WalletData derive() throws Exception;
+    }
+
     /**
      * Limpia los datos de la cartera.
-     * Útil para seguridad al pausar la app.
+     * Útil para seguridad al pausar la app. Descarta también las
+     * generaciones en curso para que no vuelvan a publicar una cartera.
      */
     public void clearWalletData() {
+        scheduler.cancel();
+        isLoading.setValue(false);
+        fileProgress.setValue(null);
         walletData.setValue(null);
         fileProcessingInfo.setValue(null);
     }
@@ -171,7 +439,25 @@ public class MainViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        // Cerrar executor al destruir ViewModel
-        executor.shutdown();
+        // Liberar la memoria de scrypt en el mismo hilo que la usa
+        scheduler.execute(() -> {
+            if (stretcher != null) {
+                stretcher.close();
+                stretcher = null;
+            }
+        });
+
+        // Descartar generaciones pendientes y cerrar el hilo
+        scheduler.shutdown();
+
+        // Detener la búsqueda por prefijo y sus hilos
+        if (vanitySearch != null) {
+            vanitySearch.close();
+        }
+        vanityExecutor.shutdown();
+
+        if (metrics != null) {
+            PipelineMetrics.setListener(null);
+        }
     }
 }
\ No newline at end of file
@@ -24,8 +24,11 @@ public class FileProcessingResult {
     /** Tipo MIME del archivo */
     public final String mimeType;
 
-    /** Bytes procesados del archivo (para generar hash) */
-    public final byte[] processedBytes;
+    /**
+     * SHA-256 de los bytes procesados (primera pasada del doble SHA-256).
+     * Dato sensible: equivale a la semilla.
+     */
+    public final byte[] seedDigest;
 
     /**
      * Constructor para resultado de procesamiento de archivo.
@@ -35,16 +38,16 @@ public class FileProcessingResult {
      * @param processedSize  Tamaño después de procesar
      * @param wasCompressed  Si se comprimió
      * @param mimeType       Tipo MIME
-     * @param processedBytes Bytes finales procesados
+     * @param seedDigest     SHA-256 de los bytes procesados
      */
     public FileProcessingResult(String fileName, long originalSize, long processedSize,
-            boolean wasCompressed, String mimeType, byte[] processedBytes) {
+            boolean wasCompressed, String mimeType, byte[] seedDigest) {
         this.fileName = fileName;
         this.originalSize = originalSize;
         this.processedSize = processedSize;
         this.wasCompressed = wasCompressed;
         this.mimeType = mimeType;
-        this.processedBytes = processedBytes;
+        this.seedDigest = seedDigest;
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.diamon.ganar.model;
+
+/**
+ * Avance del procesamiento de un archivo como semilla.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class FileProgress {
+
+    /**
+     * Etapa en curso.
+     */
+    public enum Phase {
+        /** Lectura sin compresión (archivo aún bajo el umbral) */
+        READ,
+        /** Lectura con los bytes pasando por GZIP */
+        COMPRESS,
+        /** Hash final de la semilla procesada */
+        HASH
+    }
+
+    /** Etapa en curso */
+    public final Phase phase;
+
+    /** Bytes leídos del archivo */
+    public final long bytesRead;
+
+    /** Tamaño del archivo según el proveedor, o -1 si no lo informa */
+    public final long totalBytes;
+
+    /**
+     * @param phase      Etapa en curso
+     * @param bytesRead  Bytes leídos
+     * @param totalBytes Tamaño total, o -1 si se desconoce
+     */
+    public FileProgress(Phase phase, long bytesRead, long totalBytes) {
+        this.phase = phase;
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * @return true si se conoce el tamaño total
+     */
+    public boolean hasTotal() {
+        return totalBytes > 0;
+    }
+
+    /**
+     * @return Porcentaje leído (0-100), o -1 si se desconoce el total
+     */
+    public int getPercent() {
+        if (!hasTotal()) {
+            return -1;
+        }
+        return (int) Math.min(100, bytesRead * 100 / totalBytes);
+    }
+}
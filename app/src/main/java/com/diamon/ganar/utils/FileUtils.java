@@ -2,45 +2,131 @@ package com.diamon.ganar.utils;
 
 import android.content.ContentResolver;
 import android.content.Context;
+import android.database.Cursor;
 import android.net.Uri;
+import android.provider.OpenableColumns;
 import android.webkit.MimeTypeMap;
 
+import com.diamon.criptografia.SeedDigestOutputStream;
+import com.diamon.criptografia.metrics.PipelineMetrics;
 import com.diamon.ganar.model.FileProcessingResult;
+import com.diamon.ganar.model.FileProgress;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Utilidades para procesamiento de archivos como semilla.
- * Implementa límites de tamaño y compresión automática.
+ * Implementa límites de tamaño y compresión automática en streaming, con
+ * avance limitado en frecuencia.
  * 
  * @author Bitcoin Wallet Generator
  * @version 1.0
  */
 public class FileUtils {
 
-    /** Límite máximo de archivo: 10 MB */
-    public static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10 MB
+    /** Límite máximo de archivo: 256 MB (el procesamiento es en streaming) */
+    public static final long MAX_FILE_SIZE = 256L * 1024 * 1024; // 256 MB
 
     /** Umbral para aplicar compresión: 1 MB */
     public static final long COMPRESSION_THRESHOLD = 1 * 1024 * 1024; // 1 MB
 
+    /** Intervalo mínimo entre avisos de avance de una misma etapa */
+    public static final long PROGRESS_INTERVAL_MILLIS = 100;
+
+    /** Bloque de lectura inicial y mínimo */
+    private static final int MIN_READ_BUFFER_SIZE = 64 * 1024;
+
+    /** Bloque de lectura máximo */
+    private static final int MAX_READ_BUFFER_SIZE = 1024 * 1024;
+
+    /** Lecturas en que se quiere repartir un archivo de tamaño conocido */
+    private static final int TARGET_READS = 64;
+
     /**
-     * Procesa un archivo para usarlo como semilla.
-     * 
-     * Proceso:
-     * 1. Verifica que el archivo no exceda 10 MB
-     * 2. Lee el contenido completo en memoria
-     * 3. Si el archivo > 1 MB, aplica compresión GZIP
-     * 4. Retorna resultado con información del procesamiento
+     * Recibe el avance del procesamiento, en el hilo que procesa el archivo.
+     */
+    public interface ProgressListener {
+
+        /**
+         * @param progress Avance actual
+         */
+        void onProgress(FileProgress progress);
+    }
+
+    /**
+     * Limita los avisos a uno por {@link #PROGRESS_INTERVAL_MILLIS}, salvo
+     * los cambios de etapa, que se avisan siempre.
+     */
+    private static final class ProgressThrottle {
+        private final ProgressListener listener;
+        private final long totalBytes;
+        private FileProgress.Phase lastPhase;
+        private long lastNanos;
+
+        ProgressThrottle(ProgressListener listener, long totalBytes) {
+            this.listener = listener;
+            this.totalBytes = totalBytes;
+        }
+
+        void report(FileProgress.Phase phase, long bytesRead) {
+            if (listener == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (phase == lastPhase && now - lastNanos < PROGRESS_INTERVAL_MILLIS * 1_000_000L) {
+                return;
+            }
+            lastPhase = phase;
+            lastNanos = now;
+            listener.onProgress(new FileProgress(phase, bytesRead, totalBytes));
+        }
+    }
+
+    /**
+     * Procesa un archivo para usarlo como semilla, sin cancelación.
      * 
      * @param context Contexto de la aplicación
      * @param fileUri URI del archivo seleccionado
-     * @return FileProcessingResult con bytes procesados e información
+     * @return FileProcessingResult con el hash de la semilla e información
      * @throws Exception Si el archivo es muy grande o hay error de lectura
+     * @see #processFile(Context, Uri, LatestJobScheduler.Token, ProgressListener)
      */
     public static FileProcessingResult processFile(Context context, Uri fileUri) throws Exception {
+        return processFile(context, fileUri, null, null);
+    }
+
+    /**
+     * Procesa un archivo para usarlo como semilla.
+     * 
+     * Proceso (en streaming, con memoria acotada):
+     * 1. Lee el archivo por bloques verificando que no exceda el límite
+     * 2. Si el archivo > 1 MB, los bytes pasan por GZIP
+     * 3. La semilla procesada fluye directamente a SHA-256
+     * 4. Retorna resultado con el hash de la semilla e información del
+     *    procesamiento
+     * 
+     * El hash resultante es idéntico a SHA-256 de los bytes que producía la
+     * versión que cargaba el archivo completo en memoria.
+     * 
+     * Si el trabajo queda obsoleto, se abandona antes de leer el siguiente
+     * bloque o de pasarlo por GZIP, sin esperar al final del archivo.
+     * 
+     * El bloque de lectura se ajusta al tamaño que informa el proveedor y
+     * crece mientras las lecturas lo llenen, entre 64 KB y 1 MB.
+     * 
+     * @param context  Contexto de la aplicación
+     * @param fileUri  URI del archivo seleccionado
+     * @param token    Generación del trabajo que lo procesa (null para no
+     *                 cancelar nunca)
+     * @param listener Avance del procesamiento (puede ser null)
+     * @return FileProcessingResult con el hash de la semilla e información
+     * @throws java.util.concurrent.CancellationException Si el trabajo fue
+     *                                                    reemplazado
+     * @throws Exception Si el archivo es muy grande o hay error de lectura
+     */
+    public static FileProcessingResult processFile(Context context, Uri fileUri, LatestJobScheduler.Token token,
+            ProgressListener listener) throws Exception {
         ContentResolver resolver = context.getContentResolver();
 
         // Obtener nombre del archivo
@@ -49,23 +135,30 @@ public class FileUtils {
         // Obtener tipo MIME
         String mimeType = getMimeType(context, fileUri);
 
-        // Leer archivo completo
-        byte[] fileBytes;
-        long originalSize;
+        // Tamaño según el proveedor: total del avance y bloque inicial
+        long contentLength = getContentLength(resolver, fileUri);
+        if (contentLength > MAX_FILE_SIZE) {
+            throw new Exception("El archivo excede el límite de " +
+                    FileProcessingResult.formatSize(MAX_FILE_SIZE));
+        }
+        ProgressThrottle progress = new ProgressThrottle(listener, contentLength);
+
+        byte[] data = new byte[initialBufferSize(contentLength)];
 
-        try (InputStream inputStream = resolver.openInputStream(fileUri);
-                ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
+        // Al cerrarse, seedStream libera el Deflater nativo
+        try (SeedDigestOutputStream seedStream = new SeedDigestOutputStream(COMPRESSION_THRESHOLD);
+                InputStream inputStream = resolver.openInputStream(fileUri)) {
 
             if (inputStream == null) {
                 throw new Exception("No se pudo abrir el archivo");
             }
 
-            // Leer en bloques de 4 KB
-            byte[] data = new byte[4096];
             int nRead;
             long totalRead = 0;
 
-            while ((nRead = inputStream.read(data, 0, data.length)) != -1) {
+            checkCancelled(token);
+            progress.report(FileProgress.Phase.READ, 0);
+            while ((nRead = readChunk(inputStream, data)) != -1) {
                 totalRead += nRead;
 
                 // Verificar límite de tamaño
@@ -74,53 +167,89 @@ public class FileUtils {
                             FileProcessingResult.formatSize(MAX_FILE_SIZE));
                 }
 
-                buffer.write(data, 0, nRead);
+                // Punto de cancelación antes de la etapa GZIP/SHA-256 y de
+                // la siguiente lectura
+                checkCancelled(token);
+                seedStream.write(data, 0, nRead);
+                progress.report(seedStream.isCompressed() ? FileProgress.Phase.COMPRESS : FileProgress.Phase.READ,
+                        totalRead);
+
+                // El proveedor entrega bloques completos: pedir más por lectura
+                if (nRead == data.length && data.length < MAX_READ_BUFFER_SIZE) {
+                    SecurityUtils.clearSensitiveData(data);
+                    data = new byte[data.length * 2];
+                }
             }
 
-            fileBytes = buffer.toByteArray();
-            originalSize = fileBytes.length;
+            checkCancelled(token);
+            progress.report(FileProgress.Phase.HASH, totalRead);
+            byte[] seedDigest = seedStream.finish();
+
+            return new FileProcessingResult(
+                    fileName,
+                    seedStream.getOriginalSize(),
+                    seedStream.getProcessedSize(),
+                    seedStream.isCompressed(),
+                    mimeType,
+                    seedDigest);
+        } finally {
+            // Limpiar el último bloque leído del archivo
+            SecurityUtils.clearSensitiveData(data);
         }
+    }
 
-        // Decidir si comprimir
-        boolean shouldCompress = originalSize > COMPRESSION_THRESHOLD;
-        byte[] processedBytes;
-        long processedSize;
-
-        if (shouldCompress) {
-            // Aplicar compresión GZIP
-            processedBytes = compressBytes(fileBytes);
-            processedSize = processedBytes.length;
-        } else {
-            // Usar bytes originales
-            processedBytes = fileBytes;
-            processedSize = originalSize;
+    /**
+     * Tamaño del archivo según la columna {@link OpenableColumns#SIZE} del
+     * ContentResolver.
+     * 
+     * @param resolver ContentResolver
+     * @param uri      URI del archivo
+     * @return Bytes, o -1 si el proveedor no lo informa
+     */
+    public static long getContentLength(ContentResolver resolver, Uri uri) {
+        try (Cursor cursor = resolver.query(uri, new String[] { OpenableColumns.SIZE }, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst()) {
+                int index = cursor.getColumnIndex(OpenableColumns.SIZE);
+                if (index >= 0 && !cursor.isNull(index)) {
+                    return cursor.getLong(index);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Proveedor sin consultas (p. ej. URI file://): tamaño desconocido
         }
-
-        return new FileProcessingResult(
-                fileName,
-                originalSize,
-                processedSize,
-                shouldCompress,
-                mimeType,
-                processedBytes);
+        return -1;
     }
 
     /**
-     * Comprime bytes usando GZIP.
-     * 
-     * @param input Bytes a comprimir
-     * @return Bytes comprimidos
-     * @throws Exception Si hay error en compresión
+     * Bloque inicial: unas {@value #TARGET_READS} lecturas para el archivo
+     * completo, dentro de los límites.
      */
-    private static byte[] compressBytes(byte[] input) throws Exception {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private static int initialBufferSize(long contentLength) {
+        if (contentLength <= 0) {
+            return MIN_READ_BUFFER_SIZE;
+        }
+        long size = Math.min(MAX_READ_BUFFER_SIZE, Math.max(MIN_READ_BUFFER_SIZE, contentLength / TARGET_READS));
+        return Integer.highestOneBit((int) size);
+    }
 
-        try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) {
-            gzipStream.write(input);
-            gzipStream.finish();
+    private static void checkCancelled(LatestJobScheduler.Token token) {
+        if (token != null) {
+            token.throwIfCancelled();
         }
+    }
 
-        return outputStream.toByteArray();
+    /**
+     * Lee un bloque del archivo, medido como etapa FILE_READ.
+     */
+    private static int readChunk(InputStream inputStream, byte[] data) throws IOException {
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.FILE_READ);
+        int nRead = 0;
+        try {
+            nRead = inputStream.read(data, 0, data.length);
+            return nRead;
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.FILE_READ, start, Math.max(nRead, 0));
+        }
     }
 
     /**
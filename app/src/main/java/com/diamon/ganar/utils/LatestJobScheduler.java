@@ -0,0 +1,142 @@
+package com.diamon.ganar.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Planificador de trabajos en segundo plano donde el último gana.
+ *
+ * Cada envío recibe un número de generación creciente y deja obsoletos a
+ * todos los anteriores: el que aún espera se descarta sin ejecutarse y el
+ * que ya corre lo ve en su {@link Token} para abandonar y, sobre todo, no
+ * publicar un resultado viejo. No se interrumpe el hilo: una interrupción
+ * a mitad de una lectura cerraría el canal del archivo.
+ *
+ * Todo se ejecuta en un único hilo. Con un retardo, el envío hace de
+ * "debounce": los envíos seguidos reemplazan al pendiente y solo el último
+ * llega a ejecutarse.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class LatestJobScheduler {
+
+    /**
+     * Trabajo planificado; recibe el token de su generación.
+     */
+    public interface Job {
+
+        /**
+         * @param token Generación de este trabajo
+         */
+        void run(Token token);
+    }
+
+    /**
+     * Generación de un trabajo. Seguro entre hilos.
+     */
+    public static final class Token {
+
+        private final AtomicLong latest;
+        private final long generation;
+
+        Token(AtomicLong latest, long generation) {
+            this.latest = latest;
+            this.generation = generation;
+        }
+
+        /**
+         * @return true si ningún envío posterior ni {@link #cancel()} lo ha
+         *         reemplazado
+         */
+        public boolean isCurrent() {
+            return latest.get() == generation;
+        }
+
+        /**
+         * Punto de cancelación cooperativa.
+         *
+         * @throws CancellationException Si el trabajo quedó obsoleto
+         */
+        public void throwIfCancelled() {
+            if (!isCurrent()) {
+                throw new CancellationException("Trabajo reemplazado por uno más reciente");
+            }
+        }
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ScheduledThreadPoolExecutor executor;
+
+    // Trabajo aún no iniciado (protegido por this)
+    private ScheduledFuture<?> pending;
+
+    public LatestJobScheduler() {
+        executor = new ScheduledThreadPoolExecutor(1);
+        // Sacar de la cola los trabajos reemplazados en lugar de esperar a su retardo
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Ejecuta el trabajo lo antes posible y deja obsoletos los anteriores.
+     *
+     * @param job Trabajo a ejecutar
+     * @return Token del trabajo
+     */
+    public Token submit(Job job) {
+        return schedule(job, 0);
+    }
+
+    /**
+     * Ejecuta el trabajo tras un retardo, salvo que antes llegue otro envío.
+     *
+     * @param job         Trabajo a ejecutar
+     * @param delayMillis Retardo en milisegundos
+     * @return Token del trabajo
+     */
+    public synchronized Token schedule(final Job job, long delayMillis) {
+        final Token token = new Token(generation, generation.incrementAndGet());
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = executor.schedule(() -> {
+            if (token.isCurrent()) {
+                job.run(token);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+        return token;
+    }
+
+    /**
+     * Deja obsoletos todos los trabajos enviados, pendientes o en curso.
+     */
+    public synchronized void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    /**
+     * Ejecuta una tarea auxiliar en el mismo hilo, en orden y sin
+     * generación (nunca se descarta).
+     *
+     * @param task Tarea a ejecutar
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Cancela los trabajos y cierra el hilo tras las tareas ya encoladas
+     * con {@link #execute(Runnable)}.
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,42 @@
+package com.diamon.ganar.utils;
+
+import android.os.Trace;
+
+import com.diamon.criptografia.metrics.PipelineMetrics;
+
+/**
+ * Publica cada etapa de derivación como sección de android.os.Trace
+ * (visible en Perfetto / systrace) y reenvía la duración a otro listener,
+ * normalmente un MetricsRegistry.
+ * 
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class TraceMetricsListener implements PipelineMetrics.Listener {
+
+    private final PipelineMetrics.Listener delegate;
+
+    /**
+     * @param delegate Listener que recibe además las duraciones (puede ser
+     *                 null)
+     */
+    public TraceMetricsListener(PipelineMetrics.Listener delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onBegin(PipelineMetrics.Stage stage) {
+        Trace.beginSection(stage.traceName);
+        if (delegate != null) {
+            delegate.onBegin(stage);
+        }
+    }
+
+    @Override
+    public void onEnd(PipelineMetrics.Stage stage, long elapsedNanos, long items) {
+        Trace.endSection();
+        if (delegate != null) {
+            delegate.onEnd(stage, elapsedNanos, items);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.diamon.ganar.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del planificador donde el último trabajo gana.
+ */
+public class LatestJobSchedulerTest {
+
+    @Test
+    public void schedule_runsOnlyLatestDebouncedJob() throws Exception {
+        LatestJobScheduler scheduler = new LatestJobScheduler();
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 10; i++) {
+                final int value = i;
+                scheduler.schedule(token -> {
+                    ran.add(value);
+                    done.countDown();
+                }, 100);
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            drain(scheduler);
+            assertEquals(Collections.singletonList(9), ran);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void submit_marksRunningJobAsStale() throws Exception {
+        LatestJobScheduler scheduler = new LatestJobScheduler();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        boolean[] currentAfterRelease = new boolean[1];
+        try {
+            LatestJobScheduler.Token first = scheduler.submit(token -> {
+                started.countDown();
+                await(release);
+                currentAfterRelease[0] = token.isCurrent();
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertTrue(first.isCurrent());
+
+            LatestJobScheduler.Token second = scheduler.submit(token -> {
+            });
+            release.countDown();
+            drain(scheduler);
+
+            assertFalse(currentAfterRelease[0]);
+            assertFalse(first.isCurrent());
+            assertTrue(second.isCurrent());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void cancel_dropsPendingJob() throws Exception {
+        LatestJobScheduler scheduler = new LatestJobScheduler();
+        boolean[] ran = new boolean[1];
+        try {
+            LatestJobScheduler.Token token = scheduler.schedule(t -> ran[0] = true, 50);
+            scheduler.cancel();
+            Thread.sleep(150);
+            drain(scheduler);
+
+            assertFalse(ran[0]);
+            assertFalse(token.isCurrent());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void throwIfCancelled_afterNewerSubmission() throws Exception {
+        LatestJobScheduler scheduler = new LatestJobScheduler();
+        try {
+            LatestJobScheduler.Token first = scheduler.schedule(token -> {
+            }, 1000);
+            first.throwIfCancelled();
+
+            scheduler.submit(token -> {
+            });
+            try {
+                first.throwIfCancelled();
+                fail("El trabajo reemplazado debería cancelarse");
+            } catch (CancellationException expected) {
+                // esperado
+            }
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    /** Espera a que el hilo termine lo ya encolado */
+    private static void drain(LatestJobScheduler scheduler) throws InterruptedException {
+        CountDownLatch drained = new CountDownLatch(1);
+        scheduler.execute(drained::countDown);
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.diamon.criptografia.benchmark;
+
+import com.diamon.criptografia.ec.BouncyCastleEngine;
+import com.diamon.criptografia.ec.EcEngine;
+import com.diamon.criptografia.ec.Secp256k1Engine;
+
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.jce.ECNamedCurveTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * k * G por motor: multiplicación genérica de Bouncy Castle, tabla de base
+ * fija sobre Bouncy Castle y motor propio de tiempo constante, con una
+ * clave por llamada y en lotes. Incluye la ruta anterior a la tabla, con
+ * la búsqueda de la curva en cada llamada.
+ *
+ * Ejemplo: ./gradlew :benchmark:jmh -Pjmh.includes=EcEngineBenchmark
+ *
+ * Para medir la asignación por operación, añadir el profiler gc
+ * (-Pjmh.profilers=gc).
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class EcEngineBenchmark {
+
+    private static final int KEYS = 256;
+
+    /** Lote pequeño: la inversión compartida se reparte entre pocas claves */
+    private static final int SMALL_BATCH = 16;
+
+    @Param({ "bouncycastle", "constant-time" })
+    public String engine;
+
+    private EcEngine ecEngine;
+    private byte[] privateKeys;
+    private byte[] publicKeys;
+    private X9ECParameters params;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ecEngine = "bouncycastle".equals(engine)
+                ? BouncyCastleEngine.getInstance()
+                : Secp256k1Engine.getInstance();
+        privateKeys = new byte[KEYS * 32];
+        publicKeys = new byte[KEYS * EcEngine.PUBLIC_KEY_LENGTH];
+        new Random(1).nextBytes(privateKeys);
+        params = CustomNamedCurves.getByName("secp256k1");
+    }
+
+    /**
+     * Ruta genérica de Bouncy Castle (BigInteger + ECPoint.multiply), como
+     * referencia común a ambos motores.
+     */
+    @Benchmark
+    public byte[] genericMultiply() {
+        int offset = (next++ & (KEYS - 1)) * 32;
+        byte[] key = new byte[32];
+        System.arraycopy(privateKeys, offset, key, 0, 32);
+        return params.getG().multiply(new BigInteger(1, key)).normalize().getEncoded(false);
+    }
+
+    /**
+     * Ruta anterior a la tabla de base fija: ECNamedCurveTable y
+     * multiplicación genérica en cada llamada.
+     */
+    @Benchmark
+    public byte[] legacyDerivePublicKey() {
+        int offset = (next++ & (KEYS - 1)) * 32;
+        byte[] key = new byte[32];
+        System.arraycopy(privateKeys, offset, key, 0, 32);
+        return ECNamedCurveTable.getParameterSpec("secp256k1").getG().multiply(new BigInteger(1, key))
+                .normalize().getEncoded(false);
+    }
+
+    @Benchmark
+    public byte[] single() {
+        int index = next++ & (KEYS - 1);
+        ecEngine.derivePublicKey(privateKeys, index * 32, publicKeys, index * EcEngine.PUBLIC_KEY_LENGTH);
+        return publicKeys;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SMALL_BATCH)
+    public byte[] smallBatch() {
+        int offset = (next++ & (KEYS / SMALL_BATCH - 1)) * SMALL_BATCH;
+        ecEngine.derivePublicKeys(privateKeys, offset * 32, publicKeys, offset * EcEngine.PUBLIC_KEY_LENGTH,
+                SMALL_BATCH);
+        return publicKeys;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public byte[] batch() {
+        ecEngine.derivePublicKeys(privateKeys, 0, publicKeys, 0, KEYS);
+        return publicKeys;
+    }
+}
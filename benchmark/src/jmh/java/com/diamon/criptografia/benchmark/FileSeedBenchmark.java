@@ -0,0 +1,91 @@
+package com.diamon.criptografia.benchmark;
+
+import com.diamon.criptografia.HashUtils;
+import com.diamon.criptografia.SeedDigestOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Procesamiento de archivos como semilla: GZIP y después SHA-256, como hace
+ * FileUtils para archivos mayores al umbral de compresión.
+ *
+ * Compara la versión en streaming con la versión anterior que cargaba el
+ * archivo completo en memoria (útil junto con el profiler gc).
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class FileSeedBenchmark {
+
+    /** Bloque de lectura usado por FileUtils */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    @Param({ "1048576", "10485760" })
+    public int fileSize;
+
+    private byte[] file;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Mitad aleatoria (como una foto) y mitad compresible (como un documento)
+        file = new byte[fileSize];
+        new Random(1).nextBytes(file);
+        for (int i = 0; i < fileSize / 2; i++) {
+            file[i] = (byte) (i % 61);
+        }
+    }
+
+    /**
+     * Streaming: bloques de 64 KB → GZIP → SHA-256, memoria acotada.
+     */
+    @Benchmark
+    public byte[] streamingGzipThenHash() throws IOException {
+        // Umbral 0: todos los tamaños pasan por GZIP
+        try (SeedDigestOutputStream stream = new SeedDigestOutputStream(0)) {
+            for (int pos = 0; pos < file.length; pos += READ_BUFFER_SIZE) {
+                stream.write(file, pos, Math.min(READ_BUFFER_SIZE, file.length - pos));
+            }
+            return HashUtils.sha256(stream.finish());
+        }
+    }
+
+    /**
+     * Versión anterior: archivo completo en memoria, GZIP a un segundo
+     * buffer y doble SHA-256.
+     */
+    @Benchmark
+    public byte[] inMemoryGzipThenHash() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (int pos = 0; pos < file.length; pos += 4096) {
+            buffer.write(file, pos, Math.min(4096, file.length - pos));
+        }
+        byte[] fileBytes = buffer.toByteArray();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(fileBytes);
+        }
+        return HashUtils.doubleSha256(compressed.toByteArray());
+    }
+}
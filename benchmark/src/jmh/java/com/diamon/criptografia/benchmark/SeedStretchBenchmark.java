@@ -0,0 +1,82 @@
+package com.diamon.criptografia.benchmark;
+
+import com.diamon.criptografia.SeedStretcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste del endurecimiento scrypt por combinación de parámetros, para
+ * elegir N y p según la latencia objetivo de cada clase de dispositivo.
+ *
+ * Ejemplo: ./gradlew :benchmark:jmh -Pjmh.includes=SeedStretchBenchmark
+ *
+ * En el propio dispositivo, SeedStretcher.calibrate() hace la misma
+ * búsqueda en tiempo de ejecución.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class SeedStretchBenchmark {
+
+    private static final byte[] SEED = "correct horse battery staple".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SALT = new byte[0];
+
+    @Param({ "12", "14", "16" })
+    public int logN;
+
+    @Param({ "8" })
+    public int r;
+
+    @Param({ "1", "2", "4" })
+    public int p;
+
+    private SeedStretcher stretcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stretcher = new SeedStretcher(new SeedStretcher.Params(logN, r, p));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stretcher.close();
+    }
+
+    /**
+     * Memoria de trabajo reutilizada entre llamadas (uso normal).
+     */
+    @Benchmark
+    public byte[] stretchReusingScratch() throws InterruptedException {
+        return stretcher.stretch(SEED, SALT);
+    }
+
+    /**
+     * Un endurecedor nuevo por llamada: asigna la memoria de los carriles
+     * cada vez (útil junto con el profiler gc).
+     */
+    @Benchmark
+    public byte[] stretchFreshScratch() throws InterruptedException {
+        try (SeedStretcher fresh = new SeedStretcher(stretcher.getParams())) {
+            return fresh.stretch(SEED, SALT);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.diamon.criptografia;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arranque de la tabla de base fija hasta la primera clave: tabla
+ * construida en memoria frente a tabla mapeada desde su archivo (que
+ * incluye la comprobación de su hash).
+ *
+ * Cada invocación usa {@link FixedBaseMultiplier#create(File)} con un
+ * archivo propio: la instancia compartida solo se crea una vez por proceso.
+ *
+ * Ejemplo: ./gradlew :benchmark:jmh -Pjmh.includes=TableColdStartBenchmark
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@State(Scope.Thread)
+public class TableColdStartBenchmark {
+
+    @Param({ "built", "mapped" })
+    public String table;
+
+    private File file;
+    private byte[] privateKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = File.createTempFile("tabla", ".tbl");
+        file.delete();
+        privateKey = new byte[FixedBaseMultiplier.SCALAR_LENGTH];
+        new Random(1).nextBytes(privateKey);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareFile() {
+        if ("built".equals(table)) {
+            file.delete();
+        } else if (!file.exists()) {
+            FixedBaseMultiplier.create(file);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public byte[] firstKey() {
+        return FixedBaseMultiplier.create(file).multiply(privateKey).getEncoded(false);
+    }
+}
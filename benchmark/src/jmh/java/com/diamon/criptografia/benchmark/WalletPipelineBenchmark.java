@@ -0,0 +1,114 @@
+package com.diamon.criptografia.benchmark;
+
+import com.diamon.criptografia.Base58Utils;
+import com.diamon.criptografia.CryptoUtils;
+import com.diamon.criptografia.WalletUtils;
+import com.diamon.criptografia.model.WalletData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendimiento de cada etapa del pipeline de derivación y del pipeline
+ * completo, en un solo hilo.
+ *
+ * Cada hilo trabaja sobre su propio conjunto de entradas precalculadas, que
+ * recorre de forma cíclica para no medir siempre la misma clave.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+public class WalletPipelineBenchmark {
+
+    /** Entradas distintas por hilo */
+    private static final int INPUTS = 1024;
+
+    /**
+     * Datos de entrada por hilo.
+     */
+    @State(Scope.Thread)
+    public static class Inputs {
+        byte[][] seeds = new byte[INPUTS][];
+        byte[][] privateKeys = new byte[INPUTS][];
+        byte[][] publicKeys = new byte[INPUTS][];
+        byte[][] addressPayloads = new byte[INPUTS][];
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(Thread.currentThread().getId());
+            for (int i = 0; i < INPUTS; i++) {
+                seeds[i] = ("semilla de prueba " + random.nextLong()).getBytes(StandardCharsets.UTF_8);
+                privateKeys[i] = CryptoUtils.generatePrivateKey(seeds[i]);
+                publicKeys[i] = CryptoUtils.derivePublicKey(privateKeys[i]);
+
+                // Version byte 0x00 + HASH160 simulado
+                addressPayloads[i] = new byte[21];
+                random.nextBytes(addressPayloads[i]);
+                addressPayloads[i][0] = 0;
+            }
+        }
+
+        int next() {
+            index = (index + 1) & (INPUTS - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public byte[] generatePrivateKey(Inputs in) {
+        return CryptoUtils.generatePrivateKey(in.seeds[in.next()]);
+    }
+
+    @Benchmark
+    public byte[] derivePublicKey(Inputs in) {
+        return CryptoUtils.derivePublicKey(in.privateKeys[in.next()]);
+    }
+
+    @Benchmark
+    public String generateAddress(Inputs in) {
+        return CryptoUtils.generateAddress(in.publicKeys[in.next()]);
+    }
+
+    @Benchmark
+    public String generateWIF(Inputs in) {
+        return CryptoUtils.generateWIF(in.privateKeys[in.next()]);
+    }
+
+    @Benchmark
+    public String encodeBase58Check(Inputs in) {
+        return Base58Utils.encodeBase58Check(in.addressPayloads[in.next()]);
+    }
+
+    @Benchmark
+    public String bytesToHex(Inputs in) {
+        return CryptoUtils.bytesToHex(in.publicKeys[in.next()]);
+    }
+
+    /**
+     * Pipeline completo: semilla → clave privada → WIF, clave pública y
+     * dirección, con sus representaciones en texto.
+     */
+    @Benchmark
+    public WalletData endToEnd(Inputs in) {
+        return WalletUtils.fromSeed(in.seeds[in.next()]);
+    }
+}
@@ -0,0 +1,15 @@
+package com.diamon.criptografia.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Las mismas etapas de {@link WalletPipelineBenchmark} ejecutadas con un hilo
+ * por núcleo disponible, para medir el rendimiento agregado y la contención
+ * en el estado compartido (tablas precalculadas, ThreadLocals).
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+@Threads(Threads.MAX)
+public class WalletPipelineParallelBenchmark extends WalletPipelineBenchmark {
+}
@@ -0,0 +1,162 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.ec.EcEngine;
+import com.diamon.criptografia.hash.HashEngine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Autoprueba de un backend candidato antes de ponerlo en uso.
+ *
+ * Combina vectores conocidos (independientes de cualquier implementación)
+ * con una comparación diferencial contra el backend de referencia sobre
+ * entradas pseudoaleatorias deterministas, en posiciones no alineadas y
+ * con lotes que cruzan los bloques internos de los motores.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+final class BackendSelfTest {
+
+    private static final int SCALAR_LENGTH = FixedBaseMultiplier.SCALAR_LENGTH;
+    private static final int PUBLIC_KEY_LENGTH = EcEngine.PUBLIC_KEY_LENGTH;
+
+    /** Escalares conocidos y sus claves públicas: 1, 2 y n - 1 */
+    private static final String[][] EC_VECTORS = {
+            { "0000000000000000000000000000000000000000000000000000000000000001",
+                    "0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"
+                            + "483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8" },
+            { "0000000000000000000000000000000000000000000000000000000000000002",
+                    "04c6047f9441ed7d6d3045406e95c07cd85c778e4b8cef3ca7abac09b95c709ee5"
+                            + "1ae168fea63dc339a3c58419466ceaeef7f632653266d0e1236431a950cfe52a" },
+            { "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364140",
+                    "0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"
+                            + "b7c52588d95c3b9aa25b0403f1eef75702e84bb7597aabe663b82f6f04ef2777" }
+    };
+
+    /** Escalares que deben rechazarse: 0 y n */
+    private static final String[] EC_INVALID = {
+            "0000000000000000000000000000000000000000000000000000000000000000",
+            "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141"
+    };
+
+    private static final String EMPTY_SHA256 =
+            "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private static final String ABC_SHA256 =
+            "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+    private static final String ABC_DOUBLE_SHA256 =
+            "4f8b42c22dd3729b519ba6f68d2da7cc5b2d606d05daed5ad5128cc03e6c6358";
+    /** HASH160 de la clave pública no comprimida de G */
+    private static final String GENERATOR_HASH160 = "91b24bf9f5288532960ac687abb035127b1d28a5";
+
+    /** Claves del lote diferencial: más de un bloque de 64 de los motores */
+    private static final int EC_BATCH = 70;
+
+    /** Longitudes de entrada del diferencial de hash (cubren los bordes de bloque) */
+    private static final int MAX_HASH_INPUT = 200;
+
+    private static final long SEED = 0x5EED5EEDL;
+
+    private BackendSelfTest() {
+    }
+
+    /**
+     * Verifica un motor de curva.
+     *
+     * @param candidate Motor a verificar
+     * @param reference Motor de referencia
+     * @throws IllegalStateException Si algún resultado no coincide
+     */
+    static void checkEc(EcEngine candidate, EcEngine reference) {
+        byte[] publicKey = new byte[PUBLIC_KEY_LENGTH];
+        for (String[] vector : EC_VECTORS) {
+            candidate.derivePublicKey(HexUtils.decode(vector[0]), 0, publicKey, 0);
+            expect(HexUtils.decode(vector[1]), publicKey, "k*G de " + vector[0]);
+        }
+
+        for (String invalid : EC_INVALID) {
+            boolean rejected = false;
+            try {
+                candidate.derivePublicKey(HexUtils.decode(invalid), 0, publicKey, 0);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            if (!rejected) {
+                throw new IllegalStateException("No rechaza la clave " + invalid);
+            }
+        }
+
+        // Diferencial: lote con offsets impares y una clave suelta por posición
+        Random random = new Random(SEED);
+        int keysOffset = 3;
+        int publicOffset = 5;
+        byte[] keys = new byte[keysOffset + EC_BATCH * SCALAR_LENGTH];
+        random.nextBytes(keys);
+        byte[] expected = new byte[publicOffset + EC_BATCH * PUBLIC_KEY_LENGTH];
+        byte[] actual = new byte[expected.length];
+
+        reference.derivePublicKeys(keys, keysOffset, expected, publicOffset, EC_BATCH);
+        candidate.derivePublicKeys(keys, keysOffset, actual, publicOffset, EC_BATCH);
+        expect(expected, actual, "lote de " + EC_BATCH + " claves");
+
+        for (int i = 0; i < EC_BATCH; i += 7) {
+            candidate.derivePublicKey(keys, keysOffset + i * SCALAR_LENGTH, publicKey, 0);
+            int out = publicOffset + i * PUBLIC_KEY_LENGTH;
+            expect(Arrays.copyOfRange(expected, out, out + PUBLIC_KEY_LENGTH), publicKey,
+                    "clave suelta en la posición " + i);
+        }
+    }
+
+    /**
+     * Verifica un backend de hash.
+     *
+     * @param candidate Backend a verificar
+     * @param reference Backend de referencia
+     * @throws IllegalStateException Si algún resultado no coincide
+     */
+    static void checkHash(HashEngine candidate, HashEngine reference) {
+        byte[] abc = { 'a', 'b', 'c' };
+        byte[] sha = new byte[HashUtils.SHA256_LENGTH];
+        byte[] hash160 = new byte[HashUtils.HASH160_LENGTH];
+
+        candidate.sha256(abc, 0, 0, sha, 0);
+        expect(HexUtils.decode(EMPTY_SHA256), sha, "SHA-256 vacío");
+        candidate.sha256(abc, 0, abc.length, sha, 0);
+        expect(HexUtils.decode(ABC_SHA256), sha, "SHA-256 de \"abc\"");
+        candidate.doubleSha256(abc, 0, abc.length, sha, 0);
+        expect(HexUtils.decode(ABC_DOUBLE_SHA256), sha, "doble SHA-256 de \"abc\"");
+        byte[] generator = HexUtils.decode(EC_VECTORS[0][1]);
+        candidate.hash160(generator, 0, generator.length, hash160, 0);
+        expect(HexUtils.decode(GENERATOR_HASH160), hash160, "HASH160 de G");
+
+        // Diferencial: todas las longitudes hasta MAX_HASH_INPUT, en offsets impares
+        Random random = new Random(SEED);
+        int offset = 7;
+        int dstOffset = 3;
+        byte[] data = new byte[offset + MAX_HASH_INPUT];
+        random.nextBytes(data);
+        byte[] expected = new byte[dstOffset + HashUtils.SHA256_LENGTH];
+        byte[] actual = new byte[expected.length];
+
+        for (int length = 0; length <= MAX_HASH_INPUT; length++) {
+            reference.sha256(data, offset, length, expected, dstOffset);
+            candidate.sha256(data, offset, length, actual, dstOffset);
+            expect(expected, actual, "SHA-256 de " + length + " bytes");
+
+            reference.doubleSha256(data, offset, length, expected, dstOffset);
+            candidate.doubleSha256(data, offset, length, actual, dstOffset);
+            expect(expected, actual, "doble SHA-256 de " + length + " bytes");
+
+            reference.hash160(data, offset, length, expected, dstOffset);
+            candidate.hash160(data, offset, length, actual, dstOffset);
+            expect(expected, actual, "HASH160 de " + length + " bytes");
+        }
+    }
+
+    private static void expect(byte[] expected, byte[] actual, String what) {
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Resultado incorrecto: " + what);
+        }
+    }
+}
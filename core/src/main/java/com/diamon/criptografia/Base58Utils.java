@@ -0,0 +1,429 @@
+package com.diamon.criptografia;
+
+import java.util.Arrays;
+
+/**
+ * Utilidad para codificación y decodificación Base58Check.
+ * Implementación compatible con Bitcoin para WIF y direcciones.
+ * 
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class Base58Utils {
+
+    /**
+     * Alfabeto Base58 usado por Bitcoin (sin 0, O, I, l para evitar confusión)
+     */
+    private static final String ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+    private static final char[] ALPHABET_CHARS = ALPHABET.toCharArray();
+
+    /** 58^5: mayor potencia de 58 que cabe en un limb de 30 bits */
+    private static final long BASE58_POW5 = 656_356_768L;
+
+    /** Dígitos Base58 producidos por cada división entre 58^5 */
+    private static final int DIGITS_PER_DIVISION = 5;
+
+    /** Longitud del checksum Base58Check */
+    public static final int CHECKSUM_LENGTH = 4;
+
+    /** Tabla inversa ASCII -> dígito Base58 (-1 si el carácter no es válido) */
+    private static final byte[] INDEXES = new byte[128];
+
+    static {
+        Arrays.fill(INDEXES, (byte) -1);
+        for (int i = 0; i < ALPHABET_CHARS.length; i++) {
+            INDEXES[ALPHABET_CHARS[i]] = (byte) i;
+        }
+    }
+
+    /**
+     * Resultado de decodificar una cadena Base58Check.
+     */
+    public static final class Decoded {
+
+        /** Byte de versión (0x00 dirección mainnet, 0x80 WIF mainnet) */
+        public final int version;
+
+        /** Datos sin byte de versión ni checksum */
+        public final byte[] payload;
+
+        Decoded(int version, byte[] payload) {
+            this.version = version;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Buffers reutilizables por hilo para codificar y decodificar sin crear
+     * basura.
+     */
+    private static final class Scratch {
+        final byte[] hash = new byte[HashUtils.SHA256_LENGTH];
+        byte[] bytes = new byte[64];
+        int[] limbs = new int[16];
+        char[] digits = new char[96];
+        char[] chars = new char[96];
+
+        void ensureCapacity(int length) {
+            if (bytes.length < length) {
+                bytes = new byte[length];
+                // Cubre la carga de bytes y la decodificación de caracteres
+                limbs = new int[length / 4 + 2];
+                digits = new char[maxEncodedLength(length) + DIGITS_PER_DIVISION];
+                chars = new char[maxEncodedLength(length)];
+            }
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    /**
+     * Longitud máxima del texto Base58 para una entrada de {@code length} bytes.
+     * 
+     * @param length Bytes a codificar
+     * @return Cota superior de caracteres Base58 (log(256) / log(58) ≈ 1.366)
+     */
+    public static int maxEncodedLength(int length) {
+        return length * 138 / 100 + 1;
+    }
+
+    /**
+     * Codifica bytes a Base58Check con checksum.
+     * 
+     * Proceso:
+     * 1. Calcula checksum: primeros 4 bytes de SHA256(SHA256(payload))
+     * 2. Concatena payload + checksum
+     * 3. Codifica en Base58
+     * 4. Preserva ceros iniciales como '1'
+     * 
+     * @param payload Bytes a codificar (incluye version byte)
+     * @return String en formato Base58Check
+     */
+    public static String encodeBase58Check(byte[] payload) {
+        Scratch scratch = SCRATCH.get();
+        int total = appendChecksum(scratch, payload, 0, payload.length);
+        int length = encode(scratch, scratch.bytes, 0, total, scratch.chars, 0);
+        return new String(scratch.chars, 0, length);
+    }
+
+    /**
+     * Codifica en Base58Check escribiendo en un buffer de caracteres.
+     * No reserva memoria por llamada.
+     * 
+     * @param payload   Buffer con los bytes a codificar (incluye version byte)
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida con al menos
+     *                  {@code maxEncodedLength(length + 4)} caracteres libres
+     * @param dstOffset Posición donde escribir el primer carácter
+     * @return Número de caracteres escritos
+     */
+    public static int encodeBase58Check(byte[] payload, int offset, int length, char[] dst, int dstOffset) {
+        Scratch scratch = SCRATCH.get();
+        int total = appendChecksum(scratch, payload, offset, length);
+        return encode(scratch, scratch.bytes, 0, total, dst, dstOffset);
+    }
+
+    /**
+     * Codifica en Base58Check escribiendo caracteres ASCII en un buffer de bytes.
+     * No reserva memoria por llamada.
+     * 
+     * @param payload   Buffer con los bytes a codificar (incluye version byte)
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida con al menos
+     *                  {@code maxEncodedLength(length + 4)} bytes libres
+     * @param dstOffset Posición donde escribir el primer carácter
+     * @return Número de bytes escritos
+     */
+    public static int encodeBase58Check(byte[] payload, int offset, int length, byte[] dst, int dstOffset) {
+        Scratch scratch = SCRATCH.get();
+        int total = appendChecksum(scratch, payload, offset, length);
+        int count = encodeDigits(scratch, scratch.bytes, 0, total);
+
+        // Ceros iniciales + dígitos en orden inverso
+        int zeros = countLeadingZeros(scratch.bytes, 0, total);
+        for (int i = 0; i < zeros; i++) {
+            dst[dstOffset + i] = '1';
+        }
+        for (int i = 0; i < count; i++) {
+            dst[dstOffset + zeros + i] = (byte) scratch.digits[count - 1 - i];
+        }
+        return zeros + count;
+    }
+
+    /**
+     * Codifica bytes en Base58 plano (sin checksum) en un buffer de caracteres.
+     * 
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida con al menos
+     *                  {@code maxEncodedLength(length)} caracteres libres
+     * @param dstOffset Posición donde escribir el primer carácter
+     * @return Número de caracteres escritos
+     */
+    public static int encodeBase58(byte[] src, int offset, int length, char[] dst, int dstOffset) {
+        Scratch scratch = SCRATCH.get();
+        scratch.ensureCapacity(length);
+        return encode(scratch, src, offset, length, dst, dstOffset);
+    }
+
+    /**
+     * Copia payload + checksum (4 bytes de SHA256(SHA256(payload))) al buffer
+     * del hilo.
+     * 
+     * @return Longitud total copiada
+     */
+    private static int appendChecksum(Scratch scratch, byte[] payload, int offset, int length) {
+        int total = length + CHECKSUM_LENGTH;
+        scratch.ensureCapacity(total);
+
+        byte[] bytes = scratch.bytes;
+        byte[] hash = scratch.hash;
+        System.arraycopy(payload, offset, bytes, 0, length);
+
+        HashUtils.doubleSha256(payload, offset, length, hash, 0);
+        System.arraycopy(hash, 0, bytes, length, CHECKSUM_LENGTH);
+        return total;
+    }
+
+    /**
+     * Codifica en Base58 y escribe el resultado en orden natural.
+     */
+    private static int encode(Scratch scratch, byte[] src, int offset, int length, char[] dst, int dstOffset) {
+        int count = encodeDigits(scratch, src, offset, length);
+
+        // Agregar '1' por cada cero inicial
+        int zeros = countLeadingZeros(src, offset, length);
+        for (int i = 0; i < zeros; i++) {
+            dst[dstOffset + i] = '1';
+        }
+
+        // Los dígitos se generaron del menos al más significativo
+        for (int i = 0; i < count; i++) {
+            dst[dstOffset + zeros + i] = scratch.digits[count - 1 - i];
+        }
+        return zeros + count;
+    }
+
+    /**
+     * Convierte la entrada (sin sus ceros iniciales) a dígitos Base58.
+     * 
+     * El número se carga en limbs de 32 bits y se divide repetidamente entre
+     * 58^5 con aritmética de long; cada resto aporta 5 dígitos. Los dígitos
+     * quedan en {@code scratch.digits} del menos al más significativo.
+     * 
+     * @return Número de dígitos generados
+     */
+    private static int encodeDigits(Scratch scratch, byte[] src, int offset, int length) {
+        int zeros = countLeadingZeros(src, offset, length);
+        int start = offset + zeros;
+        int bytes = length - zeros;
+        int[] limbs = scratch.limbs;
+        char[] digits = scratch.digits;
+
+        // Cargar limbs big-endian; el primero recibe los bytes sobrantes
+        int limbCount = (bytes + 3) / 4;
+        int pos = start;
+        int firstLimbBytes = bytes - (limbCount - 1) * 4;
+        for (int i = 0; i < limbCount; i++) {
+            int take = (i == 0) ? firstLimbBytes : 4;
+            int limb = 0;
+            for (int j = 0; j < take; j++) {
+                limb = (limb << 8) | (src[pos++] & 0xFF);
+            }
+            limbs[i] = limb;
+        }
+
+        int count = 0;
+        int first = 0;
+        while (first < limbCount) {
+            long rem = 0;
+            for (int i = first; i < limbCount; i++) {
+                long cur = (rem << 32) | (limbs[i] & 0xFFFFFFFFL);
+                long quotient = cur / BASE58_POW5;
+                limbs[i] = (int) quotient;
+                rem = cur - quotient * BASE58_POW5;
+            }
+
+            while (first < limbCount && limbs[first] == 0) {
+                first++;
+            }
+
+            for (int j = 0; j < DIGITS_PER_DIVISION; j++) {
+                digits[count++] = ALPHABET_CHARS[(int) (rem % 58)];
+                rem /= 58;
+            }
+        }
+
+        // El último bloque de 5 dígitos puede traer ceros de relleno
+        while (count > 0 && digits[count - 1] == '1') {
+            count--;
+        }
+        return count;
+    }
+
+    /**
+     * Cuenta los bytes cero iniciales (se convertirán en '1' en Base58).
+     */
+    private static int countLeadingZeros(byte[] src, int offset, int length) {
+        int zeros = 0;
+        while (zeros < length && src[offset + zeros] == 0) {
+            zeros++;
+        }
+        return zeros;
+    }
+
+    /**
+     * Decodifica una cadena Base58Check.
+     * 
+     * @param base58 Cadena a decodificar (dirección, WIF, etc.)
+     * @return Byte de versión y datos, sin checksum
+     * @throws IllegalArgumentException Si hay caracteres inválidos o el
+     *                                  checksum no coincide
+     */
+    public static Decoded decodeBase58Check(String base58) {
+        Scratch scratch = SCRATCH.get();
+        int total = decodeToScratch(scratch, base58);
+
+        if (total < 0) {
+            throw new IllegalArgumentException("Cadena Base58Check inválida");
+        }
+
+        byte[] payload = Arrays.copyOfRange(scratch.bytes, 1, total - CHECKSUM_LENGTH);
+        return new Decoded(scratch.bytes[0] & 0xFF, payload);
+    }
+
+    /**
+     * Decodifica una cadena Base58Check en un buffer del llamador.
+     * No reserva memoria por llamada.
+     * 
+     * Escribe el byte de versión seguido de los datos (sin checksum).
+     * 
+     * @param base58    Cadena a decodificar
+     * @param dst       Buffer de salida con al menos {@code base58.length()}
+     *                  bytes libres
+     * @param dstOffset Posición donde escribir el byte de versión
+     * @return Bytes escritos (versión + datos), o -1 si la cadena no es válida
+     */
+    public static int decodeBase58Check(CharSequence base58, byte[] dst, int dstOffset) {
+        Scratch scratch = SCRATCH.get();
+        int total = decodeToScratch(scratch, base58);
+
+        if (total < 0) {
+            return -1;
+        }
+
+        int length = total - CHECKSUM_LENGTH;
+        System.arraycopy(scratch.bytes, 0, dst, dstOffset, length);
+        return length;
+    }
+
+    /**
+     * Verifica si una cadena Base58Check es válida.
+     * 
+     * @param base58 Cadena a verificar
+     * @return true si el checksum es válido
+     */
+    public static boolean isValidBase58Check(String base58) {
+        return base58 != null && decodeToScratch(SCRATCH.get(), base58) >= 0;
+    }
+
+    /**
+     * @param c Carácter
+     * @return Valor del dígito Base58 (0..57), o -1 si no pertenece al
+     *         alfabeto
+     */
+    static int digit(char c) {
+        return c < INDEXES.length ? INDEXES[c] : -1;
+    }
+
+    /**
+     * Decodifica Base58 en {@code scratch.bytes} y verifica el checksum.
+     * 
+     * Los caracteres se agrupan de 5 en 5 y se acumulan en limbs de 32 bits
+     * (little-endian) multiplicando por 58^k con aritmética de long.
+     * 
+     * @return Longitud total decodificada (incluye checksum), o -1 si no es
+     *         válida
+     */
+    private static int decodeToScratch(Scratch scratch, CharSequence base58) {
+        int length = base58.length();
+        scratch.ensureCapacity(length);
+        int[] limbs = scratch.limbs;
+        byte[] bytes = scratch.bytes;
+
+        // Cada '1' inicial representa un byte cero
+        int zeros = 0;
+        while (zeros < length && base58.charAt(zeros) == '1') {
+            zeros++;
+        }
+
+        int limbCount = 0;
+        int pos = zeros;
+        while (pos < length) {
+            int groupEnd = Math.min(pos + DIGITS_PER_DIVISION, length);
+            long group = 0;
+            long multiplier = 1;
+
+            for (; pos < groupEnd; pos++) {
+                char c = base58.charAt(pos);
+                int digit = c < 128 ? INDEXES[c] : -1;
+                if (digit < 0) {
+                    return -1; // Carácter inválido
+                }
+                group = group * 58 + digit;
+                multiplier *= 58;
+            }
+
+            // limbs = limbs * 58^k + grupo
+            long carry = group;
+            for (int i = 0; i < limbCount; i++) {
+                long cur = (limbs[i] & 0xFFFFFFFFL) * multiplier + carry;
+                limbs[i] = (int) cur;
+                carry = cur >>> 32;
+            }
+            if (carry != 0) {
+                limbs[limbCount++] = (int) carry;
+            }
+        }
+
+        // Convertir limbs a bytes big-endian sin ceros a la izquierda
+        int numberBytes = limbCount * 4;
+        if (limbCount > 0) {
+            int top = limbs[limbCount - 1];
+            numberBytes -= Integer.numberOfLeadingZeros(top) / 8;
+        }
+
+        int total = zeros + numberBytes;
+
+        // Mínimo: 1 byte version + 4 bytes checksum
+        if (total < 1 + CHECKSUM_LENGTH) {
+            return -1;
+        }
+
+        Arrays.fill(bytes, 0, zeros, (byte) 0);
+        for (int i = 0; i < numberBytes; i++) {
+            int limb = limbs[i / 4];
+            bytes[total - 1 - i] = (byte) (limb >>> ((i % 4) * 8));
+        }
+
+        // Recalcular checksum y comparar
+        int payloadLength = total - CHECKSUM_LENGTH;
+        byte[] hash = scratch.hash;
+        HashUtils.doubleSha256(bytes, 0, payloadLength, hash, 0);
+
+        for (int i = 0; i < CHECKSUM_LENGTH; i++) {
+            if (hash[i] != bytes[payloadLength + i]) {
+                return -1;
+            }
+        }
+        return total;
+    }
+}
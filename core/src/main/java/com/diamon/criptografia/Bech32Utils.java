@@ -0,0 +1,351 @@
+package com.diamon.criptografia;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Codificación Bech32 (BIP173) y Bech32m (BIP350) de direcciones SegWit.
+ *
+ * El checksum se calcula con el polinomio BCH en un int, con una tabla de
+ * 32 entradas indexada por los 5 bits que salen del registro en cada paso.
+ * La variante sobre buffers escribe ASCII directamente en el destino sin
+ * reservar memoria por llamada, y la de lote codifica muchos programas de
+ * testigo con el estado del HRP precalculado una sola vez.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class Bech32Utils {
+
+    /** Parte legible de las direcciones de mainnet */
+    public static final String MAINNET_HRP = "bc";
+
+    /** Longitud del checksum en caracteres */
+    public static final int CHECKSUM_LENGTH = 6;
+
+    /** Longitud máxima de una dirección SegWit */
+    private static final int MAX_ADDRESS_LENGTH = 90;
+
+    private static final char[] CHARSET = "qpzry9x8gf2tvdw0s3jn54khce6mua7l".toCharArray();
+
+    /** Tabla inversa ASCII -> valor de 5 bits (-1 si no es válido) */
+    private static final byte[] INDEXES = new byte[128];
+
+    /** Generadores del BCH de Bech32 */
+    private static final int[] GENERATORS = { 0x3b6a57b2, 0x26508e6d, 0x1ea119fa, 0x3d4233dd, 0x2a1462b3 };
+
+    /** Contribución de los 5 bits altos del registro: XOR de los generadores de cada bit */
+    private static final int[] POLYMOD_TABLE = new int[32];
+
+    static {
+        Arrays.fill(INDEXES, (byte) -1);
+        for (int i = 0; i < CHARSET.length; i++) {
+            INDEXES[CHARSET[i]] = (byte) i;
+            INDEXES[Character.toUpperCase(CHARSET[i])] = (byte) i;
+        }
+        for (int top = 0; top < 32; top++) {
+            int value = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                if ((top >>> bit & 1) != 0) {
+                    value ^= GENERATORS[bit];
+                }
+            }
+            POLYMOD_TABLE[top] = value;
+        }
+    }
+
+    /**
+     * Variante del checksum.
+     */
+    public enum Encoding {
+        /** BIP173: testigos versión 0 (P2WPKH, P2WSH) */
+        BECH32(1),
+        /** BIP350: testigos versión 1 a 16 (P2TR) */
+        BECH32M(0x2bc830a3);
+
+        /** Constante con la que se cierra el polinomio */
+        final int constant;
+
+        Encoding(int constant) {
+            this.constant = constant;
+        }
+
+        /**
+         * @param witnessVersion Versión del testigo (0-16)
+         * @return Variante que corresponde a la versión
+         */
+        public static Encoding forWitnessVersion(int witnessVersion) {
+            return witnessVersion == 0 ? BECH32 : BECH32M;
+        }
+    }
+
+    /**
+     * Resultado de decodificar una dirección SegWit.
+     */
+    public static final class Decoded {
+
+        /** Versión del testigo (0-16) */
+        public final int witnessVersion;
+
+        /** Programa del testigo (2-40 bytes) */
+        public final byte[] program;
+
+        Decoded(int witnessVersion, byte[] program) {
+            this.witnessVersion = witnessVersion;
+            this.program = program;
+        }
+    }
+
+    private static int polymodStep(int checksum, int value) {
+        return POLYMOD_TABLE[checksum >>> 25] ^ ((checksum & 0x1ffffff) << 5) ^ value;
+    }
+
+    /**
+     * Estado del polinomio tras la expansión del HRP (bits altos, separador
+     * cero y bits bajos).
+     */
+    private static int hrpChecksum(CharSequence hrp) {
+        int checksum = 1;
+        int length = hrp.length();
+        for (int i = 0; i < length; i++) {
+            checksum = polymodStep(checksum, hrp.charAt(i) >>> 5);
+        }
+        checksum = polymodStep(checksum, 0);
+        for (int i = 0; i < length; i++) {
+            checksum = polymodStep(checksum, hrp.charAt(i) & 31);
+        }
+        return checksum;
+    }
+
+    private static void checkHrp(String hrp) {
+        if (hrp.isEmpty() || hrp.length() > 83) {
+            throw new IllegalArgumentException("HRP inválido: " + hrp);
+        }
+        for (int i = 0; i < hrp.length(); i++) {
+            char c = hrp.charAt(i);
+            if (c < 33 || c > 126 || (c >= 'A' && c <= 'Z')) {
+                throw new IllegalArgumentException("HRP inválido: " + hrp);
+            }
+        }
+    }
+
+    private static void checkProgram(int witnessVersion, int programLength) {
+        if (witnessVersion < 0 || witnessVersion > 16) {
+            throw new IllegalArgumentException("Versión de testigo inválida: " + witnessVersion);
+        }
+        if (programLength < 2 || programLength > 40
+                || (witnessVersion == 0 && programLength != 20 && programLength != 32)) {
+            throw new IllegalArgumentException("Programa de testigo inválido: " + programLength + " bytes");
+        }
+    }
+
+    /**
+     * Longitud exacta de la dirección (la codificación no depende de los
+     * bytes, solo de su número).
+     *
+     * @param hrp           Parte legible
+     * @param programLength Bytes del programa del testigo
+     * @return Caracteres de la dirección
+     */
+    public static int encodedLength(String hrp, int programLength) {
+        return hrp.length() + 1 + 1 + (programLength * 8 + 4) / 5 + CHECKSUM_LENGTH;
+    }
+
+    /**
+     * Codifica una dirección SegWit.
+     *
+     * @param hrp            Parte legible ("bc" en mainnet)
+     * @param witnessVersion Versión del testigo (0-16)
+     * @param program        Programa del testigo
+     * @return Dirección en minúsculas
+     * @throws IllegalArgumentException Si el HRP, la versión o el programa
+     *                                  no son válidos
+     */
+    public static String encodeSegwitAddress(String hrp, int witnessVersion, byte[] program) {
+        byte[] ascii = new byte[encodedLength(hrp, program.length)];
+        encodeSegwitAddress(hrp, witnessVersion, program, 0, program.length, ascii, 0);
+        return new String(ascii, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Codifica una dirección SegWit como ASCII en un buffer de bytes, sin
+     * reservar memoria.
+     *
+     * @param hrp            Parte legible ("bc" en mainnet)
+     * @param witnessVersion Versión del testigo (0-16)
+     * @param program        Buffer con el programa del testigo
+     * @param offset         Posición del programa
+     * @param length         Bytes del programa
+     * @param dst            Buffer de salida ({@link #encodedLength} libres)
+     * @param dstOffset      Posición del primer carácter
+     * @return Bytes escritos
+     */
+    public static int encodeSegwitAddress(String hrp, int witnessVersion, byte[] program, int offset, int length,
+            byte[] dst, int dstOffset) {
+        checkHrp(hrp);
+        checkProgram(witnessVersion, length);
+        return encode(hrp, hrpChecksum(hrp), witnessVersion, program, offset, length, dst, dstOffset);
+    }
+
+    /**
+     * Codifica un lote de programas de la misma longitud, uno tras otro y
+     * con paso fijo {@link #encodedLength(String, int)} en el destino. El
+     * estado del HRP se calcula una sola vez.
+     *
+     * @param hrp            Parte legible ("bc" en mainnet)
+     * @param witnessVersion Versión del testigo (0-16)
+     * @param programs       Buffer con los programas consecutivos
+     * @param offset         Posición del primer programa
+     * @param programLength  Bytes de cada programa
+     * @param count          Número de direcciones
+     * @param dst            Buffer de salida (count * encodedLength libres)
+     * @param dstOffset      Posición de la primera dirección
+     * @return Caracteres de cada dirección (paso en el destino)
+     */
+    public static int encodeSegwitAddresses(String hrp, int witnessVersion, byte[] programs, int offset,
+            int programLength, int count, byte[] dst, int dstOffset) {
+        checkHrp(hrp);
+        checkProgram(witnessVersion, programLength);
+
+        int hrpChecksum = hrpChecksum(hrp);
+        int stride = encodedLength(hrp, programLength);
+        for (int i = 0; i < count; i++) {
+            encode(hrp, hrpChecksum, witnessVersion, programs, offset + i * programLength, programLength,
+                    dst, dstOffset + i * stride);
+        }
+        return stride;
+    }
+
+    private static int encode(String hrp, int hrpChecksum, int witnessVersion, byte[] program, int offset,
+            int length, byte[] dst, int dstOffset) {
+        int pos = dstOffset;
+        for (int i = 0; i < hrp.length(); i++) {
+            dst[pos++] = (byte) hrp.charAt(i);
+        }
+        dst[pos++] = '1';
+
+        int checksum = polymodStep(hrpChecksum, witnessVersion);
+        dst[pos++] = (byte) CHARSET[witnessVersion];
+
+        int accumulator = 0;
+        int bits = 0;
+        for (int i = 0; i < length; i++) {
+            accumulator = (accumulator << 8) | (program[offset + i] & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                bits -= 5;
+                int value = (accumulator >>> bits) & 31;
+                checksum = polymodStep(checksum, value);
+                dst[pos++] = (byte) CHARSET[value];
+            }
+        }
+        if (bits > 0) {
+            int value = (accumulator << (5 - bits)) & 31;
+            checksum = polymodStep(checksum, value);
+            dst[pos++] = (byte) CHARSET[value];
+        }
+
+        for (int i = 0; i < CHECKSUM_LENGTH; i++) {
+            checksum = polymodStep(checksum, 0);
+        }
+        checksum ^= Encoding.forWitnessVersion(witnessVersion).constant;
+        for (int i = 0; i < CHECKSUM_LENGTH; i++) {
+            dst[pos++] = (byte) CHARSET[(checksum >>> (5 * (CHECKSUM_LENGTH - 1 - i))) & 31];
+        }
+        return pos - dstOffset;
+    }
+
+    /**
+     * Decodifica y valida una dirección SegWit: HRP, checksum de la
+     * variante que exige la versión, relleno y longitud del programa.
+     *
+     * @param hrp     Parte legible esperada
+     * @param address Dirección (todo en minúsculas o todo en mayúsculas)
+     * @return Versión y programa del testigo
+     * @throws IllegalArgumentException Si la dirección no es válida
+     */
+    public static Decoded decodeSegwitAddress(String hrp, String address) {
+        int length = address.length();
+        if (length > MAX_ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("Dirección demasiado larga");
+        }
+
+        boolean lower = false;
+        boolean upper = false;
+        for (int i = 0; i < length; i++) {
+            char c = address.charAt(i);
+            if (c < 33 || c > 126) {
+                throw new IllegalArgumentException("Carácter no válido en la dirección");
+            }
+            lower |= c >= 'a' && c <= 'z';
+            upper |= c >= 'A' && c <= 'Z';
+        }
+        if (lower && upper) {
+            throw new IllegalArgumentException("Mezcla de mayúsculas y minúsculas");
+        }
+
+        String normalized = address.toLowerCase(Locale.ROOT);
+        int separator = normalized.lastIndexOf('1');
+        if (separator != hrp.length() || !normalized.startsWith(hrp)
+                || length - separator - 1 < 1 + CHECKSUM_LENGTH) {
+            throw new IllegalArgumentException("Parte legible o separador inválidos");
+        }
+
+        int checksum = hrpChecksum(hrp);
+        int dataLength = length - separator - 1;
+        byte[] values = new byte[dataLength];
+        for (int i = 0; i < dataLength; i++) {
+            char c = normalized.charAt(separator + 1 + i);
+            int value = c < 128 ? INDEXES[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Carácter no válido en Bech32: '" + c + "'");
+            }
+            values[i] = (byte) value;
+            checksum = polymodStep(checksum, value);
+        }
+
+        int witnessVersion = values[0];
+        if (witnessVersion > 16) {
+            throw new IllegalArgumentException("Versión de testigo inválida: " + witnessVersion);
+        }
+        if (checksum != Encoding.forWitnessVersion(witnessVersion).constant) {
+            throw new IllegalArgumentException("Checksum Bech32 inválido");
+        }
+
+        // Reagrupar de 5 a 8 bits; el relleno debe ser de menos de 5 bits y nulo
+        int payloadValues = dataLength - 1 - CHECKSUM_LENGTH;
+        byte[] program = new byte[payloadValues * 5 / 8];
+        int accumulator = 0;
+        int bits = 0;
+        int pos = 0;
+        for (int i = 1; i <= payloadValues; i++) {
+            accumulator = (accumulator << 5) | values[i];
+            bits += 5;
+            if (bits >= 8) {
+                bits -= 8;
+                program[pos++] = (byte) (accumulator >>> bits);
+            }
+        }
+        if (bits >= 5 || ((accumulator << (8 - bits)) & 0xFF) != 0) {
+            throw new IllegalArgumentException("Relleno inválido");
+        }
+
+        checkProgram(witnessVersion, program.length);
+        return new Decoded(witnessVersion, program);
+    }
+
+    /**
+     * @param hrp     Parte legible esperada
+     * @param address Dirección a verificar
+     * @return true si es una dirección SegWit válida
+     */
+    public static boolean isValidSegwitAddress(String hrp, String address) {
+        try {
+            decodeSegwitAddress(hrp, address);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.metrics.PipelineMetrics;
+import com.diamon.criptografia.model.RawWalletData;
+import com.diamon.criptografia.model.WalletData;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generación masiva de carteras desde muchas semillas usando todos los
+ * núcleos.
+ *
+ * Las semillas se leen del iterador en bloques que se reparten en un
+ * ForkJoinPool (work-stealing). Cada hilo trabajador reutiliza sus propios
+ * buffers para claves privadas, claves públicas y codificación, y deriva
+ * las claves públicas del bloque con una sola inversión compartida.
+ *
+ * El número de bloques en vuelo está acotado, así que el iterador puede ser
+ * arbitrariamente largo sin cargarlo completo en memoria.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class BulkWalletGenerator implements Closeable {
+
+    /** Semillas por bloque de trabajo */
+    public static final int CHUNK_SIZE = 256;
+
+    /**
+     * Recibe cada cartera generada.
+     */
+    public interface WalletListener {
+
+        /**
+         * @param index  Posición de la semilla en la entrada
+         * @param wallet Cartera derivada de esa semilla
+         */
+        void onWallet(long index, WalletData wallet);
+    }
+
+    /**
+     * Recibe cada cartera generada en su forma respaldada por bytes.
+     */
+    public interface RawWalletListener {
+
+        /**
+         * @param index  Posición de la semilla en la entrada
+         * @param wallet Cartera derivada de esa semilla
+         */
+        void onWallet(long index, RawWalletData wallet);
+    }
+
+    /**
+     * Recibe cada bloque en bruto, sin construir {@link WalletData}.
+     *
+     * Se invoca desde los hilos trabajadores, en cualquier orden. Los buffers
+     * pertenecen al trabajador y se reutilizan (y las claves privadas se
+     * borran) en cuanto el método retorna, así que deben copiarse.
+     */
+    public interface ChunkListener {
+
+        /**
+         * @param firstIndex  Posición en la entrada de la primera semilla
+         * @param count       Carteras del bloque
+         * @param privateKeys count claves privadas de 32 bytes consecutivas
+         * @param publicKeys  count claves públicas sin comprimir de 65 bytes
+         *                    (el punto en el infinito, improbable, ocupa su
+         *                    hueco como 0x00 y ceros; ver
+         *                    {@link CryptoUtils#publicKeyLength(byte[], int)})
+         * @param hash160s    count HASH160 de 20 bytes de las claves públicas
+         * @throws InterruptedException Si el hilo es interrumpido mientras
+         *                              entrega el bloque
+         */
+        void onChunk(long firstIndex, int count, byte[] privateKeys, byte[] publicKeys, byte[] hash160s)
+                throws InterruptedException;
+    }
+
+    /**
+     * Recibe el avance de la generación.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Puede invocarse desde cualquier hilo trabajador.
+         *
+         * @param completed Carteras derivadas hasta el momento
+         */
+        void onProgress(long completed);
+    }
+
+    /**
+     * Buffers reutilizables de cada hilo trabajador.
+     */
+    private static final class Worker {
+        final byte[] privateKeys = new byte[CHUNK_SIZE * FixedBaseMultiplier.SCALAR_LENGTH];
+        final byte[] publicKeys = new byte[CHUNK_SIZE * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+        final byte[] hash160s = new byte[CHUNK_SIZE * HashUtils.HASH160_LENGTH];
+        final byte[] compressedPublicKeys = new byte[CHUNK_SIZE * CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH];
+        final byte[] compressedHash160s = new byte[CHUNK_SIZE * HashUtils.HASH160_LENGTH];
+        final byte[] payload = new byte[1 + FixedBaseMultiplier.SCALAR_LENGTH + 1];
+        final char[] chars = new char[2 * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+    }
+
+    /**
+     * Convierte cada bloque derivado en resultados y los entrega al listener
+     * de la operación en curso.
+     */
+    private interface Delivery {
+
+        /**
+         * @return Resultados del bloque, o null si ya se entregó en bruto
+         */
+        Object[] build(long firstIndex, int count, Worker worker) throws InterruptedException;
+
+        void deliver(long index, Object result);
+    }
+
+    /**
+     * Bloque en vuelo: índice de su primera semilla y tarea que lo deriva.
+     */
+    private static final class PendingChunk {
+        final long firstIndex;
+        final ForkJoinTask<Object[]> task;
+
+        PendingChunk(long firstIndex, ForkJoinTask<Object[]> task) {
+            this.firstIndex = firstIndex;
+            this.task = task;
+        }
+    }
+
+    private static final ThreadLocal<Worker> WORKER = new ThreadLocal<Worker>() {
+        @Override
+        protected Worker initialValue() {
+            return new Worker();
+        }
+    };
+
+    private final ForkJoinPool pool;
+    private final boolean ordered;
+    private final int maxInFlight;
+    private ProgressListener progressListener;
+
+    /**
+     * Crea un generador con un hilo por núcleo disponible.
+     *
+     * @param ordered true para entregar los resultados en el orden de entrada
+     */
+    public BulkWalletGenerator(boolean ordered) {
+        this(Runtime.getRuntime().availableProcessors(), ordered);
+    }
+
+    /**
+     * @param parallelism Número de hilos trabajadores
+     * @param ordered     true para entregar los resultados en el orden de
+     *                    entrada, desde el hilo que llama a
+     *                    {@link #generate(Iterator, WalletListener)}; false
+     *                    para entregarlos desde los trabajadores en cuanto
+     *                    están listos
+     */
+    public BulkWalletGenerator(int parallelism, boolean ordered) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.ordered = ordered;
+        this.maxInFlight = parallelism * 2;
+    }
+
+    /**
+     * @param progressListener Listener de avance (puede ser null)
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Deriva la cartera de cada semilla del iterador.
+     *
+     * En modo no ordenado el listener se invoca concurrentemente desde los
+     * hilos trabajadores y debe ser seguro entre hilos.
+     *
+     * @param seeds    Semillas (texto o archivo ya convertidas a bytes)
+     * @param listener Destino de cada cartera
+     * @return Número de carteras generadas
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     * @throws ExecutionException   Si falla la derivación de algún bloque
+     */
+    public long generate(Iterator<byte[]> seeds, final WalletListener listener)
+            throws InterruptedException, ExecutionException {
+        return run(seeds, new Delivery() {
+            @Override
+            public Object[] build(long firstIndex, int count, Worker worker) {
+                return toWallets(count, worker);
+            }
+
+            @Override
+            public void deliver(long index, Object result) {
+                listener.onWallet(index, (WalletData) result);
+            }
+        });
+    }
+
+    /**
+     * Igual que {@link #generate(Iterator, WalletListener)}, pero entrega
+     * carteras {@link RawWalletData}: una sola copia de los bytes por
+     * cartera, con las representaciones en texto calculadas bajo demanda.
+     *
+     * @param seeds    Semillas
+     * @param listener Destino de cada cartera
+     * @return Número de carteras generadas
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     * @throws ExecutionException   Si falla la derivación de algún bloque
+     */
+    public long generateRaw(Iterator<byte[]> seeds, final RawWalletListener listener)
+            throws InterruptedException, ExecutionException {
+        return run(seeds, new Delivery() {
+            @Override
+            public Object[] build(long firstIndex, int count, Worker worker) {
+                return toRawWallets(count, worker);
+            }
+
+            @Override
+            public void deliver(long index, Object result) {
+                listener.onWallet(index, (RawWalletData) result);
+            }
+        });
+    }
+
+    /**
+     * Deriva las claves de cada semilla del iterador y las entrega por
+     * bloques en bruto, para consumidores que escriben directamente los
+     * bytes (exportadores) sin pasar por {@link WalletData}.
+     *
+     * El listener se invoca concurrentemente desde los hilos trabajadores,
+     * independientemente del modo ordenado.
+     *
+     * @param seeds    Semillas
+     * @param listener Destino de cada bloque
+     * @return Número de carteras generadas
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     * @throws ExecutionException   Si falla la derivación de algún bloque
+     */
+    public long generateChunks(Iterator<byte[]> seeds, final ChunkListener listener)
+            throws InterruptedException, ExecutionException {
+        return run(seeds, new Delivery() {
+            @Override
+            public Object[] build(long firstIndex, int count, Worker worker) throws InterruptedException {
+                listener.onChunk(firstIndex, count, worker.privateKeys, worker.publicKeys, worker.hash160s);
+                return null;
+            }
+
+            @Override
+            public void deliver(long index, Object result) {
+                // Los bloques se entregan completos desde build()
+            }
+        });
+    }
+
+    private long run(Iterator<byte[]> seeds, Delivery delivery)
+            throws InterruptedException, ExecutionException {
+        ArrayDeque<PendingChunk> inFlight = new ArrayDeque<>();
+        AtomicLong completed = new AtomicLong();
+        long submitted = 0;
+
+        try {
+            while (seeds.hasNext()) {
+                List<byte[]> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (chunk.size() < CHUNK_SIZE && seeds.hasNext()) {
+                    chunk.add(seeds.next());
+                }
+
+                inFlight.add(new PendingChunk(submitted, pool.submit(chunkTask(chunk, submitted, delivery, completed))));
+                submitted += chunk.size();
+
+                // Limitar bloques en vuelo para mantener la memoria acotada
+                if (inFlight.size() >= maxInFlight) {
+                    drain(inFlight.poll(), delivery);
+                }
+            }
+
+            while (!inFlight.isEmpty()) {
+                drain(inFlight.poll(), delivery);
+            }
+        } finally {
+            // Ante un error o interrupción, descartar el trabajo pendiente
+            for (PendingChunk pending : inFlight) {
+                pending.task.cancel(false);
+            }
+        }
+
+        return submitted;
+    }
+
+    /**
+     * Deriva las carteras de una lista de semillas, en orden.
+     *
+     * @param seeds Semillas
+     * @return Carteras en el mismo orden que las semillas
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     * @throws ExecutionException   Si falla la derivación de algún bloque
+     */
+    public List<WalletData> generateAll(List<byte[]> seeds) throws InterruptedException, ExecutionException {
+        final WalletData[] results = new WalletData[seeds.size()];
+        generate(seeds.iterator(), new WalletListener() {
+            @Override
+            public void onWallet(long index, WalletData wallet) {
+                results[(int) index] = wallet;
+            }
+        });
+
+        List<WalletData> list = new ArrayList<>(results.length);
+        for (WalletData wallet : results) {
+            list.add(wallet);
+        }
+        return list;
+    }
+
+    private Callable<Object[]> chunkTask(final List<byte[]> chunk, final long firstIndex,
+            final Delivery delivery, final AtomicLong completed) {
+        return new Callable<Object[]>() {
+            @Override
+            public Object[] call() throws InterruptedException {
+                Worker worker = WORKER.get();
+                int count = chunk.size();
+                Object[] results;
+
+                try {
+                    deriveKeys(chunk, worker);
+                    results = delivery.build(firstIndex, count, worker);
+                } finally {
+                    // Limpiar claves privadas del buffer reutilizable
+                    Arrays.fill(worker.privateKeys, 0, count * FixedBaseMultiplier.SCALAR_LENGTH, (byte) 0);
+                    Arrays.fill(worker.payload, (byte) 0);
+                }
+
+                if (!ordered && results != null) {
+                    for (int i = 0; i < count; i++) {
+                        delivery.deliver(firstIndex + i, results[i]);
+                    }
+                }
+
+                long done = completed.addAndGet(count);
+                ProgressListener progress = progressListener;
+                if (progress != null) {
+                    progress.onProgress(done);
+                }
+                return results;
+            }
+        };
+    }
+
+    /**
+     * Espera el bloque más antiguo y, en modo ordenado, entrega sus carteras.
+     */
+    private void drain(PendingChunk pending, Delivery delivery)
+            throws InterruptedException, ExecutionException {
+        Object[] results = pending.task.get();
+        if (ordered && results != null) {
+            for (int i = 0; i < results.length; i++) {
+                delivery.deliver(pending.firstIndex + i, results[i]);
+            }
+        }
+    }
+
+    /**
+     * Deriva claves privadas, claves públicas y HASH160 de un bloque en los
+     * buffers del hilo actual.
+     */
+    private static void deriveKeys(List<byte[]> chunk, Worker worker) {
+        int count = chunk.size();
+
+        // Clave privada: SHA256(SHA256(seed))
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.SEED_HASH);
+        try {
+            for (int i = 0; i < count; i++) {
+                byte[] seed = chunk.get(i);
+                HashUtils.doubleSha256(seed, 0, seed.length, worker.privateKeys,
+                        i * FixedBaseMultiplier.SCALAR_LENGTH);
+            }
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.SEED_HASH, start, count);
+        }
+
+        // Claves públicas del bloque con una sola inversión; una clave
+        // congruente con 0 módulo n no hace fallar el bloque
+        CryptoUtils.derivePublicKeys(worker.privateKeys, 0, worker.publicKeys, 0, count);
+
+        start = PipelineMetrics.begin(PipelineMetrics.Stage.HASH160);
+        try {
+            for (int i = 0; i < count; i++) {
+                int offset = i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH;
+                HashUtils.hash160(worker.publicKeys, offset, CryptoUtils.publicKeyLength(worker.publicKeys, offset),
+                        worker.hash160s, i * HashUtils.HASH160_LENGTH);
+            }
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.HASH160, start, count);
+        }
+    }
+
+    /**
+     * Construye las carteras de un bloque ya derivado, en ambas
+     * codificaciones de la clave pública: una pasada de HASH160 de las
+     * claves comprimidas (obtenidas de los puntos ya calculados), otra de
+     * hex y otra de Base58Check, medidas por separado.
+     */
+    private static WalletData[] toWallets(int count, Worker worker) {
+        byte[] privateKeys = worker.privateKeys;
+        byte[] publicKeys = worker.publicKeys;
+        byte[] compressedPublicKeys = worker.compressedPublicKeys;
+        byte[] payload = worker.payload;
+        char[] chars = worker.chars;
+
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.HASH160);
+        try {
+            for (int i = 0; i < count; i++) {
+                int offset = i * CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH;
+                CryptoUtils.compressPublicKey(publicKeys, i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH,
+                        compressedPublicKeys, offset);
+                HashUtils.hash160(compressedPublicKeys, offset,
+                        CryptoUtils.publicKeyLength(compressedPublicKeys, offset), worker.compressedHash160s,
+                        i * HashUtils.HASH160_LENGTH);
+            }
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.HASH160, start, count);
+        }
+
+        String[] privateKeyHex = new String[count];
+        String[] publicKeyHex = new String[count];
+        String[] compressedPublicKeyHex = new String[count];
+        start = PipelineMetrics.begin(PipelineMetrics.Stage.HEX);
+        try {
+            for (int i = 0; i < count; i++) {
+                int length = HexUtils.encode(privateKeys, i * FixedBaseMultiplier.SCALAR_LENGTH,
+                        FixedBaseMultiplier.SCALAR_LENGTH, chars, 0);
+                privateKeyHex[i] = new String(chars, 0, length);
+
+                int offset = i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH;
+                length = HexUtils.encode(publicKeys, offset, CryptoUtils.publicKeyLength(publicKeys, offset),
+                        chars, 0);
+                publicKeyHex[i] = new String(chars, 0, length);
+
+                offset = i * CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH;
+                length = HexUtils.encode(compressedPublicKeys, offset,
+                        CryptoUtils.publicKeyLength(compressedPublicKeys, offset), chars, 0);
+                compressedPublicKeyHex[i] = new String(chars, 0, length);
+            }
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.HEX, start, count);
+        }
+
+        WalletData[] wallets = new WalletData[count];
+        int wifLength = 1 + FixedBaseMultiplier.SCALAR_LENGTH;
+        start = PipelineMetrics.begin(PipelineMetrics.Stage.BASE58);
+        try {
+            for (int i = 0; i < count; i++) {
+                // WIF: 0x80 + clave privada (+ 0x01 si la clave pública va comprimida)
+                payload[0] = (byte) 0x80;
+                System.arraycopy(privateKeys, i * FixedBaseMultiplier.SCALAR_LENGTH, payload, 1,
+                        FixedBaseMultiplier.SCALAR_LENGTH);
+                int length = Base58Utils.encodeBase58Check(payload, 0, wifLength, chars, 0);
+                String wif = new String(chars, 0, length);
+
+                payload[wifLength] = 0x01;
+                length = Base58Utils.encodeBase58Check(payload, 0, wifLength + 1, chars, 0);
+                String compressedWif = new String(chars, 0, length);
+
+                // Dirección: 0x00 + HASH160(clave pública)
+                payload[0] = 0x00;
+                System.arraycopy(worker.hash160s, i * HashUtils.HASH160_LENGTH, payload, 1,
+                        HashUtils.HASH160_LENGTH);
+                length = Base58Utils.encodeBase58Check(payload, 0, 1 + HashUtils.HASH160_LENGTH, chars, 0);
+                String address = new String(chars, 0, length);
+
+                System.arraycopy(worker.compressedHash160s, i * HashUtils.HASH160_LENGTH, payload, 1,
+                        HashUtils.HASH160_LENGTH);
+                length = Base58Utils.encodeBase58Check(payload, 0, 1 + HashUtils.HASH160_LENGTH, chars, 0);
+                String compressedAddress = new String(chars, 0, length);
+
+                wallets[i] = new WalletData(privateKeyHex[i], wif, publicKeyHex[i], address,
+                        compressedWif, compressedPublicKeyHex[i], compressedAddress);
+            }
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.BASE58, start, count);
+        }
+        return wallets;
+    }
+
+    /**
+     * Construye las carteras respaldadas por bytes de un bloque ya derivado.
+     */
+    private static RawWalletData[] toRawWallets(int count, Worker worker) {
+        RawWalletData[] wallets = new RawWalletData[count];
+        for (int i = 0; i < count; i++) {
+            int offset = i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH;
+            wallets[i] = new RawWalletData(worker.privateKeys, i * FixedBaseMultiplier.SCALAR_LENGTH,
+                    worker.publicKeys, offset, CryptoUtils.publicKeyLength(worker.publicKeys, offset),
+                    worker.hash160s, i * HashUtils.HASH160_LENGTH);
+        }
+        return wallets;
+    }
+
+    /**
+     * Detiene los hilos trabajadores.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,283 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.ec.BouncyCastleEngine;
+import com.diamon.criptografia.ec.EcEngine;
+import com.diamon.criptografia.ec.Secp256k1Engine;
+import com.diamon.criptografia.hash.BouncyCastleHashEngine;
+import com.diamon.criptografia.hash.HashEngine;
+import com.diamon.criptografia.hash.JcaHashEngine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Selección de los backends de curva (k * G) y de hash del núcleo.
+ *
+ * El backend se elige por nombre con las propiedades del sistema
+ * {@value #EC_PROPERTY} y {@value #HASH_PROPERTY}, con
+ * {@link #select(String, String)}, o se detecta según la plataforma:
+ * <ul>
+ * <li>Curva: {@code bouncycastle} en todas (la tabla de 8 bits de
+ * {@link FixedBaseMultiplier} es la más rápida medida).</li>
+ * <li>Hash: {@code jca} en la JVM de servidor (SHA-256 con intrinsics de
+ * HotSpot) y {@code bouncycastle} en ART.</li>
+ * </ul>
+ *
+ * Un backend que no es el de referencia no se usa hasta pasar la
+ * autoprueba ({@link BackendSelfTest}): mientras tanto y si falla,
+ * {@link #ec()} y {@link #hash()} devuelven el de referencia. La
+ * autoprueba se lanza una sola vez en un hilo de fondo la primera vez que
+ * se pide un backend pendiente, o se ejecuta directamente con
+ * {@link #selfTest()}.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class CryptoBackends {
+
+    /** Propiedad del sistema con el nombre del motor de curva */
+    public static final String EC_PROPERTY = "com.diamon.criptografia.ec";
+
+    /** Propiedad del sistema con el nombre del backend de hash */
+    public static final String HASH_PROPERTY = "com.diamon.criptografia.hash";
+
+    /**
+     * Estado del backend seleccionado.
+     */
+    public enum Status {
+        /** Es el backend de referencia: no necesita autoprueba */
+        REFERENCE,
+        /** Pendiente de autoprueba; se usa el de referencia */
+        PENDING,
+        /** Autoprueba superada; en uso */
+        TRUSTED,
+        /** Autoprueba fallida o nombre desconocido; se usa el de referencia */
+        FAILED
+    }
+
+    /**
+     * Backend seleccionado de un tipo y el que está en uso.
+     */
+    private static final class Slot<T> {
+        final T reference;
+        T candidate;
+        volatile String candidateName;
+        volatile T active;
+        volatile Status status;
+        volatile String failure;
+
+        Slot(T reference) {
+            this.reference = reference;
+        }
+    }
+
+    private static final Slot<EcEngine> EC = new Slot<EcEngine>(BouncyCastleEngine.getInstance());
+    private static final Slot<HashEngine> HASH = new Slot<HashEngine>(BouncyCastleHashEngine.getInstance());
+
+    private static final Map<String, EcEngine> EC_ENGINES = new HashMap<>();
+    private static final Map<String, HashEngine> HASH_ENGINES = new HashMap<>();
+
+    private static final AtomicBoolean SELF_TEST_STARTED = new AtomicBoolean();
+
+    static {
+        configure(System.getProperty(EC_PROPERTY), System.getProperty(HASH_PROPERTY), false);
+    }
+
+    private CryptoBackends() {
+    }
+
+    /**
+     * @return Motor de curva en uso
+     */
+    public static EcEngine ec() {
+        if (EC.status == Status.PENDING) {
+            startSelfTest();
+        }
+        return EC.active;
+    }
+
+    /**
+     * @return Backend de hash en uso
+     */
+    public static HashEngine hash() {
+        if (HASH.status == Status.PENDING) {
+            startSelfTest();
+        }
+        return HASH.active;
+    }
+
+    /**
+     * Registra un motor de curva adicional, seleccionable por su nombre.
+     *
+     * @param engine Motor a registrar
+     */
+    public static synchronized void register(EcEngine engine) {
+        EC_ENGINES.put(engine.getName(), engine);
+    }
+
+    /**
+     * Registra un backend de hash adicional, seleccionable por su nombre.
+     *
+     * @param engine Backend a registrar
+     */
+    public static synchronized void register(HashEngine engine) {
+        HASH_ENGINES.put(engine.getName(), engine);
+    }
+
+    /**
+     * Selecciona los backends por nombre. Los nuevos quedan pendientes de
+     * autoprueba y hasta entonces se usan los de referencia.
+     *
+     * @param ecName   Motor de curva, o null para detectarlo
+     * @param hashName Backend de hash, o null para detectarlo
+     * @throws IllegalArgumentException Si algún nombre no está registrado
+     */
+    public static synchronized void select(String ecName, String hashName) {
+        configure(ecName, hashName, true);
+    }
+
+    /**
+     * Ejecuta la autoprueba de los backends pendientes en el hilo actual.
+     * Es idempotente: los backends ya verificados o fallidos no se repiten.
+     */
+    public static synchronized void selfTest() {
+        if (EC.status == Status.PENDING) {
+            try {
+                BackendSelfTest.checkEc(EC.candidate, EC.reference);
+                trust(EC);
+            } catch (RuntimeException e) {
+                fail(EC, e.toString());
+            }
+        }
+
+        if (HASH.status == Status.PENDING) {
+            try {
+                BackendSelfTest.checkHash(HASH.candidate, HASH.reference);
+                trust(HASH);
+            } catch (RuntimeException e) {
+                fail(HASH, e.toString());
+            }
+        }
+    }
+
+    /**
+     * @return Estado del motor de curva seleccionado
+     */
+    public static Status getEcStatus() {
+        return EC.status;
+    }
+
+    /**
+     * @return Estado del backend de hash seleccionado
+     */
+    public static Status getHashStatus() {
+        return HASH.status;
+    }
+
+    /**
+     * @return Resumen legible de la selección, para registros de diagnóstico
+     */
+    public static String describe() {
+        return "ec=" + describe(EC, EC.active.getName()) + ", hash=" + describe(HASH, HASH.active.getName());
+    }
+
+    private static String describe(Slot<?> slot, String activeName) {
+        StringBuilder text = new StringBuilder(slot.candidateName).append(" [").append(slot.status).append(']');
+        if (!slot.candidateName.equals(activeName)) {
+            text.append(" usando ").append(activeName);
+        }
+        if (slot.failure != null) {
+            text.append(": ").append(slot.failure);
+        }
+        return text.toString();
+    }
+
+    private static synchronized void configure(String ecName, String hashName, boolean strict) {
+        if (ecName == null) {
+            ecName = BouncyCastleEngine.NAME;
+        }
+        if (hashName == null) {
+            hashName = isAndroid() ? BouncyCastleHashEngine.NAME : JcaHashEngine.NAME;
+        }
+
+        EcEngine ecEngine = findEc(ecName);
+        HashEngine hashEngine = findHash(hashName);
+        if (strict && ecEngine == null) {
+            throw new IllegalArgumentException("Motor de curva desconocido: " + ecName);
+        }
+        if (strict && hashEngine == null) {
+            throw new IllegalArgumentException("Backend de hash desconocido: " + hashName);
+        }
+
+        choose(EC, ecName, ecEngine);
+        choose(HASH, hashName, hashEngine);
+        SELF_TEST_STARTED.set(false);
+    }
+
+    private static <T> void choose(Slot<T> slot, String name, T engine) {
+        slot.candidateName = name;
+        slot.candidate = engine;
+        slot.active = slot.reference;
+        slot.failure = null;
+        if (engine == null) {
+            slot.failure = "no registrado";
+            slot.status = Status.FAILED;
+        } else if (engine == slot.reference) {
+            slot.status = Status.REFERENCE;
+        } else {
+            slot.status = Status.PENDING;
+        }
+    }
+
+    private static <T> void trust(Slot<T> slot) {
+        slot.active = slot.candidate;
+        slot.status = Status.TRUSTED;
+    }
+
+    private static <T> void fail(Slot<T> slot, String failure) {
+        slot.active = slot.reference;
+        slot.failure = failure;
+        slot.status = Status.FAILED;
+    }
+
+    private static EcEngine findEc(String name) {
+        if (BouncyCastleEngine.NAME.equals(name)) {
+            return BouncyCastleEngine.getInstance();
+        }
+        if (Secp256k1Engine.NAME.equals(name)) {
+            return Secp256k1Engine.getInstance();
+        }
+        return EC_ENGINES.get(name);
+    }
+
+    private static HashEngine findHash(String name) {
+        if (BouncyCastleHashEngine.NAME.equals(name)) {
+            return BouncyCastleHashEngine.getInstance();
+        }
+        if (JcaHashEngine.NAME.equals(name)) {
+            return JcaHashEngine.getInstance();
+        }
+        return HASH_ENGINES.get(name);
+    }
+
+    private static void startSelfTest() {
+        if (!SELF_TEST_STARTED.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                selfTest();
+            }
+        }, "crypto-selftest");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static boolean isAndroid() {
+        // ART conserva el nombre de máquina virtual de Dalvik
+        return System.getProperty("java.vm.name", "").contains("Dalvik");
+    }
+}
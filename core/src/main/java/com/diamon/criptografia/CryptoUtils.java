@@ -0,0 +1,427 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.ec.EcEngine;
+import com.diamon.criptografia.metrics.PipelineMetrics;
+
+import java.util.Arrays;
+
+/**
+ * Utilidades criptográficas para generación de carteras Bitcoin.
+ * Implementa SHA-256, RIPEMD-160 y ECDSA con curva secp256k1.
+ * 
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class CryptoUtils {
+
+    /** Longitud de una clave pública no comprimida (0x04 + X + Y) */
+    public static final int UNCOMPRESSED_PUBLIC_KEY_LENGTH = 65;
+
+    /** Longitud de una clave pública comprimida (0x02/0x03 + X) */
+    public static final int COMPRESSED_PUBLIC_KEY_LENGTH = 33;
+
+    /** Sufijo del WIF de una clave cuya clave pública se usa comprimida */
+    private static final byte WIF_COMPRESSED_SUFFIX = 0x01;
+
+    /** Claves por bloque de normalización conjunta en las APIs de lote */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Genera una clave privada mediante doble hash SHA-256 de la semilla.
+     * 
+     * Proceso: PrivateKey = SHA256(SHA256(seed))
+     * 
+     * @param seed Bytes de la semilla (texto o archivo)
+     * @return Clave privada de 32 bytes
+     */
+    public static byte[] generatePrivateKey(byte[] seed) {
+        // Doble pasada SHA-256 con el digest reutilizable del hilo
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.SEED_HASH);
+        try {
+            return HashUtils.doubleSha256(seed);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.SEED_HASH, start, 1);
+        }
+    }
+
+    /**
+     * Completa la generación de clave privada a partir del primer SHA-256 de
+     * la semilla (calculado en streaming para archivos grandes).
+     * 
+     * Proceso: PrivateKey = SHA256(seedDigest), con seedDigest = SHA256(seed)
+     * 
+     * @param seedDigest SHA-256 de la semilla (32 bytes)
+     * @return Clave privada de 32 bytes, igual a generatePrivateKey(seed)
+     */
+    public static byte[] generatePrivateKeyFromSeedDigest(byte[] seedDigest) {
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.SEED_HASH);
+        try {
+            return HashUtils.sha256(seedDigest);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.SEED_HASH, start, 1);
+        }
+    }
+
+    /**
+     * Deriva la clave pública desde la clave privada usando ECDSA secp256k1.
+     * 
+     * Proceso:
+     * 1. Interpreta privateKey como escalar de 256 bits
+     * 2. Multiplica punto generador G por privateKey con el motor de
+     *    {@link CryptoBackends#ec()} (tabla precalculada de base fija de
+     *    Bouncy Castle por defecto)
+     * 3. Retorna punto público en formato no comprimido (65 bytes)
+     * 
+     * Las claves que no miden 32 bytes y las congruentes con 0 módulo n
+     * siguen el camino genérico de Bouncy Castle (esta última da el punto
+     * en el infinito, codificado como un único byte 0x00).
+     * 
+     * @param privateKey Clave privada de 32 bytes
+     * @return Clave pública no comprimida (65 bytes: 0x04 + X + Y)
+     */
+    public static byte[] derivePublicKey(byte[] privateKey) {
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.EC_MULTIPLY);
+        try {
+            if (privateKey.length != FixedBaseMultiplier.SCALAR_LENGTH) {
+                return encodeGeneric(privateKey);
+            }
+
+            byte[] publicKey = new byte[UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+            try {
+                CryptoBackends.ec().derivePublicKey(privateKey, 0, publicKey, 0);
+            } catch (IllegalArgumentException e) {
+                return encodeGeneric(privateKey);
+            }
+            return publicKey;
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.EC_MULTIPLY, start, 1);
+        }
+    }
+
+    private static byte[] encodeGeneric(byte[] privateKey) {
+        return FixedBaseMultiplier.getInstance().multiply(privateKey).getEncoded(false);
+    }
+
+    /**
+     * Deriva las claves públicas de un lote de claves privadas.
+     * 
+     * Las claves se pasan al motor de {@link CryptoBackends#ec()} en bloques,
+     * que normaliza cada bloque con una única inversión de campo compartida
+     * (truco de Montgomery) en lugar de una inversión por clave. Un bloque
+     * con alguna clave fuera de lo habitual (longitud distinta de 32 bytes
+     * o congruente con 0 módulo n) se deriva clave a clave.
+     * 
+     * @param privateKeys Claves privadas de 32 bytes
+     * @return Claves públicas no comprimidas, idénticas a
+     *         {@link #derivePublicKey(byte[])} para cada entrada
+     */
+    public static byte[][] derivePublicKeys(byte[][] privateKeys) {
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.EC_MULTIPLY);
+        try {
+            return derivePublicKeysInternal(privateKeys);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.EC_MULTIPLY, start, privateKeys.length);
+        }
+    }
+
+    private static byte[][] derivePublicKeysInternal(byte[][] privateKeys) {
+        EcEngine engine = CryptoBackends.ec();
+        byte[][] publicKeys = new byte[privateKeys.length][];
+        int capacity = Math.min(BATCH_SIZE, privateKeys.length);
+        byte[] scalars = new byte[capacity * FixedBaseMultiplier.SCALAR_LENGTH];
+        byte[] points = new byte[capacity * UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+
+        try {
+            for (int start = 0; start < privateKeys.length; start += BATCH_SIZE) {
+                int count = Math.min(BATCH_SIZE, privateKeys.length - start);
+
+                if (packScalars(privateKeys, start, count, scalars)) {
+                    try {
+                        engine.derivePublicKeys(scalars, 0, points, 0, count);
+                        for (int i = 0; i < count; i++) {
+                            int offset = i * UNCOMPRESSED_PUBLIC_KEY_LENGTH;
+                            publicKeys[start + i] = Arrays.copyOfRange(points, offset,
+                                    offset + UNCOMPRESSED_PUBLIC_KEY_LENGTH);
+                        }
+                        continue;
+                    } catch (IllegalArgumentException e) {
+                        // Algún punto en el infinito: se resuelve clave a clave
+                    }
+                }
+
+                for (int i = 0; i < count; i++) {
+                    publicKeys[start + i] = encodeGeneric(privateKeys[start + i]);
+                }
+            }
+        } finally {
+            Arrays.fill(scalars, (byte) 0);
+        }
+
+        return publicKeys;
+    }
+
+    private static boolean packScalars(byte[][] privateKeys, int start, int count, byte[] scalars) {
+        for (int i = 0; i < count; i++) {
+            byte[] privateKey = privateKeys[start + i];
+            if (privateKey.length != FixedBaseMultiplier.SCALAR_LENGTH) {
+                return false;
+            }
+            System.arraycopy(privateKey, 0, scalars, i * FixedBaseMultiplier.SCALAR_LENGTH,
+                    FixedBaseMultiplier.SCALAR_LENGTH);
+        }
+        return true;
+    }
+
+    /**
+     * Variante sobre buffers de {@link #derivePublicKeys(byte[][])}.
+     * 
+     * Lee {@code count} claves privadas consecutivas de 32 bytes y escribe
+     * {@code count} claves públicas no comprimidas consecutivas de 65 bytes,
+     * sin crear un array por clave.
+     * 
+     * Una clave congruente con 0 módulo n no hace fallar el lote: como en
+     * {@link #derivePublicKey(byte[])}, su clave pública es el punto en el
+     * infinito (byte 0x00), que ocupa su hueco seguido de ceros. El resto
+     * del lote se deriva clave a clave. La longitud útil de cada hueco la da
+     * {@link #publicKeyLength(byte[], int)}.
+     * 
+     * @param privateKeys       Buffer con las claves privadas
+     * @param privateKeysOffset Posición de la primera clave privada
+     * @param publicKeys        Buffer de salida (65 * count bytes libres)
+     * @param publicKeysOffset  Posición donde escribir la primera clave pública
+     * @param count             Número de claves a derivar
+     */
+    public static void derivePublicKeys(byte[] privateKeys, int privateKeysOffset,
+            byte[] publicKeys, int publicKeysOffset, int count) {
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.EC_MULTIPLY);
+        try {
+            EcEngine engine = CryptoBackends.ec();
+            try {
+                engine.derivePublicKeys(privateKeys, privateKeysOffset, publicKeys, publicKeysOffset, count);
+            } catch (IllegalArgumentException e) {
+                // Algún punto en el infinito: se resuelve clave a clave
+                for (int i = 0; i < count; i++) {
+                    int offset = publicKeysOffset + i * UNCOMPRESSED_PUBLIC_KEY_LENGTH;
+                    try {
+                        engine.derivePublicKey(privateKeys, privateKeysOffset + i * FixedBaseMultiplier.SCALAR_LENGTH,
+                                publicKeys, offset);
+                    } catch (IllegalArgumentException infinity) {
+                        Arrays.fill(publicKeys, offset, offset + UNCOMPRESSED_PUBLIC_KEY_LENGTH, (byte) 0);
+                    }
+                }
+            }
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.EC_MULTIPLY, start, count);
+        }
+    }
+
+    /**
+     * Longitud útil de una clave pública guardada en un hueco de tamaño fijo
+     * de los lotes.
+     * 
+     * @param publicKeys Buffer con la clave pública
+     * @param offset     Posición de la clave (su prefijo)
+     * @return 1 para el punto en el infinito (0x00), 33 para una clave
+     *         comprimida y 65 para una no comprimida
+     */
+    public static int publicKeyLength(byte[] publicKeys, int offset) {
+        switch (publicKeys[offset]) {
+            case 0x00:
+                return 1;
+            case 0x02:
+            case 0x03:
+                return COMPRESSED_PUBLIC_KEY_LENGTH;
+            default:
+                return UNCOMPRESSED_PUBLIC_KEY_LENGTH;
+        }
+    }
+
+    /**
+     * Comprime una clave pública sin volver a multiplicar: el prefijo 0x02
+     * o 0x03 indica la paridad de Y y le sigue X.
+     * 
+     * @param publicKey Clave pública no comprimida (65 bytes); cualquier
+     *                  otra codificación (ya comprimida, o el punto en el
+     *                  infinito) se devuelve copiada sin cambios
+     * @return Clave pública comprimida (33 bytes)
+     */
+    public static byte[] compressPublicKey(byte[] publicKey) {
+        if (publicKey.length != UNCOMPRESSED_PUBLIC_KEY_LENGTH) {
+            return publicKey.clone();
+        }
+        byte[] compressed = new byte[COMPRESSED_PUBLIC_KEY_LENGTH];
+        compressPublicKey(publicKey, 0, compressed, 0);
+        return compressed;
+    }
+
+    /**
+     * Variante sobre buffers de {@link #compressPublicKey(byte[])}.
+     * 
+     * El punto en el infinito de los lotes (0x00) se copia igual, seguido
+     * de ceros.
+     * 
+     * @param src       Buffer con la clave pública no comprimida
+     * @param srcOffset Posición de la clave (byte 0x04)
+     * @param dst       Buffer de salida (33 bytes libres)
+     * @param dstOffset Posición donde escribir la clave comprimida
+     * @throws IllegalArgumentException Si la clave no empieza por 0x04 ni
+     *                                  es el punto en el infinito
+     */
+    public static void compressPublicKey(byte[] src, int srcOffset, byte[] dst, int dstOffset) {
+        if (src[srcOffset] == 0x00) {
+            Arrays.fill(dst, dstOffset, dstOffset + COMPRESSED_PUBLIC_KEY_LENGTH, (byte) 0);
+            return;
+        }
+        if (src[srcOffset] != 0x04) {
+            throw new IllegalArgumentException("Clave pública no comprimida inválida");
+        }
+        dst[dstOffset] = (byte) (0x02 | (src[srcOffset + UNCOMPRESSED_PUBLIC_KEY_LENGTH - 1] & 1));
+        System.arraycopy(src, srcOffset + 1, dst, dstOffset + 1, COMPRESSED_PUBLIC_KEY_LENGTH - 1);
+    }
+
+    /**
+     * Genera dirección Bitcoin desde la clave pública.
+     * 
+     * Proceso:
+     * 1. SHA256(publicKey)
+     * 2. RIPEMD160(hash anterior)
+     * 3. Agregar version byte 0x00 (mainnet)
+     * 4. Base58Check encode
+     * 
+     * La dirección depende de la codificación: la de la clave comprimida
+     * (33 bytes) es distinta de la de la no comprimida (65 bytes).
+     * 
+     * @param publicKey Clave pública (65 bytes no comprimida o 33 comprimida)
+     * @return Dirección Bitcoin en formato Base58Check
+     */
+    public static String generateAddress(byte[] publicKey) {
+        // Version byte 0x00 para mainnet + RIPEMD160(SHA256(publicKey))
+        byte[] payload = new byte[1 + HashUtils.HASH160_LENGTH];
+        payload[0] = (byte) 0x00;
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.HASH160);
+        try {
+            HashUtils.hash160(publicKey, 0, publicKey.length, payload, 1);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.HASH160, start, 1);
+        }
+
+        // Codificar en Base58Check
+        return encodeBase58Check(payload);
+    }
+
+    /**
+     * Genera la dirección SegWit nativa P2WPKH (bech32, versión 0): el
+     * programa es el HASH160 de la clave pública comprimida.
+     * 
+     * @param publicKey Clave pública (65 bytes no comprimida o 33 comprimida)
+     * @return Dirección "bc1q..."
+     */
+    public static String generateP2wpkhAddress(byte[] publicKey) {
+        byte[] compressed = compressPublicKey(publicKey);
+        byte[] program = new byte[HashUtils.HASH160_LENGTH];
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.HASH160);
+        try {
+            HashUtils.hash160(compressed, 0, compressed.length, program, 0);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.HASH160, start, 1);
+        }
+        return encodeSegwitAddress(0, program);
+    }
+
+    /**
+     * Genera la dirección Taproot P2TR (bech32m, versión 1) de gasto solo
+     * por clave: el programa es la clave de salida ajustada según BIP341
+     * ({@link TaprootUtils}), sin árbol de scripts.
+     * 
+     * @param publicKey Clave pública interna (65 bytes o 33 comprimida)
+     * @return Dirección "bc1p..."
+     */
+    public static String generateP2trAddress(byte[] publicKey) {
+        return encodeSegwitAddress(1, TaprootUtils.outputKey(publicKey));
+    }
+
+    private static String encodeSegwitAddress(int witnessVersion, byte[] program) {
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.BECH32);
+        try {
+            return Bech32Utils.encodeSegwitAddress(Bech32Utils.MAINNET_HRP, witnessVersion, program);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.BECH32, start, 1);
+        }
+    }
+
+    /**
+     * Genera WIF (Wallet Import Format) desde la clave privada.
+     * 
+     * Proceso:
+     * 1. Agregar version byte 0x80 (mainnet)
+     * 2. Base58Check encode
+     * 
+     * @param privateKey Clave privada de 32 bytes
+     * @return WIF en formato Base58Check
+     */
+    public static String generateWIF(byte[] privateKey) {
+        return generateWIF(privateKey, false);
+    }
+
+    /**
+     * Genera WIF desde la clave privada, indicando si la cartera usa la
+     * clave pública comprimida (sufijo 0x01; el WIF empieza por 'K' o 'L'
+     * en lugar de '5').
+     * 
+     * @param privateKey Clave privada de 32 bytes
+     * @param compressed true para el WIF de clave comprimida
+     * @return WIF en formato Base58Check
+     */
+    public static String generateWIF(byte[] privateKey, boolean compressed) {
+        // Agregar version byte 0x80 para mainnet WIF
+        byte[] payload = new byte[1 + privateKey.length + (compressed ? 1 : 0)];
+        payload[0] = (byte) 0x80;
+        System.arraycopy(privateKey, 0, payload, 1, privateKey.length);
+        if (compressed) {
+            payload[payload.length - 1] = WIF_COMPRESSED_SUFFIX;
+        }
+
+        // Codificar en Base58Check
+        try {
+            return encodeBase58Check(payload);
+        } finally {
+            Arrays.fill(payload, (byte) 0);
+        }
+    }
+
+    private static String encodeBase58Check(byte[] payload) {
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.BASE58);
+        try {
+            return Base58Utils.encodeBase58Check(payload);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.BASE58, start, 1);
+        }
+    }
+
+    /**
+     * Convierte bytes a representación hexadecimal.
+     * 
+     * @param bytes Bytes a convertir
+     * @return String hexadecimal (minúsculas)
+     */
+    public static String bytesToHex(byte[] bytes) {
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.HEX);
+        try {
+            return HexUtils.encode(bytes);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.HEX, start, 1);
+        }
+    }
+
+    /**
+     * Convierte string hexadecimal a bytes.
+     * 
+     * @param hex String hexadecimal
+     * @return Array de bytes
+     * @throws IllegalArgumentException Si la longitud es impar o hay un
+     *                                  carácter no hexadecimal
+     */
+    public static byte[] hexToBytes(String hex) {
+        return HexUtils.decode(hex);
+    }
+}
@@ -0,0 +1,269 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.metrics.PipelineMetrics;
+
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.custom.sec.SecP256K1Curve;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Multiplicador de base fija para el punto generador G de secp256k1.
+ *
+ * Precalcula una sola vez (de forma perezosa) una tabla de ventanas fijas
+ * con los múltiplos d * 2^(8i) * G para cada ventana i de 8 bits y cada
+ * dígito d en 1..255. Con la tabla, k * G se reduce a como máximo 32 sumas
+ * mixtas (Jacobiano + afín) sin ninguna duplicación.
+ *
+ * La tabla es inmutable y se comparte entre todos los hilos del proceso.
+ * Si se indica un archivo de tabla ({@link #setTableFile(File)} o la
+ * propiedad {@value #TABLE_FILE_PROPERTY}), se mapea en memoria en lugar
+ * de recalcularla y cada punto se decodifica en su primer uso: la primera
+ * clave solo toca las 32 entradas que necesita. El contenido del archivo
+ * se compara con el hash conocido de la tabla ({@link FixedBaseTableFile}),
+ * y se reescribe si falta o no coincide.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class FixedBaseMultiplier {
+
+    /** Bits por ventana de la tabla */
+    public static final int WINDOW_BITS = 8;
+
+    /** Número de ventanas para un escalar de 256 bits */
+    public static final int WINDOWS = 256 / WINDOW_BITS;
+
+    /** Puntos precalculados por ventana (se omite el dígito 0) */
+    public static final int POINTS_PER_WINDOW = (1 << WINDOW_BITS) - 1;
+
+    /** Longitud en bytes de un escalar de secp256k1 */
+    public static final int SCALAR_LENGTH = 32;
+
+    /** Propiedad del sistema con la ruta del archivo de la tabla */
+    public static final String TABLE_FILE_PROPERTY = "com.diamon.criptografia.tableFile";
+
+    /** Punto generador G sin comprimir */
+    private static final String GENERATOR =
+            "0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"
+                    + "483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8";
+
+    private static volatile File tableFile;
+
+    private final ECCurve curve;
+    private final ECPoint generator;
+    private final BigInteger order;
+
+    /** Tabla afín: índice = ventana * POINTS_PER_WINDOW + (dígito - 1) */
+    private final AtomicReferenceArray<ECPoint> table;
+
+    /** Archivo mapeado del que se decodifican los puntos, o null si la tabla se construyó */
+    private final ByteBuffer tableData;
+
+    /**
+     * Inicialización perezosa y segura entre hilos (holder idiom).
+     */
+    private static class Holder {
+        static final FixedBaseMultiplier INSTANCE = new FixedBaseMultiplier(resolveTableFile());
+    }
+
+    FixedBaseMultiplier(File file) {
+        // Curva creada directamente: CustomNamedCurves inicializa su
+        // catálogo completo en el primer uso
+        this.curve = new SecP256K1Curve();
+        this.generator = curve.decodePoint(HexUtils.decode(GENERATOR));
+        this.order = curve.getOrder();
+
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.TABLE_INIT);
+        try {
+            ByteBuffer data = file != null ? FixedBaseTableFile.open(file) : null;
+            if (data != null) {
+                this.table = new AtomicReferenceArray<>(WINDOWS * POINTS_PER_WINDOW);
+                this.tableData = data;
+            } else {
+                ECPoint[] points = buildTable(generator);
+                this.table = new AtomicReferenceArray<>(points);
+                this.tableData = null;
+                if (file != null) {
+                    FixedBaseTableFile.write(file, points);
+                }
+            }
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.TABLE_INIT, start, 1);
+        }
+    }
+
+    /**
+     * Indica el archivo donde persistir la tabla. Solo tiene efecto antes
+     * del primer {@link #getInstance()}; tiene prioridad sobre
+     * {@link #TABLE_FILE_PROPERTY}.
+     *
+     * @param file Archivo de la tabla, o null para no persistirla
+     */
+    public static void setTableFile(File file) {
+        tableFile = file;
+    }
+
+    private static File resolveTableFile() {
+        File file = tableFile;
+        if (file != null) {
+            return file;
+        }
+        String path = System.getProperty(TABLE_FILE_PROPERTY);
+        return path != null ? new File(path) : null;
+    }
+
+    /**
+     * Crea un multiplicador propio, independiente de la instancia
+     * compartida, con la tabla del archivo indicado. Si el archivo falta o
+     * no es válido, la tabla se construye y se escribe en él.
+     *
+     * @param file Archivo de la tabla, o null para construirla sin persistirla
+     * @return Multiplicador de base fija para secp256k1
+     */
+    public static FixedBaseMultiplier create(File file) {
+        return new FixedBaseMultiplier(file);
+    }
+
+    /**
+     * Retorna la instancia compartida, construyendo la tabla en el primer uso.
+     *
+     * @return Multiplicador de base fija para secp256k1
+     */
+    public static FixedBaseMultiplier getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Construye la tabla de ventanas fijas y la normaliza con una sola
+     * inversión compartida.
+     */
+    private ECPoint[] buildTable(ECPoint g) {
+        ECPoint[] points = new ECPoint[WINDOWS * POINTS_PER_WINDOW];
+        ECPoint base = g;
+
+        for (int window = 0; window < WINDOWS; window++) {
+            int offset = window * POINTS_PER_WINDOW;
+            ECPoint acc = base;
+            points[offset] = acc;
+
+            for (int digit = 2; digit <= POINTS_PER_WINDOW; digit++) {
+                acc = acc.add(base);
+                points[offset + digit - 1] = acc;
+            }
+
+            // Base de la siguiente ventana: 2^WINDOW_BITS * base
+            base = acc.add(base).normalize();
+        }
+
+        // Normalizar todos los puntos con el truco de Montgomery
+        curve.normalizeAll(points);
+        return points;
+    }
+
+    private ECPoint point(int index) {
+        ECPoint point = table.get(index);
+        if (point == null) {
+            // Carrera benigna: dos hilos pueden decodificar el mismo punto
+            point = FixedBaseTableFile.decodePoint(tableData, index, curve);
+            table.set(index, point);
+        }
+        return point;
+    }
+
+    /**
+     * Multiplica G por el escalar sin normalizar el resultado.
+     *
+     * El punto retornado queda en coordenadas Jacobianas; permite que el
+     * llamador normalice varios resultados juntos.
+     *
+     * @param privateKey Escalar big-endian (normalmente 32 bytes)
+     * @return Punto k * G en coordenadas Jacobianas
+     */
+    public ECPoint multiplyRaw(byte[] privateKey) {
+        return multiplyRaw(toScalarBytes(privateKey), 0);
+    }
+
+    /**
+     * Multiplica G por un escalar de 32 bytes leído desde un buffer, sin
+     * normalizar el resultado.
+     *
+     * @param buffer Buffer que contiene el escalar big-endian
+     * @param offset Posición del primer byte del escalar
+     * @return Punto k * G en coordenadas Jacobianas
+     */
+    public ECPoint multiplyRaw(byte[] buffer, int offset) {
+        ECPoint acc = curve.getInfinity();
+
+        // El byte menos significativo corresponde a la ventana 0
+        int last = offset + SCALAR_LENGTH - 1;
+        for (int i = 0; i < SCALAR_LENGTH; i++) {
+            int digit = buffer[last - i] & 0xFF;
+            if (digit != 0) {
+                acc = acc.add(point(i * POINTS_PER_WINDOW + digit - 1));
+            }
+        }
+
+        return acc;
+    }
+
+    /**
+     * Multiplica G por el escalar y normaliza el resultado.
+     *
+     * @param privateKey Escalar big-endian (normalmente 32 bytes)
+     * @return Punto k * G en coordenadas afines
+     */
+    public ECPoint multiply(byte[] privateKey) {
+        return multiplyRaw(privateKey).normalize();
+    }
+
+    /**
+     * Convierte el escalar a exactamente 32 bytes.
+     * Escalares de otra longitud se reducen módulo n, igual que hace
+     * Bouncy Castle en la multiplicación genérica.
+     */
+    private byte[] toScalarBytes(byte[] privateKey) {
+        if (privateKey.length == SCALAR_LENGTH) {
+            return privateKey;
+        }
+
+        BigInteger d = new BigInteger(1, privateKey).mod(order);
+        byte[] encoded = d.toByteArray();
+        byte[] scalar = new byte[SCALAR_LENGTH];
+        int length = Math.min(encoded.length, SCALAR_LENGTH);
+        System.arraycopy(encoded, encoded.length - length, scalar, SCALAR_LENGTH - length, length);
+        return scalar;
+    }
+
+    /**
+     * @return true si la tabla se cargó del archivo en lugar de construirse
+     */
+    public boolean isTableLoaded() {
+        return tableData != null;
+    }
+
+    /**
+     * @return Curva secp256k1 usada por la tabla
+     */
+    public ECCurve getCurve() {
+        return curve;
+    }
+
+    /**
+     * @return Punto generador G normalizado
+     */
+    public ECPoint getGenerator() {
+        return generator;
+    }
+
+    /**
+     * @return Orden n del grupo
+     */
+    public BigInteger getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,198 @@
+package com.diamon.criptografia;
+
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+
+/**
+ * Archivo con la tabla precalculada de {@link FixedBaseMultiplier}.
+ *
+ * Estructura (enteros big-endian):
+ *
+ * <pre>
+ * Cabecera (32 bytes)
+ *   0  magic              "BWGT"
+ *   4  versión            u16
+ *   6  bits por ventana   u16
+ *   8  ventanas           u16
+ *   10 puntos por ventana u16
+ *   12 longitud coordenada u16
+ *   14 reservado          14 bytes a cero
+ *   28 CRC32              de los bytes 0..27
+ *
+ * Puntos afines en el orden de la tabla: X || Y, 64 bytes cada uno
+ * </pre>
+ *
+ * La tabla de G es siempre la misma, así que al abrirlo se mapea en
+ * memoria y el SHA-256 de los puntos se compara con el de la tabla
+ * correcta ({@link #POINTS_SHA256}): un archivo que lo supera contiene
+ * exactamente esos bytes, sin depender de un checksum que cualquiera puede
+ * recalcular. Cuesta un par de milisegundos, y los puntos se decodifican
+ * después, uno a uno, desde el mapeo. Al escribirlo se crea primero un
+ * temporal en el mismo directorio que luego se renombra, para que nunca
+ * quede a medias. Un archivo ausente, truncado, de otra versión o con
+ * otro contenido se ignora: el llamador reconstruye la tabla.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+final class FixedBaseTableFile {
+
+    /** "BWGT" */
+    static final int MAGIC = 0x42574754;
+
+    /** Versión actual del formato */
+    static final int VERSION = 2;
+
+    static final int HEADER_LENGTH = 32;
+
+    private static final int COORDINATE_LENGTH = 32;
+    private static final int POINT_LENGTH = 2 * COORDINATE_LENGTH;
+    private static final int POINT_COUNT = FixedBaseMultiplier.WINDOWS * FixedBaseMultiplier.POINTS_PER_WINDOW;
+    private static final int HEADER_CRC_OFFSET = 28;
+
+    /** SHA-256 de los puntos de la tabla de G (8 bits por ventana) */
+    private static final String POINTS_SHA256 =
+            "063ba44b38195e8af0d2eb0e2c570d9939e4df16633c19b7c03e54d40eea92dd";
+
+    /** Bytes leídos por vuelta al calcular el hash */
+    private static final int CHUNK_LENGTH = 16 * 1024;
+
+    /** Longitud total del archivo */
+    static final int FILE_LENGTH = HEADER_LENGTH + POINT_COUNT * POINT_LENGTH;
+
+    private FixedBaseTableFile() {
+    }
+
+    /**
+     * Mapea el archivo en memoria y valida cabecera y contenido.
+     *
+     * @param file Archivo de la tabla
+     * @return Contenido mapeado (solo lectura), o null si el archivo no
+     *         existe o no es válido
+     */
+    static ByteBuffer open(File file) {
+        if (!file.isFile() || file.length() != FILE_LENGTH) {
+            return null;
+        }
+
+        // El mapeo sigue siendo válido después de cerrar el canal
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_LENGTH);
+
+            byte[] chunk = new byte[CHUNK_LENGTH];
+            ByteBuffer reader = data.duplicate();
+            reader.get(chunk, 0, HEADER_LENGTH);
+            ByteBuffer header = ByteBuffer.wrap(chunk, 0, HEADER_LENGTH);
+            if (header.getInt(0) != MAGIC
+                    || header.getShort(4) != VERSION
+                    || header.getShort(6) != FixedBaseMultiplier.WINDOW_BITS
+                    || header.getShort(8) != FixedBaseMultiplier.WINDOWS
+                    || header.getShort(10) != FixedBaseMultiplier.POINTS_PER_WINDOW
+                    || header.getShort(12) != COORDINATE_LENGTH
+                    || header.getInt(HEADER_CRC_OFFSET) != crc32(chunk, 0, HEADER_CRC_OFFSET)) {
+                return null;
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            while (reader.hasRemaining()) {
+                int length = Math.min(CHUNK_LENGTH, reader.remaining());
+                reader.get(chunk, 0, length);
+                digest.update(chunk, 0, length);
+            }
+            return MessageDigest.isEqual(HexUtils.decode(POINTS_SHA256), digest.digest()) ? data : null;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decodifica un punto de la tabla mapeada.
+     *
+     * @param data  Contenido devuelto por {@link #open(File)}
+     * @param index Índice del punto en la tabla
+     * @param curve Curva del punto
+     * @return Punto afín
+     */
+    static ECPoint decodePoint(ByteBuffer data, int index, ECCurve curve) {
+        ByteBuffer reader = data.duplicate();
+        reader.position(HEADER_LENGTH + index * POINT_LENGTH);
+        byte[] coordinate = new byte[COORDINATE_LENGTH];
+        reader.get(coordinate);
+        BigInteger x = new BigInteger(1, coordinate);
+        reader.get(coordinate);
+        BigInteger y = new BigInteger(1, coordinate);
+        return curve.createPoint(x, y);
+    }
+
+    /**
+     * Escribe la tabla de forma atómica (temporal + renombrado).
+     *
+     * @param file   Archivo destino
+     * @param points Puntos afines (normalizados) de la tabla
+     * @return true si el archivo quedó escrito
+     */
+    static boolean write(File file, ECPoint[] points) {
+        byte[] bytes = new byte[FILE_LENGTH];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putShort((short) FixedBaseMultiplier.WINDOW_BITS);
+        buffer.putShort((short) FixedBaseMultiplier.WINDOWS);
+        buffer.putShort((short) FixedBaseMultiplier.POINTS_PER_WINDOW);
+        buffer.putShort((short) COORDINATE_LENGTH);
+
+        for (int i = 0; i < POINT_COUNT; i++) {
+            int offset = HEADER_LENGTH + i * POINT_LENGTH;
+            points[i].getAffineXCoord().encodeTo(bytes, offset);
+            points[i].getAffineYCoord().encodeTo(bytes, offset + COORDINATE_LENGTH);
+        }
+        buffer.putInt(HEADER_CRC_OFFSET, crc32(bytes, 0, HEADER_CRC_OFFSET));
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        File temp = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                return false;
+            }
+            temp = File.createTempFile(file.getName(), ".tmp", directory);
+            try (RandomAccessFile raf = new RandomAccessFile(temp, "rw");
+                    FileChannel channel = raf.getChannel()) {
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            // Algunos sistemas no renombran sobre un archivo existente
+            if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+                return false;
+            }
+            temp = null;
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    private static int crc32(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,93 @@
+package com.diamon.criptografia;
+
+/**
+ * Motor de hashing reutilizable para SHA-256, doble SHA-256 y HASH160.
+ *
+ * Delega en el backend de {@link CryptoBackends#hash()} (digests de Bouncy
+ * Castle por defecto en Android, SHA-256 de la plataforma en la JVM). Los
+ * métodos con offset escriben en buffers del llamador, sin arrays
+ * temporales.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class HashUtils {
+
+    /** Longitud de un hash SHA-256 */
+    public static final int SHA256_LENGTH = 32;
+
+    /** Longitud de un hash RIPEMD-160 / HASH160 */
+    public static final int HASH160_LENGTH = 20;
+
+    private HashUtils() {
+    }
+
+    /**
+     * SHA-256 de un rango del buffer de entrada.
+     *
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida (32 bytes libres)
+     * @param dstOffset Posición donde escribir el hash
+     */
+    public static void sha256(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        CryptoBackends.hash().sha256(src, offset, length, dst, dstOffset);
+    }
+
+    /**
+     * SHA256(SHA256(datos)) de un rango del buffer de entrada.
+     *
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida (32 bytes libres)
+     * @param dstOffset Posición donde escribir el hash
+     */
+    public static void doubleSha256(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        CryptoBackends.hash().doubleSha256(src, offset, length, dst, dstOffset);
+    }
+
+    /**
+     * HASH160 = RIPEMD160(SHA256(datos)) de un rango del buffer de entrada.
+     *
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida (20 bytes libres)
+     * @param dstOffset Posición donde escribir el hash
+     */
+    public static void hash160(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        CryptoBackends.hash().hash160(src, offset, length, dst, dstOffset);
+    }
+
+    /**
+     * @param data Datos de entrada
+     * @return SHA-256 de los datos (32 bytes)
+     */
+    public static byte[] sha256(byte[] data) {
+        byte[] hash = new byte[SHA256_LENGTH];
+        sha256(data, 0, data.length, hash, 0);
+        return hash;
+    }
+
+    /**
+     * @param data Datos de entrada
+     * @return SHA256(SHA256(datos)) (32 bytes)
+     */
+    public static byte[] doubleSha256(byte[] data) {
+        byte[] hash = new byte[SHA256_LENGTH];
+        doubleSha256(data, 0, data.length, hash, 0);
+        return hash;
+    }
+
+    /**
+     * @param data Datos de entrada
+     * @return RIPEMD160(SHA256(datos)) (20 bytes)
+     */
+    public static byte[] hash160(byte[] data) {
+        byte[] hash = new byte[HASH160_LENGTH];
+        hash160(data, 0, data.length, hash, 0);
+        return hash;
+    }
+}
@@ -0,0 +1,213 @@
+package com.diamon.criptografia;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Codificación y decodificación hexadecimal basada en tablas.
+ *
+ * Reemplaza {@code String.format("%02x", b)} por byte: sin Formatter, sin
+ * boxing y sin Strings temporales. Las variantes con offset escriben en
+ * buffers del llamador y la decodificación valida cada carácter.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class HexUtils {
+
+    /** Dígitos hexadecimales en minúsculas */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /** Tabla inversa ASCII -> valor (-1 si el carácter no es hexadecimal) */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private HexUtils() {
+    }
+
+    /**
+     * Convierte bytes a hexadecimal en minúsculas.
+     *
+     * @param bytes Bytes a convertir
+     * @return String hexadecimal
+     */
+    public static String encode(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        encode(bytes, 0, bytes.length, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Escribe la representación hexadecimal en un buffer de caracteres.
+     *
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida (2 * length caracteres libres)
+     * @param dstOffset Posición donde escribir el primer carácter
+     * @return Número de caracteres escritos
+     */
+    public static int encode(byte[] src, int offset, int length, char[] dst, int dstOffset) {
+        int out = dstOffset;
+        for (int i = offset; i < offset + length; i++) {
+            int b = src[i] & 0xFF;
+            dst[out++] = HEX_DIGITS[b >>> 4];
+            dst[out++] = HEX_DIGITS[b & 0x0F];
+        }
+        return length * 2;
+    }
+
+    /**
+     * Escribe la representación hexadecimal como ASCII en un buffer de bytes.
+     *
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida (2 * length bytes libres)
+     * @param dstOffset Posición donde escribir el primer carácter
+     * @return Número de bytes escritos
+     */
+    public static int encode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int out = dstOffset;
+        for (int i = offset; i < offset + length; i++) {
+            int b = src[i] & 0xFF;
+            dst[out++] = (byte) HEX_DIGITS[b >>> 4];
+            dst[out++] = (byte) HEX_DIGITS[b & 0x0F];
+        }
+        return length * 2;
+    }
+
+    /**
+     * Agrega la representación hexadecimal a un Appendable (StringBuilder,
+     * Writer, ...).
+     *
+     * @param src    Buffer de entrada
+     * @param offset Posición del primer byte
+     * @param length Número de bytes
+     * @param out    Destino
+     * @throws IOException Si el destino falla al escribir
+     */
+    public static void encode(byte[] src, int offset, int length, Appendable out) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            int b = src[i] & 0xFF;
+            out.append(HEX_DIGITS[b >>> 4]);
+            out.append(HEX_DIGITS[b & 0x0F]);
+        }
+    }
+
+    /**
+     * Codifica en lote registros de longitud fija consecutivos.
+     *
+     * @param src          Buffer con {@code count} registros consecutivos
+     * @param offset       Posición del primer registro
+     * @param recordLength Bytes por registro
+     * @param count        Número de registros
+     * @param dst          Buffer de salida (2 * recordLength * count
+     *                     caracteres libres)
+     * @param dstOffset    Posición donde escribir el primer carácter
+     * @return Número de caracteres escritos
+     */
+    public static int encodeAll(byte[] src, int offset, int recordLength, int count, char[] dst, int dstOffset) {
+        return encode(src, offset, recordLength * count, dst, dstOffset);
+    }
+
+    /**
+     * Codifica en lote varios arrays de bytes.
+     *
+     * @param values Arrays a convertir
+     * @return Un String hexadecimal por cada array
+     */
+    public static String[] encodeAll(byte[][] values) {
+        String[] result = new String[values.length];
+        int maxLength = 0;
+        for (byte[] value : values) {
+            maxLength = Math.max(maxLength, value.length);
+        }
+
+        // Un único buffer de caracteres compartido por todo el lote
+        char[] chars = new char[maxLength * 2];
+        for (int i = 0; i < values.length; i++) {
+            int length = encode(values[i], 0, values[i].length, chars, 0);
+            result[i] = new String(chars, 0, length);
+        }
+        return result;
+    }
+
+    /**
+     * Convierte hexadecimal a bytes validando la entrada.
+     *
+     * @param hex Cadena hexadecimal (mayúsculas o minúsculas)
+     * @return Array de bytes
+     * @throws IllegalArgumentException Si la longitud es impar o hay un
+     *                                  carácter no hexadecimal
+     */
+    public static byte[] decode(CharSequence hex) {
+        checkEvenLength(hex);
+        byte[] data = new byte[hex.length() / 2];
+        decode(hex, data, 0);
+        return data;
+    }
+
+    /**
+     * Convierte hexadecimal a bytes en un buffer del llamador.
+     *
+     * @param hex       Cadena hexadecimal (mayúsculas o minúsculas)
+     * @param dst       Buffer de salida (hex.length() / 2 bytes libres)
+     * @param dstOffset Posición donde escribir el primer byte
+     * @return Número de bytes escritos
+     * @throws IllegalArgumentException Si la longitud es impar o hay un
+     *                                  carácter no hexadecimal
+     */
+    public static int decode(CharSequence hex, byte[] dst, int dstOffset) {
+        checkEvenLength(hex);
+        int length = hex.length();
+        int out = dstOffset;
+
+        for (int i = 0; i < length; i += 2) {
+            int high = digit(hex, i);
+            int low = digit(hex, i + 1);
+            dst[out++] = (byte) ((high << 4) | low);
+        }
+        return length / 2;
+    }
+
+    /**
+     * Convierte en lote varias cadenas hexadecimales.
+     *
+     * @param values Cadenas hexadecimales
+     * @return Un array de bytes por cada cadena
+     * @throws IllegalArgumentException Si alguna cadena no es válida
+     */
+    public static byte[][] decodeAll(CharSequence[] values) {
+        byte[][] result = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = decode(values[i]);
+        }
+        return result;
+    }
+
+    private static void checkEvenLength(CharSequence hex) {
+        if ((hex.length() & 1) != 0) {
+            throw new IllegalArgumentException("Longitud hexadecimal impar: " + hex.length());
+        }
+    }
+
+    private static int digit(CharSequence hex, int index) {
+        char c = hex.charAt(index);
+        int value = c < 128 ? HEX_VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Carácter hexadecimal inválido en la posición " + index);
+        }
+        return value;
+    }
+}
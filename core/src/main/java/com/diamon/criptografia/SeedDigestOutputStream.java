@@ -0,0 +1,193 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.metrics.PipelineMetrics;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Flujo de salida que convierte el contenido de un archivo en el hash
+ * SHA-256 de su semilla procesada, sin mantener el archivo en memoria.
+ *
+ * Reproduce exactamente el procesamiento clásico de archivos:
+ * - Si el total no supera el umbral, la semilla son los bytes originales.
+ * - Si lo supera, la semilla es el GZIP de los bytes originales.
+ *
+ * Mientras no se alcanza el umbral los bytes se acumulan en un buffer
+ * acotado; al superarlo, el buffer se vuelca en la etapa GZIP y el resto del
+ * contenido fluye directamente GZIP → SHA-256. La memoria usada queda
+ * limitada por el umbral, independientemente del tamaño del archivo.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class SeedDigestOutputStream extends OutputStream {
+
+    /** Tamaño del buffer interno de la etapa GZIP */
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /** Capacidad inicial del buffer de prefijo */
+    private static final int INITIAL_PREFIX_SIZE = 64 * 1024;
+
+    private final long compressionThreshold;
+    private final SHA256Digest sha256 = new SHA256Digest();
+    private final DigestSink sink = new DigestSink();
+
+    private byte[] prefix;
+    private int prefixLength;
+    private GZIPOutputStream gzip;
+
+    private long originalSize;
+    private long processedSize;
+    private byte[] digest;
+
+    /**
+     * Etapa final: actualiza el digest y cuenta los bytes procesados.
+     */
+    private final class DigestSink extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            sha256.update((byte) b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            sha256.update(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * @param compressionThreshold Tamaño a partir del cual (estrictamente
+     *                             mayor) se aplica GZIP
+     */
+    public SeedDigestOutputStream(long compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        this.prefix = new byte[(int) Math.min(INITIAL_PREFIX_SIZE, Math.max(compressionThreshold, 1))];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (digest != null) {
+            throw new IOException("El flujo ya fue finalizado");
+        }
+
+        originalSize += len;
+
+        if (gzip == null) {
+            if (originalSize <= compressionThreshold) {
+                appendToPrefix(b, off, len);
+                return;
+            }
+            startCompression();
+        }
+
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.GZIP);
+        try {
+            gzip.write(b, off, len);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.GZIP, start, len);
+        }
+    }
+
+    /**
+     * Acumula bytes en el prefijo, creciendo como máximo hasta el umbral.
+     */
+    private void appendToPrefix(byte[] b, int off, int len) {
+        int needed = prefixLength + len;
+        if (needed > prefix.length) {
+            long capacity = Math.max((long) prefix.length * 2, needed);
+            byte[] grown = Arrays.copyOf(prefix, (int) Math.min(capacity, compressionThreshold));
+            Arrays.fill(prefix, (byte) 0);
+            prefix = grown;
+        }
+        System.arraycopy(b, off, prefix, prefixLength, len);
+        prefixLength = needed;
+    }
+
+    /**
+     * Se superó el umbral: el prefijo pasa a la etapa GZIP y se libera.
+     */
+    private void startCompression() throws IOException {
+        gzip = new GZIPOutputStream(sink, GZIP_BUFFER_SIZE);
+        gzip.write(prefix, 0, prefixLength);
+        releasePrefix();
+    }
+
+    private void releasePrefix() {
+        Arrays.fill(prefix, (byte) 0);
+        prefix = null;
+        prefixLength = 0;
+    }
+
+    /**
+     * Cierra la etapa GZIP (si aplica) y calcula el hash final.
+     * Puede llamarse varias veces; solo la primera tiene efecto.
+     *
+     * @return SHA-256 de la semilla procesada (32 bytes)
+     * @throws IOException Si falla la compresión
+     */
+    public byte[] finish() throws IOException {
+        if (digest != null) {
+            return digest;
+        }
+
+        if (gzip != null) {
+            // close() termina el stream GZIP y libera el Deflater nativo
+            long start = PipelineMetrics.begin(PipelineMetrics.Stage.GZIP);
+            try {
+                gzip.close();
+            } finally {
+                PipelineMetrics.end(PipelineMetrics.Stage.GZIP, start, 0);
+            }
+            processedSize = sink.count;
+        } else {
+            sink.write(prefix, 0, prefixLength);
+            processedSize = prefixLength;
+            releasePrefix();
+        }
+
+        digest = new byte[HashUtils.SHA256_LENGTH];
+        sha256.doFinal(digest, 0);
+        return digest;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    /**
+     * @return Bytes escritos (tamaño original del archivo)
+     */
+    public long getOriginalSize() {
+        return originalSize;
+    }
+
+    /**
+     * @return Tamaño de la semilla procesada (tras GZIP si aplica); válido
+     *         después de {@link #finish()}
+     */
+    public long getProcessedSize() {
+        return processedSize;
+    }
+
+    /**
+     * @return true si se aplicó compresión GZIP
+     */
+    public boolean isCompressed() {
+        return gzip != null;
+    }
+}
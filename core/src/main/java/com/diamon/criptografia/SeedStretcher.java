@@ -0,0 +1,492 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.metrics.PipelineMetrics;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.bouncycastle.crypto.params.KeyParameter;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Endurecimiento de semillas con scrypt (opcional, versionado).
+ *
+ * Con {@code SHA256(SHA256(seed))} probar una semilla cuesta microsegundos.
+ * En este modo la clave privada es
+ * {@code scrypt(seed, "GeneradorCarteraBitcoin/scrypt/v1" + salt, N, r, p, 32)},
+ * al estilo de WarpWallet, y cada intento cuesta {@code 128·r·N} bytes de
+ * memoria por carril.
+ *
+ * Los {@code p} carriles de scrypt son independientes y se mezclan en
+ * paralelo en un ForkJoinPool propio. Cada carril reutiliza su memoria de
+ * trabajo entre llamadas en lugar de asignarla en cada derivación, y la
+ * borra al terminar cada una.
+ *
+ * Los parámetros forman parte del resultado: la misma semilla con otros
+ * parámetros da otra cartera. {@link Params#encode()} produce una
+ * representación estable para guardarlos.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class SeedStretcher implements Closeable {
+
+    /** Versión del modo scrypt */
+    public static final int VERSION_SCRYPT = 1;
+
+    /** Longitud de la clave derivada */
+    private static final int KEY_LENGTH = FixedBaseMultiplier.SCALAR_LENGTH;
+
+    /**
+     * Parámetros de coste de scrypt.
+     */
+    public static final class Params {
+
+        /** Versión del esquema */
+        public final int version;
+
+        /** log2(N): coste de CPU y memoria */
+        public final int logN;
+
+        /** Tamaño de bloque */
+        public final int r;
+
+        /** Carriles paralelos */
+        public final int p;
+
+        /**
+         * @param logN log2(N), entre 1 y 24
+         * @param r    Tamaño de bloque, al menos 1
+         * @param p    Carriles paralelos, al menos 1
+         */
+        public Params(int logN, int r, int p) {
+            if (logN < 1 || logN > 24) {
+                throw new IllegalArgumentException("logN fuera de rango: " + logN);
+            }
+            if (r < 1 || p < 1 || (long) r * p >= 1 << 30) {
+                throw new IllegalArgumentException("r o p inválidos: r=" + r + " p=" + p);
+            }
+            if ((long) 128 * r << logN > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Memoria por carril excesiva: logN=" + logN + " r=" + r);
+            }
+            this.version = VERSION_SCRYPT;
+            this.logN = logN;
+            this.r = r;
+            this.p = p;
+        }
+
+        /**
+         * Parámetros por defecto para móviles: N = 2^14, r = 8, p = 2
+         * (16 MB por carril).
+         */
+        public static Params defaults() {
+            return new Params(14, 8, 2);
+        }
+
+        /**
+         * @return N = 2^logN
+         */
+        public int getN() {
+            return 1 << logN;
+        }
+
+        /**
+         * @return Memoria de trabajo de todos los carriles, en bytes
+         */
+        public long getMemoryBytes() {
+            return (long) 128 * r * getN() * p;
+        }
+
+        /**
+         * @return Representación estable, p. ej. "scrypt-v1:14:8:2"
+         */
+        public String encode() {
+            return "scrypt-v" + version + ":" + logN + ":" + r + ":" + p;
+        }
+
+        /**
+         * @param encoded Valor producido por {@link #encode()}
+         * @return Parámetros
+         * @throws IllegalArgumentException Si el formato o la versión no son
+         *                                  válidos
+         */
+        public static Params decode(String encoded) {
+            String[] parts = encoded.split(":");
+            if (parts.length != 4 || !parts[0].equals("scrypt-v" + VERSION_SCRYPT)) {
+                throw new IllegalArgumentException("Parámetros no soportados: " + encoded);
+            }
+            try {
+                return new Params(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                        Integer.parseInt(parts[3]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Parámetros no soportados: " + encoded, e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Params)) {
+                return false;
+            }
+            Params other = (Params) o;
+            return version == other.version && logN == other.logN && r == other.r && p == other.p;
+        }
+
+        @Override
+        public int hashCode() {
+            return encode().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return encode();
+        }
+    }
+
+    /**
+     * Memoria de trabajo de un carril, reutilizada entre llamadas.
+     */
+    private static final class Lane {
+        final int[] x;
+        final int[] y;
+        final int[] v;
+        final int[] salsa = new int[16];
+
+        Lane(int r, int n) {
+            x = new int[32 * r];
+            y = new int[32 * r];
+            v = new int[32 * r * n];
+        }
+    }
+
+    private final Params params;
+    private final byte[] saltPrefix;
+    private final ForkJoinPool pool;
+    private Lane[] lanes;
+
+    /**
+     * @param params Parámetros de coste
+     */
+    public SeedStretcher(Params params) {
+        this.params = params;
+        this.saltPrefix = ("GeneradorCarteraBitcoin/scrypt/v" + params.version).getBytes(StandardCharsets.US_ASCII);
+
+        int threads = Math.min(params.p, Runtime.getRuntime().availableProcessors());
+        // El carril 0 corre en el hilo que llama
+        this.pool = threads > 1 ? new ForkJoinPool(threads - 1) : null;
+    }
+
+    /**
+     * @return Parámetros de coste
+     */
+    public Params getParams() {
+        return params;
+    }
+
+    /**
+     * Deriva la clave privada endurecida.
+     *
+     * @param seed Bytes de la semilla
+     * @param salt Sal adicional (p. ej. un correo, como en WarpWallet); puede
+     *             ser vacía
+     * @return Clave privada de 32 bytes
+     * @throws InterruptedException Si el hilo es interrumpido mientras
+     *                              espera a los carriles
+     */
+    public synchronized byte[] stretch(byte[] seed, byte[] salt) throws InterruptedException {
+        byte[] fullSalt = new byte[saltPrefix.length + salt.length];
+        System.arraycopy(saltPrefix, 0, fullSalt, 0, saltPrefix.length);
+        System.arraycopy(salt, 0, fullSalt, saltPrefix.length, salt.length);
+
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.SEED_STRETCH);
+        try {
+            return scrypt(seed, fullSalt, KEY_LENGTH);
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.SEED_STRETCH, start, 1);
+        }
+    }
+
+    /**
+     * scrypt (RFC 7914) con los parámetros del objeto y memoria reutilizada.
+     *
+     * Antes de volver, incluso si se interrumpe, espera a que terminen todos
+     * los carriles y borra su memoria de trabajo.
+     *
+     * @param password Contraseña
+     * @param salt     Sal
+     * @param dkLen    Longitud de la clave derivada
+     * @return Clave derivada
+     * @throws InterruptedException Si el hilo es interrumpido mientras
+     *                              espera a los carriles
+     */
+    public synchronized byte[] scrypt(byte[] password, byte[] salt, int dkLen) throws InterruptedException {
+        final int r = params.r;
+        final int laneBytes = 128 * r;
+        final byte[] b = pbkdf2(password, salt, params.p * laneBytes);
+
+        if (lanes == null) {
+            lanes = new Lane[params.p];
+        }
+
+        List<Future<?>> pending = new ArrayList<>();
+        try {
+            if (pool != null) {
+                for (int i = 1; i < params.p; i++) {
+                    final int lane = i;
+                    pending.add(pool.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            roMix(b, lane * laneBytes, lane(lane));
+                        }
+                    }));
+                }
+                roMix(b, 0, lane(0));
+            } else {
+                for (int i = 0; i < params.p; i++) {
+                    roMix(b, i * laneBytes, lane(i));
+                }
+            }
+
+            for (Future<?> future : pending) {
+                future.get();
+            }
+
+            return pbkdf2(password, b, dkLen);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en un carril de scrypt", e.getCause());
+        } finally {
+            // Un carril que sigue en marcha escribiría en b y en su memoria
+            // después de borrarlas, o en la de la siguiente llamada
+            awaitUninterruptibly(pending);
+            wipeLanes();
+            Arrays.fill(b, (byte) 0);
+        }
+    }
+
+    /**
+     * Espera a que terminen las tareas sin atender interrupciones, que se
+     * restauran al final. No se cancelan: cancelar una tarea de ForkJoinPool
+     * en curso no la detiene y haría que get() volviera antes de que acabe.
+     */
+    private static void awaitUninterruptibly(List<Future<?>> pending) {
+        boolean interrupted = false;
+        for (Future<?> future : pending) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void wipeLanes() {
+        for (Lane lane : lanes) {
+            if (lane != null) {
+                Arrays.fill(lane.x, 0);
+                Arrays.fill(lane.y, 0);
+                Arrays.fill(lane.v, 0);
+                Arrays.fill(lane.salsa, 0);
+            }
+        }
+    }
+
+    private Lane lane(int index) {
+        Lane lane = lanes[index];
+        if (lane == null) {
+            lane = new Lane(params.r, params.getN());
+            lanes[index] = lane;
+        }
+        return lane;
+    }
+
+    private static byte[] pbkdf2(byte[] password, byte[] salt, int length) {
+        PKCS5S2ParametersGenerator generator = new PKCS5S2ParametersGenerator(new SHA256Digest());
+        generator.init(password, salt, 1);
+        return ((KeyParameter) generator.generateDerivedParameters(length * 8)).getKey();
+    }
+
+    /**
+     * ROMix sobre el bloque de un carril, en su sitio.
+     */
+    private void roMix(byte[] b, int offset, Lane lane) {
+        int r = params.r;
+        int n = params.getN();
+        int blockWords = 32 * r;
+        int[] x = lane.x;
+        int[] v = lane.v;
+
+        for (int i = 0; i < blockWords; i++) {
+            int o = offset + i * 4;
+            x[i] = (b[o] & 0xFF) | (b[o + 1] & 0xFF) << 8 | (b[o + 2] & 0xFF) << 16 | (b[o + 3] & 0xFF) << 24;
+        }
+
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(x, 0, v, i * blockWords, blockWords);
+            blockMix(x, lane, r);
+        }
+
+        for (int i = 0; i < n; i++) {
+            // Integerify: primera palabra del último sub-bloque de 64 bytes
+            int j = x[(2 * r - 1) * 16] & (n - 1);
+            int base = j * blockWords;
+            for (int k = 0; k < blockWords; k++) {
+                x[k] ^= v[base + k];
+            }
+            blockMix(x, lane, r);
+        }
+
+        for (int i = 0; i < blockWords; i++) {
+            int o = offset + i * 4;
+            int word = x[i];
+            b[o] = (byte) word;
+            b[o + 1] = (byte) (word >>> 8);
+            b[o + 2] = (byte) (word >>> 16);
+            b[o + 3] = (byte) (word >>> 24);
+        }
+    }
+
+    /**
+     * BlockMix con Salsa20/8; el resultado queda en {@code b}.
+     */
+    private static void blockMix(int[] b, Lane lane, int r) {
+        int[] y = lane.y;
+        int[] t = lane.salsa;
+
+        System.arraycopy(b, (2 * r - 1) * 16, t, 0, 16);
+        for (int i = 0; i < 2 * r; i++) {
+            for (int k = 0; k < 16; k++) {
+                t[k] ^= b[i * 16 + k];
+            }
+            salsa208(t);
+            // Pares a la primera mitad, impares a la segunda
+            int out = ((i & 1) * r + (i >>> 1)) * 16;
+            System.arraycopy(t, 0, y, out, 16);
+        }
+        System.arraycopy(y, 0, b, 0, 32 * r);
+    }
+
+    private static void salsa208(int[] b) {
+        int x0 = b[0], x1 = b[1], x2 = b[2], x3 = b[3], x4 = b[4], x5 = b[5], x6 = b[6], x7 = b[7];
+        int x8 = b[8], x9 = b[9], x10 = b[10], x11 = b[11], x12 = b[12], x13 = b[13], x14 = b[14], x15 = b[15];
+
+        for (int i = 0; i < 8; i += 2) {
+            // Columnas
+            x4 ^= Integer.rotateLeft(x0 + x12, 7);
+            x8 ^= Integer.rotateLeft(x4 + x0, 9);
+            x12 ^= Integer.rotateLeft(x8 + x4, 13);
+            x0 ^= Integer.rotateLeft(x12 + x8, 18);
+            x9 ^= Integer.rotateLeft(x5 + x1, 7);
+            x13 ^= Integer.rotateLeft(x9 + x5, 9);
+            x1 ^= Integer.rotateLeft(x13 + x9, 13);
+            x5 ^= Integer.rotateLeft(x1 + x13, 18);
+            x14 ^= Integer.rotateLeft(x10 + x6, 7);
+            x2 ^= Integer.rotateLeft(x14 + x10, 9);
+            x6 ^= Integer.rotateLeft(x2 + x14, 13);
+            x10 ^= Integer.rotateLeft(x6 + x2, 18);
+            x3 ^= Integer.rotateLeft(x15 + x11, 7);
+            x7 ^= Integer.rotateLeft(x3 + x15, 9);
+            x11 ^= Integer.rotateLeft(x7 + x3, 13);
+            x15 ^= Integer.rotateLeft(x11 + x7, 18);
+            // Filas
+            x1 ^= Integer.rotateLeft(x0 + x3, 7);
+            x2 ^= Integer.rotateLeft(x1 + x0, 9);
+            x3 ^= Integer.rotateLeft(x2 + x1, 13);
+            x0 ^= Integer.rotateLeft(x3 + x2, 18);
+            x6 ^= Integer.rotateLeft(x5 + x4, 7);
+            x7 ^= Integer.rotateLeft(x6 + x5, 9);
+            x4 ^= Integer.rotateLeft(x7 + x6, 13);
+            x5 ^= Integer.rotateLeft(x4 + x7, 18);
+            x11 ^= Integer.rotateLeft(x10 + x9, 7);
+            x8 ^= Integer.rotateLeft(x11 + x10, 9);
+            x9 ^= Integer.rotateLeft(x8 + x11, 13);
+            x10 ^= Integer.rotateLeft(x9 + x8, 18);
+            x12 ^= Integer.rotateLeft(x15 + x14, 7);
+            x13 ^= Integer.rotateLeft(x12 + x15, 9);
+            x14 ^= Integer.rotateLeft(x13 + x12, 13);
+            x15 ^= Integer.rotateLeft(x14 + x13, 18);
+        }
+
+        b[0] += x0;
+        b[1] += x1;
+        b[2] += x2;
+        b[3] += x3;
+        b[4] += x4;
+        b[5] += x5;
+        b[6] += x6;
+        b[7] += x7;
+        b[8] += x8;
+        b[9] += x9;
+        b[10] += x10;
+        b[11] += x11;
+        b[12] += x12;
+        b[13] += x13;
+        b[14] += x14;
+        b[15] += x15;
+    }
+
+    /**
+     * Busca el mayor N cuyo coste medido en este dispositivo no supera el
+     * objetivo, con r y p fijos.
+     *
+     * @param targetMillis Latencia objetivo por derivación
+     * @param r            Tamaño de bloque
+     * @param p            Carriles paralelos
+     * @return Parámetros calibrados (como mínimo logN = 10)
+     * @throws InterruptedException Si el hilo es interrumpido
+     */
+    public static Params calibrate(long targetMillis, int r, int p) throws InterruptedException {
+        byte[] probe = new byte[KEY_LENGTH];
+        Params best = new Params(10, r, p);
+
+        for (int logN = 10; logN <= 24; logN++) {
+            Params candidate;
+            try {
+                candidate = new Params(logN, r, p);
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+
+            long elapsed;
+            try (SeedStretcher stretcher = new SeedStretcher(candidate)) {
+                long start = System.nanoTime();
+                stretcher.stretch(probe, probe);
+                elapsed = (System.nanoTime() - start) / 1_000_000;
+            } catch (OutOfMemoryError e) {
+                break;
+            }
+
+            if (elapsed > targetMillis) {
+                break;
+            }
+            best = candidate;
+        }
+        return best;
+    }
+
+    /**
+     * Libera la memoria de trabajo y detiene los hilos de los carriles.
+     */
+    @Override
+    public synchronized void close() {
+        // Cada derivación ya borra la memoria de los carriles al terminar
+        lanes = null;
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
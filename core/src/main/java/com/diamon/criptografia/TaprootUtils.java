@@ -0,0 +1,165 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.metrics.PipelineMetrics;
+
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Claves de salida Taproot (BIP341) para gasto solo por clave.
+ *
+ * La clave de salida es Q = P + t·G, donde P es la clave interna con Y par
+ * y t = SHA256(SHA256("TapTweak") || SHA256("TapTweak") || x(P)). El
+ * programa de testigo de la dirección P2TR es x(Q).
+ *
+ * En lote, los productos t·G salen del motor de {@link CryptoBackends#ec()}
+ * con una inversión compartida, y las sumas P + t·G se normalizan también
+ * juntas.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class TaprootUtils {
+
+    /** Longitud de la clave de salida (solo X) */
+    public static final int OUTPUT_KEY_LENGTH = 32;
+
+    private static final int COORDINATE_LENGTH = 32;
+
+    /** SHA256("TapTweak") dos veces: prefijo del hash etiquetado */
+    private static final byte[] TAP_TWEAK_PREFIX;
+
+    /** Orden n en 32 bytes big-endian */
+    private static final byte[] ORDER =
+            HexUtils.decode("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141");
+
+    static {
+        byte[] tag = HashUtils.sha256("TapTweak".getBytes(StandardCharsets.US_ASCII));
+        TAP_TWEAK_PREFIX = new byte[2 * HashUtils.SHA256_LENGTH];
+        System.arraycopy(tag, 0, TAP_TWEAK_PREFIX, 0, tag.length);
+        System.arraycopy(tag, 0, TAP_TWEAK_PREFIX, tag.length, tag.length);
+    }
+
+    private TaprootUtils() {
+    }
+
+    /**
+     * @param publicKey Clave pública interna (33 o 65 bytes)
+     * @return Clave de salida x(Q) (32 bytes)
+     * @throws IllegalArgumentException Si la clave no es válida
+     */
+    public static byte[] outputKey(byte[] publicKey) {
+        byte[] outputKey = new byte[OUTPUT_KEY_LENGTH];
+        outputKeys(publicKey, 0, publicKey.length, 1, outputKey, 0);
+        return outputKey;
+    }
+
+    /**
+     * Calcula las claves de salida de un lote de claves internas
+     * consecutivas de la misma longitud.
+     *
+     * @param publicKeys      Buffer con las claves públicas internas
+     * @param offset          Posición de la primera clave
+     * @param publicKeyLength Longitud de cada clave (33 comprimida o 65)
+     * @param count           Número de claves
+     * @param dst             Buffer de salida (32 * count bytes libres)
+     * @param dstOffset       Posición de la primera clave de salida
+     * @throws IllegalArgumentException Si alguna clave no es un punto de la
+     *                                  curva
+     */
+    public static void outputKeys(byte[] publicKeys, int offset, int publicKeyLength, int count,
+            byte[] dst, int dstOffset) {
+        if (publicKeyLength != CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH
+                && publicKeyLength != CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH) {
+            throw new IllegalArgumentException("Longitud de clave pública inválida: " + publicKeyLength);
+        }
+
+        byte[] tweaks = new byte[count * COORDINATE_LENGTH];
+        byte[] message = new byte[TAP_TWEAK_PREFIX.length + COORDINATE_LENGTH];
+        System.arraycopy(TAP_TWEAK_PREFIX, 0, message, 0, TAP_TWEAK_PREFIX.length);
+        for (int i = 0; i < count; i++) {
+            // t = hash etiquetado de x(P)
+            System.arraycopy(publicKeys, offset + i * publicKeyLength + 1, message, TAP_TWEAK_PREFIX.length,
+                    COORDINATE_LENGTH);
+            HashUtils.sha256(message, 0, message.length, tweaks, i * COORDINATE_LENGTH);
+            if (!isBelowOrder(tweaks, i * COORDINATE_LENGTH)) {
+                throw new IllegalArgumentException("Ajuste Taproot fuera de rango");
+            }
+        }
+
+        // t·G de todo el lote con una inversión compartida
+        byte[] tweakPoints = new byte[count * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+        long start = PipelineMetrics.begin(PipelineMetrics.Stage.EC_MULTIPLY);
+        try {
+            CryptoBackends.ec().derivePublicKeys(tweaks, 0, tweakPoints, 0, count);
+
+            ECCurve curve = FixedBaseMultiplier.getInstance().getCurve();
+            ECPoint[] outputs = new ECPoint[count];
+            for (int i = 0; i < count; i++) {
+                ECPoint internal = evenY(curve, publicKeys, offset + i * publicKeyLength, publicKeyLength);
+                ECPoint tweak = point(curve, tweakPoints, i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH);
+                outputs[i] = internal.add(tweak);
+                if (outputs[i].isInfinity()) {
+                    throw new IllegalArgumentException("Clave de salida Taproot en el infinito");
+                }
+            }
+
+            curve.normalizeAll(outputs);
+            for (int i = 0; i < count; i++) {
+                outputs[i].getAffineXCoord().encodeTo(dst, dstOffset + i * OUTPUT_KEY_LENGTH);
+            }
+        } finally {
+            PipelineMetrics.end(PipelineMetrics.Stage.EC_MULTIPLY, start, count);
+        }
+    }
+
+    /**
+     * P con Y par (lift_x de BIP340): la clave comprimida se decodifica con
+     * prefijo 0x02; la no comprimida se niega si su Y es impar.
+     */
+    private static ECPoint evenY(ECCurve curve, byte[] publicKeys, int offset, int length) {
+        if (length == CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH) {
+            if (publicKeys[offset] != 0x02 && publicKeys[offset] != 0x03) {
+                throw new IllegalArgumentException("Clave pública comprimida inválida");
+            }
+            byte[] encoded = Arrays.copyOfRange(publicKeys, offset, offset + length);
+            encoded[0] = 0x02;
+            return curve.decodePoint(encoded);
+        }
+
+        if (publicKeys[offset] != 0x04) {
+            throw new IllegalArgumentException("Clave pública no comprimida inválida");
+        }
+        ECPoint point = point(curve, publicKeys, offset);
+        if (!point.isValid()) {
+            throw new IllegalArgumentException("La clave pública no está en la curva");
+        }
+        return (publicKeys[offset + length - 1] & 1) == 0 ? point : point.negate();
+    }
+
+    /**
+     * Punto afín desde una codificación no comprimida, sin comprobarlo.
+     */
+    private static ECPoint point(ECCurve curve, byte[] encoded, int offset) {
+        byte[] coordinate = Arrays.copyOfRange(encoded, offset + 1, offset + 1 + COORDINATE_LENGTH);
+        BigInteger x = new BigInteger(1, coordinate);
+        System.arraycopy(encoded, offset + 1 + COORDINATE_LENGTH, coordinate, 0, COORDINATE_LENGTH);
+        BigInteger y = new BigInteger(1, coordinate);
+        return curve.createPoint(x, y);
+    }
+
+    private static boolean isBelowOrder(byte[] scalar, int offset) {
+        for (int i = 0; i < COORDINATE_LENGTH; i++) {
+            int a = scalar[offset + i] & 0xFF;
+            int b = ORDER[i] & 0xFF;
+            if (a != b) {
+                return a < b;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package com.diamon.criptografia;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prefijo de dirección P2PKH traducido a rangos de HASH160.
+ *
+ * Una dirección es el Base58 de N = 0x00 || HASH160 || checksum (25
+ * bytes). Cada '1' inicial es un byte cero de N y el resto del prefijo, R,
+ * fija los dígitos más significativos: N está en [R·58^k, (R+1)·58^k) para
+ * algún número k de dígitos restantes. Intersecando esos intervalos con
+ * los valores que tienen exactamente los bytes cero indicados quedan uno o
+ * dos rangos, que se comparan con los bytes del HASH160 sin generar la
+ * dirección.
+ *
+ * El filtro compara los 64 bits altos del HASH160, así que puede dar por
+ * buenos algunos valores en el borde de un rango; {@link #matches(String)}
+ * hace la comprobación exacta sobre la dirección.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+final class VanityPattern {
+
+    /** Bytes de N: versión + HASH160 + checksum */
+    private static final int PAYLOAD_LENGTH = 1 + HashUtils.HASH160_LENGTH + Base58Utils.CHECKSUM_LENGTH;
+
+    private static final BigInteger BASE = BigInteger.valueOf(58);
+
+    private final String prefix;
+
+    /** Límites de cada rango: 64 bits altos del HASH160, desplazados para comparar sin signo */
+    private final long[] low;
+    private final long[] high;
+
+    private final double difficulty;
+
+    /**
+     * @param prefix Prefijo de la dirección, empezando por '1'
+     * @throws IllegalArgumentException Si el prefijo no es Base58, no
+     *                                  empieza por '1' o ninguna dirección
+     *                                  puede tenerlo
+     */
+    VanityPattern(String prefix) {
+        if (prefix == null || prefix.isEmpty() || prefix.charAt(0) != '1') {
+            throw new IllegalArgumentException("El prefijo debe empezar por '1'");
+        }
+
+        int zeros = 0;
+        while (zeros < prefix.length() && prefix.charAt(zeros) == '1') {
+            zeros++;
+        }
+
+        BigInteger rest = BigInteger.ZERO;
+        for (int i = zeros; i < prefix.length(); i++) {
+            int digit = Base58Utils.digit(prefix.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Carácter no válido en Base58: '" + prefix.charAt(i) + "'");
+            }
+            rest = rest.multiply(BASE).add(BigInteger.valueOf(digit));
+        }
+
+        // N tiene exactamente 'zeros' bytes cero al principio (al menos, si no hay resto)
+        List<BigInteger[]> ranges = new ArrayList<>();
+        if (zeros <= PAYLOAD_LENGTH) {
+            BigInteger max = BigInteger.ONE.shiftLeft(8 * (PAYLOAD_LENGTH - zeros));
+            if (zeros == prefix.length()) {
+                ranges.add(new BigInteger[] { BigInteger.ZERO, max });
+            } else if (zeros < PAYLOAD_LENGTH) {
+                BigInteger min = BigInteger.ONE.shiftLeft(8 * (PAYLOAD_LENGTH - zeros - 1));
+                BigInteger scale = BigInteger.ONE;
+                while (true) {
+                    BigInteger lo = rest.multiply(scale);
+                    if (lo.compareTo(max) >= 0) {
+                        break;
+                    }
+                    BigInteger hi = rest.add(BigInteger.ONE).multiply(scale);
+                    lo = lo.max(min);
+                    hi = hi.min(max);
+                    if (lo.compareTo(hi) < 0) {
+                        ranges.add(new BigInteger[] { lo, hi });
+                    }
+                    scale = scale.multiply(BASE);
+                }
+            }
+        }
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("Ninguna dirección puede empezar por " + prefix);
+        }
+
+        this.prefix = prefix;
+        this.low = new long[ranges.size()];
+        this.high = new long[ranges.size()];
+        BigInteger matching = BigInteger.ZERO;
+        int checksumBits = 8 * Base58Utils.CHECKSUM_LENGTH;
+        int dropBits = checksumBits + 8 * HashUtils.HASH160_LENGTH - 64;
+        for (int i = 0; i < ranges.size(); i++) {
+            BigInteger lo = ranges.get(i)[0];
+            BigInteger hi = ranges.get(i)[1];
+            matching = matching.add(hi.subtract(lo));
+            low[i] = lo.shiftRight(dropBits).longValue() + Long.MIN_VALUE;
+            high[i] = hi.subtract(BigInteger.ONE).shiftRight(dropBits).longValue() + Long.MIN_VALUE;
+        }
+
+        // N es uniforme en [0, 2^192) (el byte de versión es cero)
+        BigInteger total = BigInteger.ONE.shiftLeft(8 * (PAYLOAD_LENGTH - 1));
+        this.difficulty = total.doubleValue() / matching.doubleValue();
+    }
+
+    /**
+     * @return Prefijo buscado
+     */
+    String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return Claves esperadas por coincidencia (1 / probabilidad)
+     */
+    double getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Filtro sobre los bytes: false si la dirección seguro que no tiene el
+     * prefijo.
+     *
+     * @param hash160s Buffer con HASH160
+     * @param offset   Posición del HASH160
+     * @return true si el HASH160 está en algún rango (o en su borde)
+     */
+    boolean mayMatch(byte[] hash160s, int offset) {
+        long top = 0;
+        for (int i = 0; i < 8; i++) {
+            top = (top << 8) | (hash160s[offset + i] & 0xFF);
+        }
+        top += Long.MIN_VALUE;
+
+        for (int i = 0; i < low.length; i++) {
+            if (top >= low[i] && top <= high[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param address Dirección en Base58Check
+     * @return true si tiene el prefijo
+     */
+    boolean matches(String address) {
+        return address.startsWith(prefix);
+    }
+}
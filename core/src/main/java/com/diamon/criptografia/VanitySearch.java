@@ -0,0 +1,343 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.ec.EcEngine;
+import com.diamon.criptografia.ec.PointWalker;
+import com.diamon.criptografia.metrics.PipelineMetrics;
+import com.diamon.criptografia.model.WalletData;
+
+import java.io.Closeable;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Búsqueda de direcciones con un prefijo elegido ("vanity").
+ *
+ * Cada hilo parte de una clave aleatoria k y recorre k, k+1, k+2... con
+ * {@link PointWalker}: una suma de puntos por clave en lugar de una
+ * multiplicación, y una inversión compartida por lote. De cada lote solo
+ * se calcula el HASH160, que se compara en bytes con los rangos del
+ * prefijo ({@link VanityPattern}); Base58 y la cartera completa se generan
+ * únicamente para los candidatos.
+ *
+ * Las claves de partida se toman en [2^248, 255·2^248), lejos de 0 y de n,
+ * para que el recorrido nunca llegue a un punto degenerado.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class VanitySearch implements Closeable {
+
+    /** Claves por lote del recorrido */
+    public static final int BATCH_SIZE = 256;
+
+    /** Intervalo entre informes de avance */
+    public static final long PROGRESS_INTERVAL_MILLIS = 500;
+
+    /** Claves recorridas por cada hilo antes de saltar a otra clave aleatoria */
+    private static final long REKEY_INTERVAL = 1L << 32;
+
+    private static final int SCALAR_LENGTH = FixedBaseMultiplier.SCALAR_LENGTH;
+    private static final int PUBLIC_KEY_LENGTH = EcEngine.PUBLIC_KEY_LENGTH;
+
+    /**
+     * Estado de la búsqueda en un informe de avance.
+     */
+    public static final class Progress {
+        /** Claves comprobadas hasta el momento */
+        public final long keysTried;
+        /** Velocidad en el último intervalo */
+        public final double keysPerSecond;
+        /** Claves esperadas por coincidencia */
+        public final double difficulty;
+        /** Probabilidad de haber encontrado ya una coincidencia */
+        public final double probability;
+        /**
+         * Segundos hasta el 50 % de probabilidad al ritmo actual (0 si ya se
+         * superó, infinito si aún no hay velocidad medida)
+         */
+        public final double secondsTo50Percent;
+
+        Progress(long keysTried, double keysPerSecond, double difficulty) {
+            this.keysTried = keysTried;
+            this.keysPerSecond = keysPerSecond;
+            this.difficulty = difficulty;
+            this.probability = 1 - Math.exp(-keysTried / difficulty);
+            double remaining = Math.log(2) * difficulty - keysTried;
+            if (remaining <= 0) {
+                this.secondsTo50Percent = 0;
+            } else {
+                this.secondsTo50Percent = keysPerSecond > 0 ? remaining / keysPerSecond : Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /**
+     * Recibe el avance de la búsqueda, desde el hilo que llama a
+     * {@link #search(String, ProgressListener)}.
+     */
+    public interface ProgressListener {
+
+        /**
+         * @param progress Estado actual
+         */
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * Estado compartido de una búsqueda.
+     */
+    private static final class Run {
+        final VanityPattern pattern;
+        final AtomicLong tried = new AtomicLong();
+        final AtomicReference<WalletData> result = new AtomicReference<>();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile boolean stopped;
+
+        Run(VanityPattern pattern) {
+            this.pattern = pattern;
+        }
+
+        void stop() {
+            stopped = true;
+            done.countDown();
+        }
+    }
+
+    private final ExecutorService pool;
+    private final int parallelism;
+    private volatile Run current;
+
+    /** Se incrementa en cada {@link #cancel()}; invalida los tickets anteriores */
+    private final AtomicLong cancelEpoch = new AtomicLong();
+
+    /**
+     * Crea un buscador con un hilo por núcleo disponible.
+     */
+    public VanitySearch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism Número de hilos de búsqueda
+     */
+    public VanitySearch(int parallelism) {
+        this.parallelism = parallelism;
+        this.pool = Executors.newFixedThreadPool(parallelism);
+    }
+
+    /**
+     * @param prefix Prefijo de la dirección, empezando por '1'
+     * @return Claves esperadas hasta encontrar una coincidencia
+     * @throws IllegalArgumentException Si el prefijo no es válido
+     */
+    public static double getDifficulty(String prefix) {
+        return new VanityPattern(prefix).getDifficulty();
+    }
+
+    /**
+     * Marca para {@link #search(String, ProgressListener, long)}. Tomada en
+     * el hilo que encola la búsqueda, hace que un {@link #cancel()} llegado
+     * antes de que la búsqueda empiece también la detenga.
+     *
+     * @return Ticket de la próxima búsqueda
+     */
+    public long ticket() {
+        return cancelEpoch.get();
+    }
+
+    /**
+     * Busca una cartera cuya dirección empiece por el prefijo. Bloquea
+     * hasta encontrarla, hasta {@link #cancel()} o hasta una interrupción.
+     *
+     * @param prefix   Prefijo de la dirección, empezando por '1'
+     * @param listener Avance cada {@link #PROGRESS_INTERVAL_MILLIS} ms
+     *                 (puede ser null)
+     * @return Cartera encontrada, o null si se canceló
+     * @throws IllegalArgumentException Si el prefijo no es válido
+     * @throws InterruptedException     Si el hilo es interrumpido
+     */
+    public WalletData search(String prefix, ProgressListener listener) throws InterruptedException {
+        return search(prefix, listener, ticket());
+    }
+
+    /**
+     * Como {@link #search(String, ProgressListener)}, pero devuelve null de
+     * inmediato si hubo un {@link #cancel()} o {@link #close()} después de
+     * tomar el ticket.
+     *
+     * @param prefix   Prefijo de la dirección, empezando por '1'
+     * @param listener Avance (puede ser null)
+     * @param ticket   Valor de {@link #ticket()} al encolar la búsqueda
+     * @return Cartera encontrada, o null si se canceló
+     * @throws IllegalArgumentException Si el prefijo no es válido
+     * @throws InterruptedException     Si el hilo es interrumpido
+     */
+    public WalletData search(String prefix, ProgressListener listener, long ticket) throws InterruptedException {
+        final Run run = new Run(new VanityPattern(prefix));
+        current = run;
+        // Publicar la búsqueda antes de mirar la época: cancel() hace lo
+        // contrario, así que al menos uno de los dos ve al otro
+        if (cancelEpoch.get() != ticket) {
+            current = null;
+            return null;
+        }
+
+        List<Future<?>> workers = new ArrayList<>(parallelism);
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            walk(run);
+                        } catch (RuntimeException e) {
+                            run.failure.compareAndSet(null, e);
+                            run.stop();
+                        }
+                    }
+                }));
+            }
+
+            long lastTime = System.nanoTime();
+            long lastTried = 0;
+            while (!run.done.await(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (listener != null) {
+                    long now = System.nanoTime();
+                    long tried = run.tried.get();
+                    double rate = (tried - lastTried) * 1e9 / Math.max(1, now - lastTime);
+                    listener.onProgress(new Progress(tried, rate, run.pattern.getDifficulty()));
+                    lastTime = now;
+                    lastTried = tried;
+                }
+            }
+        } finally {
+            run.stopped = true;
+            current = null;
+            for (Future<?> worker : workers) {
+                worker.cancel(true);
+            }
+        }
+
+        RuntimeException failure = run.failure.get();
+        if (failure != null) {
+            throw failure;
+        }
+        return run.result.get();
+    }
+
+    /**
+     * Detiene la búsqueda en curso, y también las encoladas con un ticket
+     * anterior; {@link #search} devuelve null. Puede llamarse desde
+     * cualquier hilo.
+     */
+    public void cancel() {
+        cancelEpoch.incrementAndGet();
+        Run run = current;
+        if (run != null) {
+            run.stop();
+        }
+    }
+
+    /**
+     * Bucle de un hilo: recorre lotes desde claves aleatorias hasta que
+     * alguien encuentra una coincidencia o se detiene la búsqueda.
+     */
+    private static void walk(Run run) {
+        PointWalker walker = new PointWalker(BATCH_SIZE);
+        SecureRandom random = new SecureRandom();
+        byte[] start = new byte[SCALAR_LENGTH];
+        byte[] publicKeys = new byte[BATCH_SIZE * PUBLIC_KEY_LENGTH];
+        byte[] hash160s = new byte[BATCH_SIZE * HashUtils.HASH160_LENGTH];
+
+        try {
+            while (!run.stopped) {
+                do {
+                    random.nextBytes(start);
+                } while (start[0] == 0 || start[0] == (byte) 0xFF);
+                walker.reset(start, 0);
+
+                for (long steps = 0; steps < REKEY_INTERVAL && !run.stopped; steps += BATCH_SIZE) {
+                    long begin = PipelineMetrics.begin(PipelineMetrics.Stage.EC_MULTIPLY);
+                    try {
+                        walker.next(publicKeys, 0);
+                    } finally {
+                        PipelineMetrics.end(PipelineMetrics.Stage.EC_MULTIPLY, begin, BATCH_SIZE);
+                    }
+
+                    begin = PipelineMetrics.begin(PipelineMetrics.Stage.HASH160);
+                    try {
+                        for (int i = 0; i < BATCH_SIZE; i++) {
+                            HashUtils.hash160(publicKeys, i * PUBLIC_KEY_LENGTH, PUBLIC_KEY_LENGTH,
+                                    hash160s, i * HashUtils.HASH160_LENGTH);
+                        }
+                    } finally {
+                        PipelineMetrics.end(PipelineMetrics.Stage.HASH160, begin, BATCH_SIZE);
+                    }
+
+                    for (int i = 0; i < BATCH_SIZE; i++) {
+                        if (run.pattern.mayMatch(hash160s, i * HashUtils.HASH160_LENGTH)
+                                && check(run, start, steps + i)) {
+                            return;
+                        }
+                    }
+                    run.tried.addAndGet(BATCH_SIZE);
+                }
+            }
+        } finally {
+            Arrays.fill(start, (byte) 0);
+        }
+    }
+
+    /**
+     * Genera la cartera del candidato k + offset y comprueba su dirección.
+     *
+     * @return true si era una coincidencia (y la búsqueda queda resuelta)
+     */
+    private static boolean check(Run run, byte[] start, long offset) {
+        byte[] privateKey = start.clone();
+        try {
+            add(privateKey, offset);
+            WalletData wallet = WalletUtils.fromPrivateKey(privateKey);
+            if (!run.pattern.matches(wallet.address)) {
+                return false;
+            }
+            if (run.result.compareAndSet(null, wallet)) {
+                run.stop();
+            }
+            return true;
+        } finally {
+            Arrays.fill(privateKey, (byte) 0);
+        }
+    }
+
+    /**
+     * Suma un valor no negativo a un escalar big-endian de 32 bytes.
+     */
+    private static void add(byte[] scalar, long value) {
+        long carry = value;
+        for (int i = SCALAR_LENGTH - 1; i >= 0 && carry != 0; i--) {
+            long sum = (scalar[i] & 0xFF) + (carry & 0xFF);
+            scalar[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+    }
+
+    /**
+     * Detiene los hilos de búsqueda.
+     */
+    @Override
+    public void close() {
+        cancel();
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,241 @@
+package com.diamon.criptografia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binario columnar de carteras (.bwc).
+ *
+ * Estructura (enteros big-endian):
+ *
+ * <pre>
+ * Cabecera (32 bytes)
+ *   0  magic            "BWCF"
+ *   4  versión          u16
+ *   6  longitud clave   u16  (33 comprimida, 65 sin comprimir)
+ *   8  registros/bloque u32
+ *   12 registros        u64
+ *   20 reservado        8 bytes a cero
+ *   28 CRC32            de los bytes 0..27
+ *
+ * Bloques de hasta registros/bloque registros, a paso fijo:
+ *   claves privadas  n × 32
+ *   claves públicas  n × longitud clave
+ *   HASH160          n × 20
+ *   flags            n × 1
+ *   CRC32            4 bytes, del contenido del bloque
+ * </pre>
+ *
+ * Cada columna de un bloque es contigua, de modo que un recorrido por
+ * columna lee memoria secuencial y el registro N se localiza con
+ * aritmética, sin índices. Direcciones y WIF no se almacenan: se
+ * recalculan bajo demanda desde HASH160 y clave privada.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class WalletBinaryFormat {
+
+    /** "BWCF" */
+    public static final int MAGIC = 0x42574346;
+
+    /** Versión actual del formato */
+    public static final int VERSION = 1;
+
+    /** Longitud de la cabecera */
+    public static final int HEADER_LENGTH = 32;
+
+    /** Longitud del CRC32 de cabecera y bloques */
+    public static final int CHECKSUM_LENGTH = 4;
+
+    /** Flag de registro: la clave pública está comprimida */
+    public static final int FLAG_COMPRESSED_PUBLIC_KEY = 0x01;
+
+    /** Longitud de una clave pública comprimida */
+    public static final int COMPRESSED_PUBLIC_KEY_LENGTH = CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH;
+
+    /**
+     * Columnas de un bloque, en orden de almacenamiento.
+     */
+    public enum Column {
+        PRIVATE_KEY,
+        PUBLIC_KEY,
+        HASH160,
+        FLAGS
+    }
+
+    /**
+     * Campos de la cabecera.
+     */
+    public static final class Header {
+        public final int version;
+        public final int publicKeyLength;
+        public final int blockRecords;
+        public final long recordCount;
+
+        public Header(int version, int publicKeyLength, int blockRecords, long recordCount) {
+            this.version = version;
+            this.publicKeyLength = publicKeyLength;
+            this.blockRecords = blockRecords;
+            this.recordCount = recordCount;
+        }
+
+        /**
+         * @return Bytes de un registro completo (todas las columnas)
+         */
+        public int recordLength() {
+            return FixedBaseMultiplier.SCALAR_LENGTH + publicKeyLength + HashUtils.HASH160_LENGTH + 1;
+        }
+
+        /**
+         * @return Distancia entre el inicio de dos bloques consecutivos
+         */
+        public long blockStride() {
+            return (long) blockRecords * recordLength() + CHECKSUM_LENGTH;
+        }
+
+        /**
+         * @return Número de bloques del archivo
+         */
+        public long blockCount() {
+            return (recordCount + blockRecords - 1) / blockRecords;
+        }
+
+        /**
+         * @param block Índice de bloque
+         * @return Registros almacenados en ese bloque
+         */
+        public int recordsInBlock(long block) {
+            return (int) Math.min(blockRecords, recordCount - block * blockRecords);
+        }
+
+        /**
+         * @param block Índice de bloque
+         * @return Posición del bloque en el archivo
+         */
+        public long blockOffset(long block) {
+            return HEADER_LENGTH + block * blockStride();
+        }
+
+        /**
+         * @param column Columna
+         * @return Bytes que ocupa un valor de la columna
+         */
+        public int columnWidth(Column column) {
+            switch (column) {
+                case PRIVATE_KEY:
+                    return FixedBaseMultiplier.SCALAR_LENGTH;
+                case PUBLIC_KEY:
+                    return publicKeyLength;
+                case HASH160:
+                    return HashUtils.HASH160_LENGTH;
+                default:
+                    return 1;
+            }
+        }
+
+        /**
+         * @param column  Columna
+         * @param records Registros del bloque
+         * @return Posición de la columna relativa al inicio del bloque
+         */
+        public int columnOffset(Column column, int records) {
+            int offset = 0;
+            for (Column c : Column.values()) {
+                if (c == column) {
+                    break;
+                }
+                offset += records * columnWidth(c);
+            }
+            return offset;
+        }
+
+        /**
+         * @param column Columna
+         * @param index  Índice de registro
+         * @return Posición en el archivo del valor de la columna para ese
+         *         registro
+         */
+        public long valueOffset(Column column, long index) {
+            long block = index / blockRecords;
+            int row = (int) (index % blockRecords);
+            return blockOffset(block) + columnOffset(column, recordsInBlock(block)) + (long) row * columnWidth(column);
+        }
+    }
+
+    private WalletBinaryFormat() {
+    }
+
+    /**
+     * Escribe la cabecera con su CRC32.
+     *
+     * @param header Campos de la cabecera
+     * @return Buffer de {@link #HEADER_LENGTH} bytes listo para escribir
+     */
+    public static ByteBuffer encodeHeader(Header header) {
+        byte[] bytes = new byte[HEADER_LENGTH];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) header.version);
+        buffer.putShort((short) header.publicKeyLength);
+        buffer.putInt(header.blockRecords);
+        buffer.putLong(header.recordCount);
+        buffer.putInt(HEADER_LENGTH - CHECKSUM_LENGTH, crc32(bytes, 0, HEADER_LENGTH - CHECKSUM_LENGTH));
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Lee y valida la cabecera.
+     *
+     * @param buffer Buffer posicionado al inicio de la cabecera
+     * @return Campos de la cabecera
+     * @throws IOException Si la cabecera no es válida o la versión no está
+     *                     soportada
+     */
+    public static Header decodeHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_LENGTH) {
+            throw new IOException("Archivo demasiado corto para la cabecera");
+        }
+
+        byte[] bytes = new byte[HEADER_LENGTH];
+        buffer.get(bytes);
+        ByteBuffer header = ByteBuffer.wrap(bytes);
+
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("No es un archivo de carteras binario");
+        }
+        if (header.getInt(HEADER_LENGTH - CHECKSUM_LENGTH) != crc32(bytes, 0, HEADER_LENGTH - CHECKSUM_LENGTH)) {
+            throw new IOException("Checksum de cabecera inválido");
+        }
+
+        int version = header.getShort(4) & 0xFFFF;
+        if (version != VERSION) {
+            throw new IOException("Versión no soportada: " + version);
+        }
+
+        int publicKeyLength = header.getShort(6) & 0xFFFF;
+        if (publicKeyLength != COMPRESSED_PUBLIC_KEY_LENGTH
+                && publicKeyLength != CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH) {
+            throw new IOException("Longitud de clave pública inválida: " + publicKeyLength);
+        }
+
+        int blockRecords = header.getInt(8);
+        long recordCount = header.getLong(12);
+        if (blockRecords <= 0 || recordCount < 0) {
+            throw new IOException("Cabecera inválida");
+        }
+
+        return new Header(version, publicKeyLength, blockRecords, recordCount);
+    }
+
+    /**
+     * @return CRC32 del rango indicado
+     */
+    static int crc32(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
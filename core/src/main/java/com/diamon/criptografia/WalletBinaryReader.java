@@ -0,0 +1,245 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.model.WalletData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Lector del formato binario columnar {@link WalletBinaryFormat} sobre un
+ * {@link MappedByteBuffer}.
+ *
+ * Permite acceder al registro N o recorrer una columna leyendo
+ * directamente del archivo mapeado, sin construir {@link WalletData}.
+ * Direcciones y WIF se recalculan solo cuando se piden.
+ *
+ * El mapeo se libera cuando el lector deja de estar referenciado; cerrar
+ * el canal no lo invalida. Archivos de más de 2 GB no pueden mapearse en
+ * un único buffer y se rechazan.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class WalletBinaryReader {
+
+    /**
+     * Recibe los valores de una columna durante un recorrido.
+     */
+    public interface ColumnVisitor {
+
+        /**
+         * El buffer se reutiliza entre llamadas.
+         *
+         * @param index  Índice de registro
+         * @param value  Buffer con el valor
+         * @param offset Posición del valor en el buffer
+         * @param length Longitud del valor
+         */
+        void visit(long index, byte[] value, int offset, int length);
+    }
+
+    private final MappedByteBuffer data;
+    private final WalletBinaryFormat.Header header;
+
+    /**
+     * Mapea el archivo completo y valida la cabecera y su tamaño.
+     *
+     * @param channel Canal del archivo (puede cerrarse después)
+     * @throws IOException Si el archivo no es válido o es demasiado grande
+     */
+    public WalletBinaryReader(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Archivo demasiado grande para mapear: " + size);
+        }
+
+        this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        this.header = WalletBinaryFormat.decodeHeader(data.duplicate());
+
+        long blocks = header.blockCount();
+        long expected = WalletBinaryFormat.HEADER_LENGTH;
+        if (blocks > 0) {
+            expected = header.blockOffset(blocks - 1)
+                    + header.recordsInBlock(blocks - 1) * (long) header.recordLength()
+                    + WalletBinaryFormat.CHECKSUM_LENGTH;
+        }
+        if (size < expected) {
+            throw new IOException("Archivo truncado: " + size + " < " + expected);
+        }
+    }
+
+    /**
+     * @return Cabecera del archivo
+     */
+    public WalletBinaryFormat.Header getHeader() {
+        return header;
+    }
+
+    /**
+     * @return Número de registros
+     */
+    public long getRecordCount() {
+        return header.recordCount;
+    }
+
+    /**
+     * Copia el valor de una columna del registro indicado.
+     *
+     * @param column    Columna
+     * @param index     Índice de registro
+     * @param dst       Destino
+     * @param dstOffset Posición en el destino
+     * @return Bytes copiados
+     */
+    public int read(WalletBinaryFormat.Column column, long index, byte[] dst, int dstOffset) {
+        checkIndex(index);
+        int width = header.columnWidth(column);
+        ByteBuffer view = data.duplicate();
+        view.position((int) header.valueOffset(column, index));
+        view.get(dst, dstOffset, width);
+        return width;
+    }
+
+    /**
+     * @param index Índice de registro
+     * @return Clave privada de 32 bytes
+     */
+    public byte[] getPrivateKey(long index) {
+        byte[] key = new byte[FixedBaseMultiplier.SCALAR_LENGTH];
+        read(WalletBinaryFormat.Column.PRIVATE_KEY, index, key, 0);
+        return key;
+    }
+
+    /**
+     * @param index Índice de registro
+     * @return Clave pública (33 o 65 bytes según la cabecera)
+     */
+    public byte[] getPublicKey(long index) {
+        byte[] key = new byte[header.publicKeyLength];
+        read(WalletBinaryFormat.Column.PUBLIC_KEY, index, key, 0);
+        return key;
+    }
+
+    /**
+     * @param index Índice de registro
+     * @return HASH160 de la clave pública
+     */
+    public byte[] getHash160(long index) {
+        byte[] hash = new byte[HashUtils.HASH160_LENGTH];
+        read(WalletBinaryFormat.Column.HASH160, index, hash, 0);
+        return hash;
+    }
+
+    /**
+     * @param index Índice de registro
+     * @return Flags del registro
+     */
+    public int getFlags(long index) {
+        checkIndex(index);
+        return data.get((int) header.valueOffset(WalletBinaryFormat.Column.FLAGS, index)) & 0xFF;
+    }
+
+    /**
+     * @param index Índice de registro
+     * @return Dirección Bitcoin recalculada desde el HASH160
+     */
+    public String getAddress(long index) {
+        byte[] payload = new byte[1 + HashUtils.HASH160_LENGTH];
+        read(WalletBinaryFormat.Column.HASH160, index, payload, 1);
+        return Base58Utils.encodeBase58Check(payload);
+    }
+
+    /**
+     * @param index Índice de registro
+     * @return WIF recalculado desde la clave privada, con el sufijo 0x01
+     *         si el registro guarda la clave pública comprimida
+     */
+    public String getWif(long index) {
+        boolean compressed = (getFlags(index) & WalletBinaryFormat.FLAG_COMPRESSED_PUBLIC_KEY) != 0;
+        byte[] payload = new byte[1 + FixedBaseMultiplier.SCALAR_LENGTH + (compressed ? 1 : 0)];
+        payload[0] = (byte) 0x80;
+        read(WalletBinaryFormat.Column.PRIVATE_KEY, index, payload, 1);
+        if (compressed) {
+            payload[payload.length - 1] = 0x01;
+        }
+        String wif = Base58Utils.encodeBase58Check(payload);
+        Arrays.fill(payload, (byte) 0);
+        return wif;
+    }
+
+    /**
+     * @param index Índice de registro
+     * @return Cartera completa del registro
+     */
+    public WalletData getWallet(long index) {
+        byte[] privateKey = getPrivateKey(index);
+        try {
+            return new WalletData(HexUtils.encode(privateKey), getWif(index),
+                    HexUtils.encode(getPublicKey(index)), getAddress(index));
+        } finally {
+            Arrays.fill(privateKey, (byte) 0);
+        }
+    }
+
+    /**
+     * Recorre una columna completa en orden, copiando cada bloque de la
+     * columna de una vez.
+     *
+     * @param column  Columna
+     * @param visitor Destino de cada valor
+     */
+    public void scan(WalletBinaryFormat.Column column, ColumnVisitor visitor) {
+        int width = header.columnWidth(column);
+        byte[] values = new byte[header.blockRecords * width];
+        ByteBuffer view = data.duplicate();
+
+        try {
+            for (long block = 0; block < header.blockCount(); block++) {
+                int records = header.recordsInBlock(block);
+                view.position((int) (header.blockOffset(block) + header.columnOffset(column, records)));
+                view.get(values, 0, records * width);
+
+                long firstIndex = block * header.blockRecords;
+                for (int i = 0; i < records; i++) {
+                    visitor.visit(firstIndex + i, values, i * width, width);
+                }
+            }
+        } finally {
+            Arrays.fill(values, (byte) 0);
+        }
+    }
+
+    /**
+     * Comprueba el CRC32 de todos los bloques.
+     *
+     * @throws IOException Si algún bloque está dañado
+     */
+    public void verify() throws IOException {
+        byte[] block = new byte[(int) header.blockStride()];
+        ByteBuffer view = data.duplicate();
+
+        try {
+            for (long b = 0; b < header.blockCount(); b++) {
+                int length = header.recordsInBlock(b) * header.recordLength();
+                view.position((int) header.blockOffset(b));
+                view.get(block, 0, length + WalletBinaryFormat.CHECKSUM_LENGTH);
+
+                int stored = ByteBuffer.wrap(block, length, WalletBinaryFormat.CHECKSUM_LENGTH).getInt();
+                if (stored != WalletBinaryFormat.crc32(block, 0, length)) {
+                    throw new IOException("Checksum inválido en el bloque " + b);
+                }
+            }
+        } finally {
+            Arrays.fill(block, (byte) 0);
+        }
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= header.recordCount) {
+            throw new IndexOutOfBoundsException("Registro " + index + " de " + header.recordCount);
+        }
+    }
+}
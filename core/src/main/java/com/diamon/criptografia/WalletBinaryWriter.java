@@ -0,0 +1,175 @@
+package com.diamon.criptografia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escritor del formato binario columnar {@link WalletBinaryFormat}.
+ *
+ * Cada bloque del archivo corresponde a un bloque de
+ * {@link BulkWalletGenerator}, así que los hilos trabajadores escriben sus
+ * bloques directamente en su posición final del canal, en cualquier orden
+ * y sin cola intermedia. La cabecera con el número de registros se escribe
+ * al cerrar.
+ *
+ * En modo comprimido se guardan la clave pública de 33 bytes y su HASH160,
+ * obtenidos del punto ya calculado por el generador, con el flag
+ * {@link WalletBinaryFormat#FLAG_COMPRESSED_PUBLIC_KEY} en cada registro.
+ *
+ * <pre>
+ * try (RandomAccessFile file = new RandomAccessFile(path, "rw");
+ *      WalletBinaryWriter writer = new WalletBinaryWriter(file.getChannel())) {
+ *     generator.generateChunks(seeds, writer);
+ * }
+ * </pre>
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class WalletBinaryWriter implements BulkWalletGenerator.ChunkListener, Closeable {
+
+    private static final WalletBinaryFormat.Header UNCOMPRESSED_LAYOUT = new WalletBinaryFormat.Header(
+            WalletBinaryFormat.VERSION, CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH,
+            BulkWalletGenerator.CHUNK_SIZE, 0);
+
+    private static final WalletBinaryFormat.Header COMPRESSED_LAYOUT = new WalletBinaryFormat.Header(
+            WalletBinaryFormat.VERSION, CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH,
+            BulkWalletGenerator.CHUNK_SIZE, 0);
+
+    /**
+     * Buffer de bloque de cada hilo trabajador (del tamaño del bloque más
+     * grande de ambos modos).
+     */
+    private static final ThreadLocal<byte[]> BLOCK = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[(int) UNCOMPRESSED_LAYOUT.blockStride()];
+        }
+    };
+
+    private final FileChannel channel;
+    private final WalletBinaryFormat.Header layout;
+    private final boolean compressed;
+    private final AtomicLong recordCount = new AtomicLong();
+    private boolean closed;
+
+    /**
+     * @param channel Canal de destino, escrito desde la posición 0 (no se
+     *                cierra)
+     */
+    public WalletBinaryWriter(FileChannel channel) {
+        this(channel, false);
+    }
+
+    /**
+     * @param channel    Canal de destino, escrito desde la posición 0 (no se
+     *                   cierra)
+     * @param compressed true para guardar claves públicas comprimidas
+     */
+    public WalletBinaryWriter(FileChannel channel, boolean compressed) {
+        this.channel = channel;
+        this.compressed = compressed;
+        this.layout = compressed ? COMPRESSED_LAYOUT : UNCOMPRESSED_LAYOUT;
+    }
+
+    /**
+     * Compone el bloque en columnas y lo escribe en su posición.
+     *
+     * @throws IllegalStateException Si falla la escritura en el canal
+     */
+    @Override
+    public void onChunk(long firstIndex, int count, byte[] privateKeys, byte[] publicKeys, byte[] hash160s) {
+        if (firstIndex % layout.blockRecords != 0 || count > layout.blockRecords) {
+            throw new IllegalArgumentException("Bloque no alineado: " + firstIndex + " (" + count + ")");
+        }
+
+        byte[] block = BLOCK.get();
+        int privateKeysLength = count * FixedBaseMultiplier.SCALAR_LENGTH;
+        int publicKeysLength = count * layout.publicKeyLength;
+        int hash160sLength = count * HashUtils.HASH160_LENGTH;
+
+        int pos = 0;
+        System.arraycopy(privateKeys, 0, block, pos, privateKeysLength);
+        pos += privateKeysLength;
+        if (compressed) {
+            for (int i = 0; i < count; i++) {
+                int offset = pos + i * CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH;
+                CryptoUtils.compressPublicKey(publicKeys, i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH,
+                        block, offset);
+                HashUtils.hash160(block, offset, CryptoUtils.publicKeyLength(block, offset),
+                        block, pos + publicKeysLength + i * HashUtils.HASH160_LENGTH);
+            }
+            pos += publicKeysLength + hash160sLength;
+            Arrays.fill(block, pos, pos + count, (byte) WalletBinaryFormat.FLAG_COMPRESSED_PUBLIC_KEY);
+        } else {
+            System.arraycopy(publicKeys, 0, block, pos, publicKeysLength);
+            pos += publicKeysLength;
+            System.arraycopy(hash160s, 0, block, pos, hash160sLength);
+            pos += hash160sLength;
+            Arrays.fill(block, pos, pos + count, (byte) 0);
+        }
+        pos += count;
+
+        int crc = WalletBinaryFormat.crc32(block, 0, pos);
+        block[pos++] = (byte) (crc >>> 24);
+        block[pos++] = (byte) (crc >>> 16);
+        block[pos++] = (byte) (crc >>> 8);
+        block[pos++] = (byte) crc;
+
+        try {
+            writeFully(ByteBuffer.wrap(block, 0, pos), layout.blockOffset(firstIndex / layout.blockRecords));
+        } catch (IOException e) {
+            throw new IllegalStateException("Error al escribir el bloque " + firstIndex, e);
+        } finally {
+            Arrays.fill(block, 0, privateKeysLength, (byte) 0);
+        }
+
+        // Máximo de registros vistos (los bloques llegan desordenados)
+        long end = firstIndex + count;
+        long current;
+        while ((current = recordCount.get()) < end && !recordCount.compareAndSet(current, end)) {
+            // reintentar
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * @return Registros escritos hasta el momento
+     */
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    /**
+     * Escribe la cabecera final. El canal no se cierra.
+     *
+     * @throws IOException Si falla la escritura
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        WalletBinaryFormat.Header header = new WalletBinaryFormat.Header(layout.version, layout.publicKeyLength,
+                layout.blockRecords, recordCount.get());
+
+        // Recortar restos de un archivo anterior más largo
+        long end = header.blockCount() == 0 ? WalletBinaryFormat.HEADER_LENGTH
+                : header.blockOffset(header.blockCount() - 1)
+                + header.recordsInBlock(header.blockCount() - 1) * (long) header.recordLength()
+                + WalletBinaryFormat.CHECKSUM_LENGTH;
+        writeFully(WalletBinaryFormat.encodeHeader(header), 0);
+        channel.truncate(end);
+    }
+}
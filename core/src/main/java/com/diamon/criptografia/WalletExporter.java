@@ -0,0 +1,561 @@
+package com.diamon.criptografia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Exportador en streaming de carteras a CSV o JSONL.
+ *
+ * Recibe los bloques en bruto de
+ * {@link BulkWalletGenerator#generateChunks(java.util.Iterator, BulkWalletGenerator.ChunkListener)}
+ * a través de una cola acotada, y un único hilo escritor los codifica
+ * (hex, Base58Check y Bech32) directamente en un buffer de salida que se vuelca al
+ * canal. No se construyen Strings intermedios y la memoria se mantiene
+ * constante sin importar el número de filas.
+ *
+ * Las filas se escriben en el orden de entrada de las semillas.
+ *
+ * Uso típico:
+ *
+ * <pre>
+ * try (FileOutputStream out = new FileOutputStream(file);
+ *      WalletExporter exporter = new WalletExporter(out.getChannel(), WalletExporter.Format.CSV,
+ *              WalletExporter.Column.ADDRESS, WalletExporter.Column.WIF)) {
+ *     generator.generateChunks(seeds, exporter);
+ * }
+ * </pre>
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class WalletExporter implements BulkWalletGenerator.ChunkListener, Closeable {
+
+    /** Bloques en cola por defecto entre generadores y escritor */
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    /** Tamaño del buffer de salida */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int WIF_PAYLOAD_LENGTH = 1 + FixedBaseMultiplier.SCALAR_LENGTH;
+    private static final int COMPRESSED_WIF_PAYLOAD_LENGTH = WIF_PAYLOAD_LENGTH + 1;
+    private static final int ADDRESS_PAYLOAD_LENGTH = 1 + HashUtils.HASH160_LENGTH;
+
+    /**
+     * Formato de salida.
+     */
+    public enum Format {
+        /** Valores separados por comas, con fila de cabecera */
+        CSV,
+        /** Un objeto JSON por línea */
+        JSONL
+    }
+
+    /**
+     * Columnas exportables. Las variantes comprimidas y la dirección P2WPKH
+     * salen de la misma clave pública del bloque, sin otra multiplicación;
+     * P2TR añade el ajuste de Taproot (una multiplicación por clave, en lote).
+     */
+    public enum Column {
+        ADDRESS("address", Base58Utils.maxEncodedLength(ADDRESS_PAYLOAD_LENGTH + Base58Utils.CHECKSUM_LENGTH)),
+        PUBLIC_KEY_HEX("publicKeyHex", 2 * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH),
+        WIF("wif", Base58Utils.maxEncodedLength(WIF_PAYLOAD_LENGTH + Base58Utils.CHECKSUM_LENGTH)),
+        PRIVATE_KEY_HEX("privateKeyHex", 2 * FixedBaseMultiplier.SCALAR_LENGTH),
+        COMPRESSED_ADDRESS("compressedAddress",
+                Base58Utils.maxEncodedLength(ADDRESS_PAYLOAD_LENGTH + Base58Utils.CHECKSUM_LENGTH)),
+        COMPRESSED_PUBLIC_KEY_HEX("compressedPublicKeyHex", 2 * CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH),
+        COMPRESSED_WIF("compressedWif",
+                Base58Utils.maxEncodedLength(COMPRESSED_WIF_PAYLOAD_LENGTH + Base58Utils.CHECKSUM_LENGTH)),
+        P2WPKH_ADDRESS("p2wpkhAddress", Bech32Utils.encodedLength(Bech32Utils.MAINNET_HRP, HashUtils.HASH160_LENGTH)),
+        P2TR_ADDRESS("p2trAddress",
+                Bech32Utils.encodedLength(Bech32Utils.MAINNET_HRP, TaprootUtils.OUTPUT_KEY_LENGTH));
+
+        /** Nombre en la cabecera CSV o clave JSON */
+        public final String key;
+
+        /** Longitud máxima del valor codificado */
+        final int maxLength;
+
+        Column(String key, int maxLength) {
+            this.key = key;
+            this.maxLength = maxLength;
+        }
+    }
+
+    /**
+     * Copia de un bloque en cola. Solo se copian los buffers que necesitan
+     * las columnas seleccionadas.
+     */
+    private static final class Chunk {
+        long firstIndex;
+        int count;
+        final byte[] privateKeys;
+        final byte[] publicKeys;
+        final byte[] hash160s;
+        final byte[] compressedPublicKeys;
+        final byte[] compressedHash160s;
+        final byte[] outputKeys;
+        /** Filas sin clave de salida Taproot (clave pública en el infinito) */
+        final boolean[] missingOutputKeys;
+
+        Chunk(boolean privateKeys, boolean publicKeys, boolean hash160s, boolean compressedPublicKeys,
+                boolean compressedHash160s, boolean outputKeys) {
+            int size = BulkWalletGenerator.CHUNK_SIZE;
+            this.privateKeys = privateKeys ? new byte[size * FixedBaseMultiplier.SCALAR_LENGTH] : null;
+            this.publicKeys = publicKeys ? new byte[size * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH] : null;
+            this.hash160s = hash160s ? new byte[size * HashUtils.HASH160_LENGTH] : null;
+            this.compressedPublicKeys = compressedPublicKeys
+                    ? new byte[size * CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH] : null;
+            this.compressedHash160s = compressedHash160s ? new byte[size * HashUtils.HASH160_LENGTH] : null;
+            this.outputKeys = outputKeys ? new byte[size * TaprootUtils.OUTPUT_KEY_LENGTH] : null;
+            this.missingOutputKeys = outputKeys ? new boolean[size] : null;
+        }
+
+        void clear() {
+            if (privateKeys != null) {
+                Arrays.fill(privateKeys, (byte) 0);
+            }
+        }
+    }
+
+    /** Marca de fin para el hilo escritor */
+    private static final Chunk END = new Chunk(false, false, false, false, false, false);
+
+    private final WritableByteChannel channel;
+    private final Column[] columns;
+    private final boolean needsPrivateKeys;
+    private final boolean needsPublicKeys;
+    private final boolean needsHash160s;
+    private final boolean needsCompressedPublicKeys;
+    private final boolean needsCompressedHash160s;
+    private final boolean needsOutputKeys;
+
+    private final byte[][] valuePrefixes;
+    private final byte[] valueSuffix;
+    private final byte[] lineEnd;
+    private final int maxRowLength;
+
+    private final BlockingQueue<Chunk> queue;
+    private final BlockingQueue<Chunk> freeChunks;
+    private final Thread writer;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] payload = new byte[COMPRESSED_WIF_PAYLOAD_LENGTH];
+
+    private volatile IOException failure;
+    /** Índice de la siguiente fila que toca escribir; solo lo avanza el escritor */
+    private volatile long nextIndex;
+    private long rows;
+    private boolean closed;
+
+    /**
+     * Crea el exportador con la capacidad de cola por defecto.
+     *
+     * @param channel Canal de destino (no se cierra)
+     * @param format  Formato de salida
+     * @param columns Columnas a exportar, en orden
+     */
+    public WalletExporter(WritableByteChannel channel, Format format, Column... columns) {
+        this(channel, format, DEFAULT_QUEUE_CAPACITY, columns);
+    }
+
+    /**
+     * Crea el exportador y arranca su hilo escritor.
+     *
+     * @param channel       Canal de destino (no se cierra)
+     * @param format        Formato de salida
+     * @param queueCapacity Bloques que pueden esperar al escritor antes de
+     *                      bloquear a los generadores
+     * @param columns       Columnas a exportar, en orden
+     */
+    public WalletExporter(WritableByteChannel channel, Format format, int queueCapacity, Column... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Se requiere al menos una columna");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Capacidad de cola inválida: " + queueCapacity);
+        }
+
+        this.channel = channel;
+        this.columns = columns.clone();
+
+        boolean privateKeys = false;
+        boolean publicKeys = false;
+        boolean hash160s = false;
+        boolean compressedPublicKeys = false;
+        boolean compressedHash160s = false;
+        boolean outputKeys = false;
+        for (Column column : columns) {
+            privateKeys |= column == Column.WIF || column == Column.PRIVATE_KEY_HEX
+                    || column == Column.COMPRESSED_WIF;
+            publicKeys |= column == Column.PUBLIC_KEY_HEX;
+            hash160s |= column == Column.ADDRESS;
+            compressedPublicKeys |= column == Column.COMPRESSED_PUBLIC_KEY_HEX;
+            compressedHash160s |= column == Column.COMPRESSED_ADDRESS || column == Column.P2WPKH_ADDRESS;
+            outputKeys |= column == Column.P2TR_ADDRESS;
+        }
+        this.needsPrivateKeys = privateKeys;
+        this.needsPublicKeys = publicKeys;
+        this.needsHash160s = hash160s;
+        this.needsCompressedPublicKeys = compressedPublicKeys;
+        this.needsCompressedHash160s = compressedHash160s;
+        this.needsOutputKeys = outputKeys;
+
+        // Prefijos y sufijos de cada valor ya codificados en ASCII
+        this.valuePrefixes = new byte[columns.length][];
+        int rowLength = 0;
+        for (int i = 0; i < columns.length; i++) {
+            String prefix;
+            if (format == Format.JSONL) {
+                prefix = (i == 0 ? "{" : ",") + "\"" + columns[i].key + "\":\"";
+            } else {
+                prefix = i == 0 ? "" : ",";
+            }
+            valuePrefixes[i] = prefix.getBytes(StandardCharsets.US_ASCII);
+            rowLength += valuePrefixes[i].length + columns[i].maxLength;
+        }
+        this.valueSuffix = (format == Format.JSONL ? "\"" : "").getBytes(StandardCharsets.US_ASCII);
+        this.lineEnd = (format == Format.JSONL ? "}\n" : "\n").getBytes(StandardCharsets.US_ASCII);
+        this.maxRowLength = rowLength + columns.length * valueSuffix.length + lineEnd.length;
+
+        if (format == Format.CSV) {
+            StringBuilder header = new StringBuilder();
+            for (int i = 0; i < columns.length; i++) {
+                header.append(i == 0 ? "" : ",").append(columns[i].key);
+            }
+            buffer.put(header.append('\n').toString().getBytes(StandardCharsets.US_ASCII));
+        }
+
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.freeChunks = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }, "wallet-exporter");
+        writer.start();
+    }
+
+    /**
+     * Copia el bloque y lo encola para el escritor. Bloquea mientras la cola
+     * está llena. Las claves comprimidas, su HASH160 y las claves de salida
+     * Taproot se calculan aquí, en el hilo trabajador, para no cargar al
+     * único hilo escritor.
+     *
+     * @throws IllegalArgumentException Si las filas del bloque ya se
+     *                                  escribieron (p. ej. al reutilizar el
+     *                                  exportador para otra generación)
+     */
+    @Override
+    public void onChunk(long firstIndex, int count, byte[] privateKeys, byte[] publicKeys, byte[] hash160s)
+            throws InterruptedException {
+        if (failure != null) {
+            throw new IllegalStateException("Error al escribir la exportación", failure);
+        }
+        if (firstIndex < nextIndex) {
+            throw new IllegalArgumentException("Bloque ya escrito: índice " + firstIndex
+                    + ", siguiente " + nextIndex);
+        }
+
+        Chunk chunk = freeChunks.poll();
+        if (chunk == null) {
+            chunk = new Chunk(needsPrivateKeys, needsPublicKeys, needsHash160s, needsCompressedPublicKeys,
+                    needsCompressedHash160s, needsOutputKeys);
+        }
+        chunk.firstIndex = firstIndex;
+        chunk.count = count;
+        if (needsPrivateKeys) {
+            System.arraycopy(privateKeys, 0, chunk.privateKeys, 0, count * FixedBaseMultiplier.SCALAR_LENGTH);
+        }
+        if (needsPublicKeys) {
+            System.arraycopy(publicKeys, 0, chunk.publicKeys, 0, count * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH);
+        }
+        if (needsHash160s) {
+            System.arraycopy(hash160s, 0, chunk.hash160s, 0, count * HashUtils.HASH160_LENGTH);
+        }
+        if (needsCompressedPublicKeys || needsCompressedHash160s) {
+            compress(count, publicKeys, chunk);
+        }
+        if (needsOutputKeys) {
+            outputKeys(count, publicKeys, chunk);
+        }
+
+        queue.put(chunk);
+    }
+
+    /**
+     * Claves de salida Taproot del bloque, en lote. Si alguna no existe (la
+     * clave pública es el punto en el infinito), se calculan fila a fila y
+     * esas filas quedan sin dirección P2TR en lugar de hacer fallar el
+     * bloque.
+     */
+    private static void outputKeys(int count, byte[] publicKeys, Chunk chunk) {
+        Arrays.fill(chunk.missingOutputKeys, 0, count, false);
+        try {
+            TaprootUtils.outputKeys(publicKeys, 0, CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH, count,
+                    chunk.outputKeys, 0);
+        } catch (IllegalArgumentException e) {
+            for (int i = 0; i < count; i++) {
+                try {
+                    TaprootUtils.outputKeys(publicKeys, i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH,
+                            CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH, 1, chunk.outputKeys,
+                            i * TaprootUtils.OUTPUT_KEY_LENGTH);
+                } catch (IllegalArgumentException invalid) {
+                    chunk.missingOutputKeys[i] = true;
+                }
+            }
+        }
+    }
+
+    private void compress(int count, byte[] publicKeys, Chunk chunk) {
+        byte[] key = new byte[CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH];
+        for (int i = 0; i < count; i++) {
+            CryptoUtils.compressPublicKey(publicKeys, i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH, key, 0);
+            if (needsCompressedPublicKeys) {
+                System.arraycopy(key, 0, chunk.compressedPublicKeys, i * key.length, key.length);
+            }
+            if (needsCompressedHash160s) {
+                HashUtils.hash160(key, 0, CryptoUtils.publicKeyLength(key, 0), chunk.compressedHash160s,
+                        i * HashUtils.HASH160_LENGTH);
+            }
+        }
+    }
+
+    /**
+     * Bucle del hilo escritor: reordena los bloques por índice y los escribe.
+     * Un bloque repetido, o bloques que siguen esperando a un hueco cuando
+     * llega la marca de fin, cuentan como fallo.
+     *
+     * Tras cualquier fallo (del canal, de la codificación o una
+     * interrupción) deja de escribir pero sigue vaciando la cola hasta la
+     * marca de fin, para que ni los generadores ni {@link #close()} queden
+     * bloqueados en la cola llena.
+     */
+    private void writeLoop() {
+        // Bloques llegados antes de su turno; acotado por los bloques en
+        // vuelo del generador
+        Map<Long, Chunk> waiting = new HashMap<>();
+
+        try {
+            while (true) {
+                Chunk chunk;
+                try {
+                    chunk = queue.take();
+                } catch (InterruptedException e) {
+                    fail(new InterruptedIOException("Exportación interrumpida"));
+                    continue;
+                }
+                if (chunk == END) {
+                    break;
+                }
+
+                if (chunk.firstIndex < nextIndex || waiting.containsKey(chunk.firstIndex)) {
+                    fail(new IOException("Bloque repetido en el índice " + chunk.firstIndex));
+                    recycle(chunk);
+                } else {
+                    waiting.put(chunk.firstIndex, chunk);
+                }
+                if (failure == null) {
+                    try {
+                        Chunk ready;
+                        while ((ready = waiting.get(nextIndex)) != null) {
+                            writeChunk(ready);
+                            waiting.remove(nextIndex);
+                            nextIndex += ready.count;
+                            recycle(ready);
+                        }
+                    } catch (Throwable t) {
+                        fail(t);
+                    }
+                }
+                if (failure != null) {
+                    for (Chunk discarded : waiting.values()) {
+                        recycle(discarded);
+                    }
+                    waiting.clear();
+                }
+            }
+
+            if (failure == null && !waiting.isEmpty()) {
+                fail(new IOException("Faltan filas desde el índice " + nextIndex
+                        + "; hay bloques posteriores sin escribir"));
+            }
+            if (failure == null) {
+                try {
+                    flush();
+                } catch (Throwable t) {
+                    fail(t);
+                }
+            }
+        } finally {
+            // Bloques que nunca llegaron a su turno (generación abortada)
+            for (Chunk chunk : waiting.values()) {
+                chunk.clear();
+            }
+            Arrays.fill(payload, (byte) 0);
+        }
+    }
+
+    /**
+     * Registra el primer fallo del escritor; los errores que no son de E/S
+     * se envuelven para que {@link #close()} los lance igual.
+     */
+    private void fail(Throwable t) {
+        if (failure == null) {
+            failure = t instanceof IOException ? (IOException) t
+                    : new IOException("Error al escribir la exportación", t);
+        }
+    }
+
+    private void writeChunk(Chunk chunk) throws IOException {
+        for (int i = 0; i < chunk.count; i++) {
+            if (buffer.remaining() < maxRowLength) {
+                flush();
+            }
+            writeRow(chunk, i);
+        }
+    }
+
+    private void writeRow(Chunk chunk, int row) {
+        byte[] out = buffer.array();
+        int pos = buffer.arrayOffset() + buffer.position();
+
+        for (int c = 0; c < columns.length; c++) {
+            byte[] prefix = valuePrefixes[c];
+            System.arraycopy(prefix, 0, out, pos, prefix.length);
+            pos += prefix.length;
+
+            switch (columns[c]) {
+                case ADDRESS:
+                    payload[0] = 0x00;
+                    System.arraycopy(chunk.hash160s, row * HashUtils.HASH160_LENGTH, payload, 1,
+                            HashUtils.HASH160_LENGTH);
+                    pos += Base58Utils.encodeBase58Check(payload, 0, ADDRESS_PAYLOAD_LENGTH, out, pos);
+                    break;
+                case PUBLIC_KEY_HEX:
+                    pos += HexUtils.encode(chunk.publicKeys, row * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH,
+                            CryptoUtils.publicKeyLength(chunk.publicKeys,
+                                    row * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH),
+                            out, pos);
+                    break;
+                case WIF:
+                    payload[0] = (byte) 0x80;
+                    System.arraycopy(chunk.privateKeys, row * FixedBaseMultiplier.SCALAR_LENGTH, payload, 1,
+                            FixedBaseMultiplier.SCALAR_LENGTH);
+                    pos += Base58Utils.encodeBase58Check(payload, 0, WIF_PAYLOAD_LENGTH, out, pos);
+                    break;
+                case PRIVATE_KEY_HEX:
+                    pos += HexUtils.encode(chunk.privateKeys, row * FixedBaseMultiplier.SCALAR_LENGTH,
+                            FixedBaseMultiplier.SCALAR_LENGTH, out, pos);
+                    break;
+                case COMPRESSED_ADDRESS:
+                    payload[0] = 0x00;
+                    System.arraycopy(chunk.compressedHash160s, row * HashUtils.HASH160_LENGTH, payload, 1,
+                            HashUtils.HASH160_LENGTH);
+                    pos += Base58Utils.encodeBase58Check(payload, 0, ADDRESS_PAYLOAD_LENGTH, out, pos);
+                    break;
+                case COMPRESSED_PUBLIC_KEY_HEX:
+                    pos += HexUtils.encode(chunk.compressedPublicKeys, row * CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH,
+                            CryptoUtils.publicKeyLength(chunk.compressedPublicKeys,
+                                    row * CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH),
+                            out, pos);
+                    break;
+                case COMPRESSED_WIF:
+                    payload[0] = (byte) 0x80;
+                    System.arraycopy(chunk.privateKeys, row * FixedBaseMultiplier.SCALAR_LENGTH, payload, 1,
+                            FixedBaseMultiplier.SCALAR_LENGTH);
+                    payload[WIF_PAYLOAD_LENGTH] = 0x01;
+                    pos += Base58Utils.encodeBase58Check(payload, 0, COMPRESSED_WIF_PAYLOAD_LENGTH, out, pos);
+                    break;
+                case P2WPKH_ADDRESS:
+                    pos += Bech32Utils.encodeSegwitAddress(Bech32Utils.MAINNET_HRP, 0, chunk.compressedHash160s,
+                            row * HashUtils.HASH160_LENGTH, HashUtils.HASH160_LENGTH, out, pos);
+                    break;
+                case P2TR_ADDRESS:
+                    if (chunk.missingOutputKeys[row]) {
+                        break;
+                    }
+                    pos += Bech32Utils.encodeSegwitAddress(Bech32Utils.MAINNET_HRP, 1, chunk.outputKeys,
+                            row * TaprootUtils.OUTPUT_KEY_LENGTH, TaprootUtils.OUTPUT_KEY_LENGTH, out, pos);
+                    break;
+            }
+
+            System.arraycopy(valueSuffix, 0, out, pos, valueSuffix.length);
+            pos += valueSuffix.length;
+        }
+
+        System.arraycopy(lineEnd, 0, out, pos, lineEnd.length);
+        pos += lineEnd.length;
+
+        buffer.position(pos - buffer.arrayOffset());
+        rows++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        // El buffer puede contener claves privadas codificadas
+        Arrays.fill(buffer.array(), buffer.arrayOffset(), buffer.arrayOffset() + buffer.limit(), (byte) 0);
+        buffer.clear();
+    }
+
+    private void recycle(Chunk chunk) {
+        chunk.clear();
+        freeChunks.offer(chunk);
+    }
+
+    /**
+     * @return Filas de datos escritas (sin contar la cabecera). Válido tras
+     *         {@link #close()}
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Espera a que el escritor vacíe la cola y vuelca el buffer al canal.
+     * El canal no se cierra.
+     *
+     * @throws IOException Si falló alguna escritura en el canal
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(END);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            while (writer.isAlive()) {
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
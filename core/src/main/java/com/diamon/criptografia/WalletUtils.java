@@ -0,0 +1,146 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.model.RawWalletData;
+import com.diamon.criptografia.model.WalletData;
+
+import java.util.Arrays;
+
+/**
+ * Punto de entrada del núcleo de derivación de carteras Bitcoin.
+ *
+ * Encadena semilla → clave privada → WIF / clave pública / dirección sin
+ * depender de Android, de modo que puede usarse tanto desde la app como
+ * desde una JVM de servidor.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class WalletUtils {
+
+    private WalletUtils() {
+    }
+
+    /**
+     * Genera la cartera a partir de los bytes de la semilla.
+     *
+     * Proceso: PrivateKey = SHA256(SHA256(seed))
+     *
+     * @param seed Bytes de la semilla (texto o archivo)
+     * @return Datos completos de la cartera
+     */
+    public static WalletData fromSeed(byte[] seed) {
+        return fromPrivateKey(CryptoUtils.generatePrivateKey(seed));
+    }
+
+    /**
+     * Genera la cartera a partir del primer SHA-256 de la semilla, tal como
+     * lo calcula {@link SeedDigestOutputStream} para archivos.
+     *
+     * @param seedDigest SHA-256 de la semilla procesada (32 bytes)
+     * @return Datos completos de la cartera
+     */
+    public static WalletData fromSeedDigest(byte[] seedDigest) {
+        return fromPrivateKey(CryptoUtils.generatePrivateKeyFromSeedDigest(seedDigest));
+    }
+
+    /**
+     * Deriva WIF, clave pública y dirección desde la clave privada, en sus
+     * variantes no comprimida y comprimida. Ambas salen de la misma
+     * multiplicación k·G: la clave comprimida se obtiene del punto ya
+     * calculado.
+     *
+     * @param privateKey Clave privada de 32 bytes
+     * @return Datos completos de la cartera
+     */
+    public static WalletData fromPrivateKey(byte[] privateKey) {
+        String privateKeyHex = CryptoUtils.bytesToHex(privateKey);
+
+        // Generar WIF
+        String wif = CryptoUtils.generateWIF(privateKey);
+        String compressedWif = CryptoUtils.generateWIF(privateKey, true);
+
+        // Derivar clave pública
+        byte[] publicKey = CryptoUtils.derivePublicKey(privateKey);
+        byte[] compressedPublicKey = CryptoUtils.compressPublicKey(publicKey);
+        String publicKeyHex = CryptoUtils.bytesToHex(publicKey);
+        String compressedPublicKeyHex = CryptoUtils.bytesToHex(compressedPublicKey);
+
+        // Generar dirección Bitcoin
+        String address = CryptoUtils.generateAddress(publicKey);
+        String compressedAddress = CryptoUtils.generateAddress(compressedPublicKey);
+
+        return new WalletData(privateKeyHex, wif, publicKeyHex, address,
+                compressedWif, compressedPublicKeyHex, compressedAddress);
+    }
+
+    /**
+     * Genera la cartera a partir de la semilla endurecida con scrypt.
+     *
+     * Proceso: PrivateKey = scrypt(seed, salt, N, r, p) según los parámetros
+     * del {@link SeedStretcher}
+     *
+     * @param seed      Bytes de la semilla
+     * @param salt      Sal adicional (puede ser vacía)
+     * @param stretcher Endurecedor con los parámetros de coste
+     * @return Datos completos de la cartera
+     * @throws InterruptedException Si el hilo es interrumpido durante el
+     *                              endurecimiento
+     */
+    public static WalletData fromStretchedSeed(byte[] seed, byte[] salt, SeedStretcher stretcher)
+            throws InterruptedException {
+        byte[] privateKey = stretcher.stretch(seed, salt);
+        try {
+            return fromPrivateKey(privateKey);
+        } finally {
+            Arrays.fill(privateKey, (byte) 0);
+        }
+    }
+
+    /**
+     * Prepara el núcleo para que la primera cartera real cueste lo mismo que
+     * las siguientes: construye la tabla de base fija de secp256k1, pasa la
+     * autoprueba de los backends de {@link CryptoBackends} para que se usen
+     * desde la primera cartera, crea los digests del hilo actual y carga las
+     * clases de hex y Base58 derivando una cartera descartable (clave
+     * privada 1).
+     *
+     * Conviene llamarlo en segundo plano, en el mismo hilo que luego hará
+     * la derivación. Es seguro llamarlo varias veces.
+     */
+    public static void warmUp() {
+        FixedBaseMultiplier.getInstance();
+        CryptoBackends.selfTest();
+
+        byte[] privateKey = new byte[FixedBaseMultiplier.SCALAR_LENGTH];
+        privateKey[privateKey.length - 1] = 1;
+        fromPrivateKey(privateKey);
+        fromSeed(privateKey);
+    }
+
+    /**
+     * Genera la cartera respaldada por bytes a partir de la semilla. Las
+     * representaciones en texto se calculan solo si se piden.
+     *
+     * @param seed Bytes de la semilla (texto o archivo)
+     * @return Cartera respaldada por bytes
+     */
+    public static RawWalletData rawFromSeed(byte[] seed) {
+        byte[] privateKey = CryptoUtils.generatePrivateKey(seed);
+        try {
+            return rawFromPrivateKey(privateKey);
+        } finally {
+            Arrays.fill(privateKey, (byte) 0);
+        }
+    }
+
+    /**
+     * Deriva clave pública y HASH160 desde la clave privada.
+     *
+     * @param privateKey Clave privada de 32 bytes (se copia)
+     * @return Cartera respaldada por bytes
+     */
+    public static RawWalletData rawFromPrivateKey(byte[] privateKey) {
+        byte[] publicKey = CryptoUtils.derivePublicKey(privateKey);
+        return new RawWalletData(privateKey, publicKey, HashUtils.hash160(publicKey));
+    }
+}
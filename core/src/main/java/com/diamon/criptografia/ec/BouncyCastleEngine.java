@@ -0,0 +1,77 @@
+package com.diamon.criptografia.ec;
+
+import com.diamon.criptografia.FixedBaseMultiplier;
+
+import org.bouncycastle.math.ec.ECPoint;
+
+/**
+ * Motor de referencia sobre Bouncy Castle y la tabla de
+ * {@link FixedBaseMultiplier}.
+ *
+ * No es de tiempo constante (salta los dígitos nulos) y crea objetos
+ * {@link ECPoint} por operación, pero su aritmética está ampliamente
+ * probada; sirve para contrastar los demás motores.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class BouncyCastleEngine implements EcEngine {
+
+    /** Nombre del motor */
+    public static final String NAME = "bouncycastle";
+
+    /** Puntos normalizados juntos con una sola inversión */
+    private static final int BATCH_SIZE = 64;
+
+    private static final BouncyCastleEngine INSTANCE = new BouncyCastleEngine();
+
+    private BouncyCastleEngine() {
+    }
+
+    /**
+     * @return Instancia compartida
+     */
+    public static BouncyCastleEngine getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void derivePublicKey(byte[] privateKey, int privateKeyOffset, byte[] publicKey, int publicKeyOffset) {
+        derivePublicKeys(privateKey, privateKeyOffset, publicKey, publicKeyOffset, 1);
+    }
+
+    @Override
+    public void derivePublicKeys(byte[] privateKeys, int privateKeysOffset,
+            byte[] publicKeys, int publicKeysOffset, int count) {
+        FixedBaseMultiplier multiplier = FixedBaseMultiplier.getInstance();
+        ECPoint[] points = new ECPoint[Math.min(BATCH_SIZE, count)];
+
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            int chunk = Math.min(BATCH_SIZE, count - start);
+
+            for (int i = 0; i < chunk; i++) {
+                int keyOffset = privateKeysOffset + (start + i) * FixedBaseMultiplier.SCALAR_LENGTH;
+                points[i] = multiplier.multiplyRaw(privateKeys, keyOffset);
+            }
+
+            multiplier.getCurve().normalizeAll(points, 0, chunk, null);
+
+            for (int i = 0; i < chunk; i++) {
+                ECPoint q = points[i];
+                if (q.isInfinity()) {
+                    throw new IllegalArgumentException("Clave privada inválida en la posición " + (start + i));
+                }
+
+                int out = publicKeysOffset + (start + i) * PUBLIC_KEY_LENGTH;
+                publicKeys[out] = 0x04;
+                q.getAffineXCoord().encodeTo(publicKeys, out + 1);
+                q.getAffineYCoord().encodeTo(publicKeys, out + 33);
+            }
+        }
+    }
+}
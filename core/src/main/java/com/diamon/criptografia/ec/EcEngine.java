@@ -0,0 +1,51 @@
+package com.diamon.criptografia.ec;
+
+/**
+ * Motor de multiplicación por el generador de secp256k1 (k * G).
+ *
+ * Trabaja sobre buffers: lee escalares big-endian de 32 bytes y escribe
+ * claves públicas no comprimidas de 65 bytes (0x04 + X + Y). Escalares
+ * mayores o iguales que n se reducen módulo n.
+ *
+ * Las implementaciones deben ser seguras entre hilos.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public interface EcEngine {
+
+    /** Longitud en bytes de la clave pública no comprimida */
+    int PUBLIC_KEY_LENGTH = 65;
+
+    /**
+     * @return Nombre corto del motor
+     */
+    String getName();
+
+    /**
+     * Deriva una clave pública.
+     *
+     * @param privateKey       Buffer con la clave privada
+     * @param privateKeyOffset Posición de la clave privada
+     * @param publicKey        Buffer de salida (65 bytes libres)
+     * @param publicKeyOffset  Posición donde escribir la clave pública
+     * @throws IllegalArgumentException Si la clave es congruente con 0
+     *                                  módulo n (punto en el infinito)
+     */
+    void derivePublicKey(byte[] privateKey, int privateKeyOffset, byte[] publicKey, int publicKeyOffset);
+
+    /**
+     * Deriva {@code count} claves públicas consecutivas, compartiendo
+     * el trabajo que se pueda entre ellas.
+     *
+     * @param privateKeys       Buffer con las claves privadas
+     * @param privateKeysOffset Posición de la primera clave privada
+     * @param publicKeys        Buffer de salida (65 * count bytes libres)
+     * @param publicKeysOffset  Posición donde escribir la primera clave pública
+     * @param count             Número de claves a derivar
+     * @throws IllegalArgumentException Si alguna clave es congruente con 0
+     *                                  módulo n
+     */
+    void derivePublicKeys(byte[] privateKeys, int privateKeysOffset,
+            byte[] publicKeys, int publicKeysOffset, int count);
+}
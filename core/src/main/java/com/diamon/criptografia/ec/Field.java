@@ -0,0 +1,466 @@
+package com.diamon.criptografia.ec;
+
+/**
+ * Aritmética del cuerpo primo de secp256k1, p = 2^256 - 2^32 - 977, sobre
+ * 10 limbs de 26 bits en un int[] (valor = Σ limb[i]·2^(26·i)).
+ *
+ * Los productos de limbs caben en un long sin necesidad de enteros de 128
+ * bits, que Java no tiene. La reducción usa 2^260 ≡ 0x1000003D10 (mod p).
+ *
+ * Los resultados quedan "débilmente normalizados": limbs menores que 2^27
+ * y valor congruente con el resultado exacto.
+ * {@link #normalize(int[])} da la representación canónica en [0, p).
+ *
+ * Ninguna operación tiene ramas ni accesos que dependan de los valores.
+ * Las salidas pueden coincidir con las entradas.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+final class Field {
+
+    /** Limbs por elemento */
+    static final int LIMBS = 10;
+
+    private static final int MASK = 0x3FFFFFF;
+
+    /** 2^260 mod p repartido en los limbs 0 y 1: 0x400·2^26 + 0x3D10 */
+    private static final long R0 = 0x3D10;
+    private static final long R1 = 0x400;
+
+    /** 32·p en limbs (todos mayores que cualquier limb débilmente normalizado) */
+    private static final int[] P32 = {
+            0x7FF85E0, 0x7FFF7FE, 0x7FFFFFE, 0x7FFFFFE, 0x7FFFFFE,
+            0x7FFFFFE, 0x7FFFFFE, 0x7FFFFFE, 0x7FFFFFE, 0x7FFFFFE };
+
+    private Field() {
+    }
+
+    static void copy(int[] r, int[] a) {
+        System.arraycopy(a, 0, r, 0, LIMBS);
+    }
+
+    static void setInt(int[] r, int value) {
+        r[0] = value;
+        for (int i = 1; i < LIMBS; i++) {
+            r[i] = 0;
+        }
+    }
+
+    /**
+     * r = a si mask == -1, sin cambios si mask == 0.
+     */
+    static void cmov(int[] r, int[] a, int mask) {
+        for (int i = 0; i < LIMBS; i++) {
+            r[i] ^= (r[i] ^ a[i]) & mask;
+        }
+    }
+
+    static void add(int[] r, int[] a, int[] b) {
+        for (int i = 0; i < LIMBS; i++) {
+            r[i] = a[i] + b[i];
+        }
+        carry(r);
+    }
+
+    static void sub(int[] r, int[] a, int[] b) {
+        for (int i = 0; i < LIMBS; i++) {
+            r[i] = a[i] + P32[i] - b[i];
+        }
+        carry(r);
+    }
+
+    /**
+     * r = a - b sin propagar acarreos: limbs de hasta 2^28, válido solo
+     * como entrada de {@link #mul} o {@link #sqr}.
+     */
+    static void subUnreduced(int[] r, int[] a, int[] b) {
+        for (int i = 0; i < LIMBS; i++) {
+            r[i] = a[i] + P32[i] - b[i];
+        }
+    }
+
+    /**
+     * r = p·k - a (negación), para a débilmente normalizado.
+     */
+    static void negate(int[] r, int[] a) {
+        for (int i = 0; i < LIMBS; i++) {
+            r[i] = P32[i] - a[i];
+        }
+        carry(r);
+    }
+
+    /**
+     * Propaga acarreos y pliega lo que exceda 2^260.
+     */
+    private static void carry(int[] r) {
+        long c = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            c += r[i];
+            r[i] = (int) (c & MASK);
+            c >>>= 26;
+        }
+        fold(r, c);
+    }
+
+    /**
+     * Suma c·2^260 ≡ c·0x1000003D10 a los limbs bajos. Tras dos rondas el
+     * acarreo residual es como mucho 1 y queda en los limbs 0 y 1.
+     */
+    private static void fold(int[] r, long c) {
+        long t = r[0] + c * R0;
+        r[0] = (int) (t & MASK);
+        t = r[1] + c * R1 + (t >>> 26);
+        r[1] = (int) (t & MASK);
+        t >>>= 26;
+        for (int i = 2; i < LIMBS; i++) {
+            t += r[i];
+            r[i] = (int) (t & MASK);
+            t >>>= 26;
+        }
+        r[0] += (int) (t * R0);
+        r[1] += (int) (t * R1);
+    }
+
+    /**
+     * r = a·b. Admite limbs de hasta 2^28 en las entradas (resultados de
+     * {@link #subUnreduced}); la salida tiene limbs menores que 2^27.
+     */
+    static void mul(int[] r, int[] a, int[] b) {
+        long a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3], a4 = a[4];
+        long a5 = a[5], a6 = a[6], a7 = a[7], a8 = a[8], a9 = a[9];
+        long b0 = b[0], b1 = b[1], b2 = b[2], b3 = b[3], b4 = b[4];
+        long b5 = b[5], b6 = b[6], b7 = b[7], b8 = b[8], b9 = b[9];
+
+        // Columna k en c y columna k + 10 en h: cada dígito de 26 bits de h
+        // vale 2^260 veces su posición y entra en c como u·R0 + u·R1·2^26
+        long h = a1 * b9 + a2 * b8 + a3 * b7 + a4 * b6 + a5 * b5 + a6 * b4 + a7 * b3 + a8 * b2 + a9 * b1;
+        long u = h & MASK;
+        h >>>= 26;
+        long c = a0 * b0 + u * R0;
+        long t0 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a2 * b9 + a3 * b8 + a4 * b7 + a5 * b6 + a6 * b5 + a7 * b4 + a8 * b3 + a9 * b2;
+        u = h & MASK;
+        h >>>= 26;
+        c += a0 * b1 + a1 * b0 + u * R0;
+        long t1 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a3 * b9 + a4 * b8 + a5 * b7 + a6 * b6 + a7 * b5 + a8 * b4 + a9 * b3;
+        u = h & MASK;
+        h >>>= 26;
+        c += a0 * b2 + a1 * b1 + a2 * b0 + u * R0;
+        long t2 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a4 * b9 + a5 * b8 + a6 * b7 + a7 * b6 + a8 * b5 + a9 * b4;
+        u = h & MASK;
+        h >>>= 26;
+        c += a0 * b3 + a1 * b2 + a2 * b1 + a3 * b0 + u * R0;
+        long t3 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a5 * b9 + a6 * b8 + a7 * b7 + a8 * b6 + a9 * b5;
+        u = h & MASK;
+        h >>>= 26;
+        c += a0 * b4 + a1 * b3 + a2 * b2 + a3 * b1 + a4 * b0 + u * R0;
+        long t4 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a6 * b9 + a7 * b8 + a8 * b7 + a9 * b6;
+        u = h & MASK;
+        h >>>= 26;
+        c += a0 * b5 + a1 * b4 + a2 * b3 + a3 * b2 + a4 * b1 + a5 * b0 + u * R0;
+        long t5 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a7 * b9 + a8 * b8 + a9 * b7;
+        u = h & MASK;
+        h >>>= 26;
+        c += a0 * b6 + a1 * b5 + a2 * b4 + a3 * b3 + a4 * b2 + a5 * b1 + a6 * b0 + u * R0;
+        long t6 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a8 * b9 + a9 * b8;
+        u = h & MASK;
+        h >>>= 26;
+        c += a0 * b7 + a1 * b6 + a2 * b5 + a3 * b4 + a4 * b3 + a5 * b2 + a6 * b1 + a7 * b0 + u * R0;
+        long t7 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a9 * b9;
+        u = h & MASK;
+        h >>>= 26;
+        c += a0 * b8 + a1 * b7 + a2 * b6 + a3 * b5 + a4 * b4 + a5 * b3 + a6 * b2 + a7 * b1 + a8 * b0 + u * R0;
+        long t8 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        // Lo que queda de h (< 2^31) ocupa la posición 9
+        c += a0 * b9 + a1 * b8 + a2 * b7 + a3 * b6 + a4 * b5 + a5 * b4 + a6 * b3 + a7 * b2 + a8 * b1 + a9 * b0
+                + h * R0;
+        long t9 = c & MASK;
+        c = (c >>> 26) + h * R1;
+
+        // c está en la posición 10 (2^260): último pliegue
+        long top = c;
+        c = t0 + top * R0;
+        r[0] = (int) (c & MASK);
+        c = t1 + top * R1 + (c >>> 26);
+        r[1] = (int) (c & MASK);
+        r[2] = (int) (t2 + (c >>> 26));
+        r[3] = (int) t3;
+        r[4] = (int) t4;
+        r[5] = (int) t5;
+        r[6] = (int) t6;
+        r[7] = (int) t7;
+        r[8] = (int) t8;
+        r[9] = (int) t9;
+    }
+
+    /**
+     * r = a², con las mismas cotas que {@link #mul}.
+     */
+    static void sqr(int[] r, int[] a) {
+        long a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3], a4 = a[4];
+        long a5 = a[5], a6 = a[6], a7 = a[7], a8 = a[8], a9 = a[9];
+        long d0 = a0 << 1, d1 = a1 << 1, d2 = a2 << 1, d3 = a3 << 1, d4 = a4 << 1;
+        long d5 = a5 << 1, d6 = a6 << 1, d7 = a7 << 1, d8 = a8 << 1;
+
+        // Columna k en c y columna k + 10 en h: cada dígito de 26 bits de h
+        // vale 2^260 veces su posición y entra en c como u·R0 + u·R1·2^26
+        long h = d1 * a9 + d2 * a8 + d3 * a7 + d4 * a6 + a5 * a5;
+        long u = h & MASK;
+        h >>>= 26;
+        long c = a0 * a0 + u * R0;
+        long t0 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += d2 * a9 + d3 * a8 + d4 * a7 + d5 * a6;
+        u = h & MASK;
+        h >>>= 26;
+        c += d0 * a1 + u * R0;
+        long t1 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += d3 * a9 + d4 * a8 + d5 * a7 + a6 * a6;
+        u = h & MASK;
+        h >>>= 26;
+        c += d0 * a2 + a1 * a1 + u * R0;
+        long t2 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += d4 * a9 + d5 * a8 + d6 * a7;
+        u = h & MASK;
+        h >>>= 26;
+        c += d0 * a3 + d1 * a2 + u * R0;
+        long t3 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += d5 * a9 + d6 * a8 + a7 * a7;
+        u = h & MASK;
+        h >>>= 26;
+        c += d0 * a4 + d1 * a3 + a2 * a2 + u * R0;
+        long t4 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += d6 * a9 + d7 * a8;
+        u = h & MASK;
+        h >>>= 26;
+        c += d0 * a5 + d1 * a4 + d2 * a3 + u * R0;
+        long t5 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += d7 * a9 + a8 * a8;
+        u = h & MASK;
+        h >>>= 26;
+        c += d0 * a6 + d1 * a5 + d2 * a4 + a3 * a3 + u * R0;
+        long t6 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += d8 * a9;
+        u = h & MASK;
+        h >>>= 26;
+        c += d0 * a7 + d1 * a6 + d2 * a5 + d3 * a4 + u * R0;
+        long t7 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        h += a9 * a9;
+        u = h & MASK;
+        h >>>= 26;
+        c += d0 * a8 + d1 * a7 + d2 * a6 + d3 * a5 + a4 * a4 + u * R0;
+        long t8 = c & MASK;
+        c = (c >>> 26) + u * R1;
+
+        // Lo que queda de h (< 2^31) ocupa la posición 9
+        c += d0 * a9 + d1 * a8 + d2 * a7 + d3 * a6 + d4 * a5 + h * R0;
+        long t9 = c & MASK;
+        c = (c >>> 26) + h * R1;
+
+        // c está en la posición 10 (2^260): último pliegue
+        long top = c;
+        c = t0 + top * R0;
+        r[0] = (int) (c & MASK);
+        c = t1 + top * R1 + (c >>> 26);
+        r[1] = (int) (c & MASK);
+        r[2] = (int) (t2 + (c >>> 26));
+        r[3] = (int) t3;
+        r[4] = (int) t4;
+        r[5] = (int) t5;
+        r[6] = (int) t6;
+        r[7] = (int) t7;
+        r[8] = (int) t8;
+        r[9] = (int) t9;
+    }
+
+    /**
+     * r = a^(2^n) mediante n cuadrados.
+     */
+    private static void sqrN(int[] r, int[] a, int n) {
+        sqr(r, a);
+        for (int i = 1; i < n; i++) {
+            sqr(r, r);
+        }
+    }
+
+    /**
+     * r = a^(p-2) = a^-1 (0 para a = 0), con la cadena de adiciones de
+     * libsecp256k1: 255 cuadrados y 15 productos.
+     *
+     * @param s Seis elementos de trabajo
+     */
+    static void inv(int[] r, int[] a, int[][] s) {
+        int[] x2 = s[0];
+        int[] x3 = s[1];
+        int[] x22 = s[2];
+        int[] x44 = s[3];
+        int[] u = s[4];
+
+        sqr(x2, a);
+        mul(x2, x2, a);
+
+        sqr(x3, x2);
+        mul(x3, x3, a);
+
+        // x6, x9, x11
+        sqrN(u, x3, 3);
+        mul(u, u, x3);
+        sqrN(u, u, 3);
+        mul(u, u, x3);
+        sqrN(u, u, 2);
+        mul(u, u, x2);
+
+        // x22 = x11^(2^11)·x11
+        sqrN(x22, u, 11);
+        mul(x22, x22, u);
+
+        sqrN(x44, x22, 22);
+        mul(x44, x44, x22);
+
+        // x88, x176, x220, x223
+        sqrN(u, x44, 44);
+        mul(u, u, x44);
+        int[] x88 = s[5];
+        copy(x88, u);
+        sqrN(u, u, 88);
+        mul(u, u, x88);
+        sqrN(u, u, 44);
+        mul(u, u, x44);
+        sqrN(u, u, 3);
+        mul(u, u, x3);
+
+        // Cola: exponente ...FFFFFFFE FFFFFC2D
+        sqrN(u, u, 23);
+        mul(u, u, x22);
+        sqrN(u, u, 5);
+        mul(u, u, a);
+        sqrN(u, u, 3);
+        mul(u, u, x2);
+        sqrN(u, u, 2);
+        mul(r, u, a);
+    }
+
+    /**
+     * Lleva a a su representación canónica en [0, p).
+     */
+    static void normalize(int[] r) {
+        carry(r);
+        carry(r);
+
+        // Plegar los bits ≥ 256 (limb 9 tiene 22 bits útiles): 2^256 ≡ 0x1000003D1
+        for (int round = 0; round < 2; round++) {
+            long top = r[9] >>> 22;
+            r[9] &= 0x3FFFFF;
+            long c = r[0] + top * 0x3D1;
+            r[0] = (int) (c & MASK);
+            c = r[1] + top * 0x40 + (c >>> 26);
+            r[1] = (int) (c & MASK);
+            c >>>= 26;
+            for (int i = 2; i < LIMBS; i++) {
+                c += r[i];
+                r[i] = (int) (c & MASK);
+                c >>>= 26;
+            }
+        }
+
+        // Resta condicional de p: se suma 2^256 - p; si eso desborda 2^256 el
+        // valor era ≥ p y basta quitar el bit 256, si no se deshace la suma
+        long c = r[0] + 0x3D1L;
+        r[0] = (int) (c & MASK);
+        c = r[1] + 0x40L + (c >> 26);
+        r[1] = (int) (c & MASK);
+        c >>= 26;
+        for (int i = 2; i < LIMBS; i++) {
+            c += r[i];
+            r[i] = (int) (c & MASK);
+            c >>= 26;
+        }
+        long keep = 1 - (r[9] >>> 22);
+        r[9] &= 0x3FFFFF;
+        c = r[0] - keep * 0x3D1;
+        r[0] = (int) (c & MASK);
+        c = r[1] - keep * 0x40 + (c >> 26);
+        r[1] = (int) (c & MASK);
+        c >>= 26;
+        for (int i = 2; i < LIMBS; i++) {
+            c += r[i];
+            r[i] = (int) (c & MASK);
+            c >>= 26;
+        }
+    }
+
+    /**
+     * Escribe a (normalizado en el sitio) en 32 bytes big-endian.
+     */
+    static void toBytes(int[] a, byte[] dst, int offset) {
+        normalize(a);
+        for (int i = 0; i < 32; i++) {
+            int bit = 8 * i;
+            int limb = bit / 26;
+            int shift = bit % 26;
+            int value = a[limb] >>> shift;
+            if (shift > 18 && limb + 1 < LIMBS) {
+                value |= a[limb + 1] << (26 - shift);
+            }
+            dst[offset + 31 - i] = (byte) value;
+        }
+    }
+
+    /**
+     * Lee 32 bytes big-endian (el valor puede ser ≥ p; se reduce al operar).
+     */
+    static void fromBytes(int[] r, byte[] src, int offset) {
+        setInt(r, 0);
+        for (int i = 0; i < 32; i++) {
+            int value = src[offset + 31 - i] & 0xFF;
+            int bit = 8 * i;
+            int limb = bit / 26;
+            int shift = bit % 26;
+            r[limb] |= (value << shift) & MASK;
+            if (shift > 18) {
+                r[limb + 1] |= value >>> (26 - shift);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.diamon.criptografia.ec;
+
+import java.util.Arrays;
+
+/**
+ * Recorre las claves públicas de escalares consecutivos k, k+1, k+2...
+ * sin una multiplicación completa por clave.
+ *
+ * Mantiene un lote de B puntos afines (k+i)·G, i en 0..B-1, y avanza el
+ * lote entero sumando Q = B·G a cada punto: suma afín con una sola
+ * inversión de campo compartida por todo el lote (truco de Montgomery).
+ * Por clave cuesta unas 5 multiplicaciones y un cuadrado de cuerpo, frente
+ * a las 32 sumas de la tabla de base fija.
+ *
+ * No es seguro entre hilos: cada hilo usa su propio recorrido. Tampoco es
+ * de tiempo constante: los puntos de partida se calculan con
+ * {@link BouncyCastleEngine}.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class PointWalker {
+
+    private static final int SCALAR_LENGTH = 32;
+
+    private final int batchSize;
+
+    private final int[][] x;
+    private final int[][] y;
+    /** Denominadores qx - x[i] y sus productos prefijo */
+    private final int[][] denominators;
+    private final int[][] products;
+    private final int[][] inverse = new int[6][Field.LIMBS];
+
+    private final int[] qx = new int[Field.LIMBS];
+    private final int[] qy = new int[Field.LIMBS];
+    private final int[] inv = new int[Field.LIMBS];
+    private final int[] lambda = new int[Field.LIMBS];
+    private final int[] t = new int[Field.LIMBS];
+    private final int[] x3 = new int[Field.LIMBS];
+
+    private final byte[] scalars;
+    private final byte[] points;
+    private boolean started;
+
+    /**
+     * @param batchSize Puntos por lote (B); también el paso del recorrido
+     */
+    public PointWalker(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Tamaño de lote inválido: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.x = new int[batchSize][Field.LIMBS];
+        this.y = new int[batchSize][Field.LIMBS];
+        this.denominators = new int[batchSize][Field.LIMBS];
+        this.products = new int[batchSize][Field.LIMBS];
+        this.scalars = new byte[batchSize * SCALAR_LENGTH];
+        this.points = new byte[batchSize * EcEngine.PUBLIC_KEY_LENGTH];
+
+        // Q = B·G
+        byte[] step = new byte[SCALAR_LENGTH];
+        for (int i = 0; i < 4; i++) {
+            step[SCALAR_LENGTH - 1 - i] = (byte) (batchSize >>> (8 * i));
+        }
+        BouncyCastleEngine.getInstance().derivePublicKey(step, 0, points, 0);
+        Field.fromBytes(qx, points, 1);
+        Field.fromBytes(qy, points, 33);
+    }
+
+    /**
+     * @return Puntos por lote
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sitúa el recorrido en k: el siguiente lote será k·G ... (k+B-1)·G.
+     *
+     * El llamador debe garantizar que k ≥ B y que k más los pasos que vaya
+     * a recorrer no alcanza n; con un k aleatorio lejos de ambos extremos
+     * basta.
+     *
+     * @param scalar Buffer con k (32 bytes big-endian)
+     * @param offset Posición de k
+     */
+    public void reset(byte[] scalar, int offset) {
+        System.arraycopy(scalar, offset, scalars, 0, SCALAR_LENGTH);
+        for (int i = 1; i < batchSize; i++) {
+            System.arraycopy(scalars, (i - 1) * SCALAR_LENGTH, scalars, i * SCALAR_LENGTH, SCALAR_LENGTH);
+            increment(scalars, i * SCALAR_LENGTH);
+        }
+
+        try {
+            BouncyCastleEngine.getInstance().derivePublicKeys(scalars, 0, points, 0, batchSize);
+        } finally {
+            Arrays.fill(scalars, (byte) 0);
+        }
+
+        for (int i = 0; i < batchSize; i++) {
+            int offsetPoint = i * EcEngine.PUBLIC_KEY_LENGTH;
+            Field.fromBytes(x[i], points, offsetPoint + 1);
+            Field.fromBytes(y[i], points, offsetPoint + 33);
+        }
+        started = true;
+    }
+
+    /**
+     * Escribe las B claves públicas no comprimidas del lote actual (65
+     * bytes cada una, consecutivas) y avanza el recorrido B pasos.
+     *
+     * @param publicKeys Buffer de salida (65 * B bytes libres)
+     * @param offset     Posición de la primera clave pública
+     * @throws IllegalStateException Si no se llamó a {@link #reset} o el
+     *                               recorrido alcanzó un punto degenerado
+     *                               (k + i ≡ ±B módulo n)
+     */
+    public void next(byte[] publicKeys, int offset) {
+        if (!started) {
+            throw new IllegalStateException("Recorrido sin punto de partida");
+        }
+
+        for (int i = 0; i < batchSize; i++) {
+            int out = offset + i * EcEngine.PUBLIC_KEY_LENGTH;
+            publicKeys[out] = 0x04;
+            Field.toBytes(x[i], publicKeys, out + 1);
+            Field.toBytes(y[i], publicKeys, out + 33);
+        }
+
+        advance();
+    }
+
+    /**
+     * P[i] = P[i] + Q para todo el lote, con una sola inversión.
+     */
+    private void advance() {
+        for (int i = 0; i < batchSize; i++) {
+            Field.sub(denominators[i], qx, x[i]);
+            if (i == 0) {
+                Field.copy(products[0], denominators[0]);
+            } else {
+                Field.mul(products[i], products[i - 1], denominators[i]);
+            }
+        }
+
+        // inv = 1 / (d0·d1·...·dB-1); un denominador nulo anula el producto
+        Field.copy(t, products[batchSize - 1]);
+        Field.normalize(t);
+        if (isZero(t)) {
+            started = false;
+            throw new IllegalStateException("Punto degenerado en el recorrido");
+        }
+        Field.inv(inv, products[batchSize - 1], inverse);
+
+        for (int i = batchSize - 1; i >= 0; i--) {
+            // 1/d[i] = inv·(d0·...·d[i-1]); luego inv pasa a 1/(d0·...·d[i-1])
+            if (i > 0) {
+                Field.mul(t, inv, products[i - 1]);
+                Field.mul(inv, inv, denominators[i]);
+            } else {
+                Field.copy(t, inv);
+            }
+
+            // λ = (qy - y) / (qx - x)
+            Field.subUnreduced(lambda, qy, y[i]);
+            Field.mul(lambda, lambda, t);
+
+            // x3 = λ² - x - qx ; y3 = λ·(x - x3) - y
+            Field.sqr(x3, lambda);
+            Field.sub(x3, x3, x[i]);
+            Field.sub(x3, x3, qx);
+            Field.subUnreduced(t, x[i], x3);
+            Field.mul(t, t, lambda);
+            Field.sub(y[i], t, y[i]);
+            Field.copy(x[i], x3);
+        }
+    }
+
+    private static boolean isZero(int[] a) {
+        int bits = 0;
+        for (int i = 0; i < Field.LIMBS; i++) {
+            bits |= a[i];
+        }
+        return bits == 0;
+    }
+
+    /**
+     * Suma 1 a un escalar big-endian de 32 bytes.
+     */
+    private static void increment(byte[] scalar, int offset) {
+        for (int i = offset + SCALAR_LENGTH - 1; i >= offset; i--) {
+            if (++scalar[i] != 0) {
+                return;
+            }
+        }
+    }
+}
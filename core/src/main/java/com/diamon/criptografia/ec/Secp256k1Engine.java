@@ -0,0 +1,370 @@
+package com.diamon.criptografia.ec;
+
+import com.diamon.criptografia.FixedBaseMultiplier;
+
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.util.Arrays;
+
+/**
+ * Motor secp256k1 en Java puro y de tiempo constante, al estilo de
+ * libsecp256k1.
+ *
+ * - Campo sobre 10 limbs de 26 bits ({@link Field}), sin BigInteger.
+ * - El escalar se recodifica en 52 dígitos con signo de 5 bits, en
+ *   [-16, 16); la tabla de base fija guarda d * 32^i * G para cada ventana
+ *   i y cada d en 1..16, en coordenadas afines, y el signo se aplica
+ *   negando y.
+ * - k * G son siempre 52 sumas mixtas (Jacobiano + afín). Cada consulta a
+ *   la tabla recorre la ventana completa con máscaras, y el signo, los
+ *   dígitos nulos y el punto en el infinito inicial se resuelven con
+ *   selecciones sin ramas, así que tiempo y accesos a memoria no dependen
+ *   de la clave.
+ * - Los lotes comparten una sola inversión de campo (truco de Montgomery).
+ *
+ * Los casos degenerados de la suma (P = ±Q) no pueden darse: k se reduce
+ * antes módulo n, y el acumulado tras la ventana i es un entero de valor
+ * absoluto como mucho 16 * (32^(i+1) - 1) / 31, menor que 32^(i+1), que no
+ * puede coincidir con ±d * 32^(i+1) ni anularse salvo cuando todos los
+ * dígitos previos son nulos (el caso del infinito, que se trata aparte).
+ *
+ * Todo el estado de trabajo vive en un contexto por hilo; una derivación
+ * no crea objetos.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class Secp256k1Engine implements EcEngine {
+
+    /** Nombre del motor */
+    public static final String NAME = "constant-time";
+
+    /** Bits por ventana de la tabla */
+    public static final int WINDOW_BITS = 5;
+
+    /** Número de ventanas; la última absorbe el acarreo de la recodificación */
+    public static final int WINDOWS = (256 + WINDOW_BITS - 1) / WINDOW_BITS;
+
+    /** Puntos precalculados por ventana: |d| en 1..2^(WINDOW_BITS-1) */
+    public static final int POINTS_PER_WINDOW = 1 << (WINDOW_BITS - 1);
+
+    /** Claves por inversión compartida en los lotes */
+    private static final int BATCH_SIZE = 64;
+
+    private static final int SCALAR_WORDS = 8;
+
+    /** Orden n del grupo en palabras de 32 bits, la menos significativa primero */
+    private static final int[] N = {
+            0xD0364141, 0xBFD25E8C, 0xAF48A03B, 0xBAAEDCE6,
+            0xFFFFFFFE, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF };
+
+    private static final int[] ONE = { 1, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+
+    /**
+     * Inicialización perezosa y segura entre hilos (holder idiom).
+     */
+    private static class Holder {
+        static final Secp256k1Engine INSTANCE = new Secp256k1Engine();
+    }
+
+    /**
+     * Estado de trabajo de un hilo.
+     */
+    private static final class Context {
+        final int[] scalar = new int[SCALAR_WORDS];
+        final int[] reduced = new int[SCALAR_WORDS];
+
+        // Acumulado Jacobiano, candidato tras la suma y punto de la tabla
+        final int[] x = new int[Field.LIMBS];
+        final int[] y = new int[Field.LIMBS];
+        final int[] z = new int[Field.LIMBS];
+        final int[] nx = new int[Field.LIMBS];
+        final int[] ny = new int[Field.LIMBS];
+        final int[] nz = new int[Field.LIMBS];
+        final int[] tx = new int[Field.LIMBS];
+        final int[] ty = new int[Field.LIMBS];
+        final int[] negY = new int[Field.LIMBS];
+        final long[] packed = new long[Field.LIMBS];
+
+        // Temporales de la suma mixta
+        final int[] z1z1 = new int[Field.LIMBS];
+        final int[] u2 = new int[Field.LIMBS];
+        final int[] s2 = new int[Field.LIMBS];
+        final int[] h = new int[Field.LIMBS];
+        final int[] r = new int[Field.LIMBS];
+        final int[] hh = new int[Field.LIMBS];
+        final int[] hhh = new int[Field.LIMBS];
+        final int[] v = new int[Field.LIMBS];
+
+        // Lote: coordenadas Jacobianas y productos acumulados de Z
+        final int[][] batchX = new int[BATCH_SIZE][Field.LIMBS];
+        final int[][] batchY = new int[BATCH_SIZE][Field.LIMBS];
+        final int[][] batchZ = new int[BATCH_SIZE][Field.LIMBS];
+        final int[][] products = new int[BATCH_SIZE][Field.LIMBS];
+        final int[][] inverse = new int[6][Field.LIMBS];
+        final int[] zInv = new int[Field.LIMBS];
+        final int[] zz = new int[Field.LIMBS];
+    }
+
+    /**
+     * Tabla afín: en (ventana * POINTS_PER_WINDOW + |d| - 1) * 10 están
+     * los 10 limbs del punto, con x en los 32 bits bajos y y en los altos;
+     * así cada consulta enmascara la mitad de palabras.
+     */
+    private final long[] table;
+
+    private final ThreadLocal<Context> contexts = new ThreadLocal<Context>() {
+        @Override
+        protected Context initialValue() {
+            return new Context();
+        }
+    };
+
+    private Secp256k1Engine() {
+        this.table = buildTable(FixedBaseMultiplier.getInstance());
+    }
+
+    /**
+     * Retorna la instancia compartida, construyendo la tabla en el primer uso.
+     *
+     * @return Motor de tiempo constante
+     */
+    public static Secp256k1Engine getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Calcula la tabla con Bouncy Castle (una sola vez) y la convierte a limbs.
+     */
+    private static long[] buildTable(FixedBaseMultiplier reference) {
+        ECPoint[] points = new ECPoint[WINDOWS * POINTS_PER_WINDOW];
+        ECPoint base = reference.getGenerator();
+
+        for (int window = 0; window < WINDOWS; window++) {
+            int offset = window * POINTS_PER_WINDOW;
+            ECPoint acc = base;
+            points[offset] = acc;
+
+            for (int digit = 2; digit <= POINTS_PER_WINDOW; digit++) {
+                acc = acc.add(base);
+                points[offset + digit - 1] = acc;
+            }
+
+            // Base de la siguiente ventana: 2^WINDOW_BITS * base
+            base = acc.twice().normalize();
+        }
+
+        reference.getCurve().normalizeAll(points);
+
+        long[] result = new long[points.length * Field.LIMBS];
+        int[] x = new int[Field.LIMBS];
+        int[] y = new int[Field.LIMBS];
+        for (int i = 0; i < points.length; i++) {
+            Field.fromBytes(x, points[i].getAffineXCoord().getEncoded(), 0);
+            Field.fromBytes(y, points[i].getAffineYCoord().getEncoded(), 0);
+            for (int l = 0; l < Field.LIMBS; l++) {
+                result[i * Field.LIMBS + l] = (x[l] & 0xFFFFFFFFL) | (long) y[l] << 32;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void derivePublicKey(byte[] privateKey, int privateKeyOffset, byte[] publicKey, int publicKeyOffset) {
+        derivePublicKeys(privateKey, privateKeyOffset, publicKey, publicKeyOffset, 1);
+    }
+
+    @Override
+    public void derivePublicKeys(byte[] privateKeys, int privateKeysOffset,
+            byte[] publicKeys, int publicKeysOffset, int count) {
+        Context c = contexts.get();
+
+        try {
+            for (int start = 0; start < count; start += BATCH_SIZE) {
+                int chunk = Math.min(BATCH_SIZE, count - start);
+
+                for (int i = 0; i < chunk; i++) {
+                    int keyOffset = privateKeysOffset + (start + i) * FixedBaseMultiplier.SCALAR_LENGTH;
+                    if (!loadScalar(c, privateKeys, keyOffset)) {
+                        throw new IllegalArgumentException("Clave privada inválida en la posición " + (start + i));
+                    }
+
+                    multiply(c);
+                    Field.copy(c.batchX[i], c.x);
+                    Field.copy(c.batchY[i], c.y);
+                    Field.copy(c.batchZ[i], c.z);
+                    if (i == 0) {
+                        Field.copy(c.products[0], c.z);
+                    } else {
+                        Field.mul(c.products[i], c.products[i - 1], c.z);
+                    }
+                }
+
+                // Una sola inversión: zInv = 1 / (Z0·Z1·...·Zk)
+                Field.inv(c.zInv, c.products[chunk - 1], c.inverse);
+                for (int i = chunk - 1; i > 0; i--) {
+                    // 1/Zi = (1/(Z0..Zi))·(Z0..Zi-1); después se descarta Zi
+                    Field.mul(c.zz, c.zInv, c.products[i - 1]);
+                    Field.mul(c.zInv, c.zInv, c.batchZ[i]);
+                    encode(c, i, c.zz, publicKeys, publicKeysOffset + (start + i) * PUBLIC_KEY_LENGTH);
+                }
+                Field.copy(c.zz, c.zInv);
+                encode(c, 0, c.zz, publicKeys, publicKeysOffset + start * PUBLIC_KEY_LENGTH);
+            }
+        } finally {
+            Arrays.fill(c.scalar, 0);
+            Arrays.fill(c.reduced, 0);
+        }
+    }
+
+    /**
+     * Lee el escalar big-endian y lo reduce módulo n sin ramas.
+     *
+     * @return false si el escalar es congruente con 0
+     */
+    private static boolean loadScalar(Context c, byte[] src, int offset) {
+        int[] k = c.scalar;
+        for (int i = 0; i < SCALAR_WORDS; i++) {
+            int p = offset + 28 - 4 * i;
+            k[i] = (src[p] & 0xFF) << 24 | (src[p + 1] & 0xFF) << 16
+                    | (src[p + 2] & 0xFF) << 8 | (src[p + 3] & 0xFF);
+        }
+
+        // k < 2^256 < 2n: como mucho una resta
+        long borrow = 0;
+        for (int i = 0; i < SCALAR_WORDS; i++) {
+            long diff = (k[i] & 0xFFFFFFFFL) - (N[i] & 0xFFFFFFFFL) + borrow;
+            c.reduced[i] = (int) diff;
+            borrow = diff >> 32;
+        }
+        int ge = ~(int) borrow;
+
+        int bits = 0;
+        for (int i = 0; i < SCALAR_WORDS; i++) {
+            k[i] ^= (k[i] ^ c.reduced[i]) & ge;
+            bits |= k[i];
+        }
+        return bits != 0;
+    }
+
+    /**
+     * Acumula k * G en (x, y, z) con una suma mixta por ventana.
+     */
+    private void multiply(Context c) {
+        int infinity = -1;
+        int carry = 0;
+        Field.setInt(c.x, 0);
+        Field.setInt(c.y, 0);
+        Field.setInt(c.z, 0);
+
+        for (int window = 0; window < WINDOWS; window++) {
+            // Dígito con signo: los bits de la ventana más el acarreo, menos
+            // 2^WINDOW_BITS si superan la mitad (el índice de bit es público)
+            int bit = window * WINDOW_BITS;
+            int word = bit >>> 5;
+            int shift = bit & 31;
+            int bits = c.scalar[word] >>> shift;
+            if (shift > 32 - WINDOW_BITS && word + 1 < SCALAR_WORDS) {
+                bits |= c.scalar[word + 1] << (32 - shift);
+            }
+            bits = (bits & ((1 << WINDOW_BITS) - 1)) + carry;
+            carry = (bits + POINTS_PER_WINDOW) >>> WINDOW_BITS;
+            int digit = bits - (carry << WINDOW_BITS);
+
+            int sign = digit >> 31;
+            int magnitude = (digit ^ sign) - sign;
+            int zero = (magnitude - 1) >> 31;
+
+            // El dígito 0 lee el punto 1 y luego descarta la suma
+            lookup(c, window, magnitude | (zero & 1));
+            Field.negate(c.negY, c.ty);
+            Field.cmov(c.ty, c.negY, sign);
+            addAffine(c);
+
+            // Desde el infinito, el resultado es el propio punto de la tabla
+            Field.cmov(c.nx, c.tx, infinity);
+            Field.cmov(c.ny, c.ty, infinity);
+            Field.cmov(c.nz, ONE, infinity);
+
+            Field.cmov(c.x, c.nx, ~zero);
+            Field.cmov(c.y, c.ny, ~zero);
+            Field.cmov(c.z, c.nz, ~zero);
+            infinity &= zero;
+        }
+    }
+
+    /**
+     * Copia a (tx, ty) el punto de la magnitud indicada recorriendo la ventana
+     * completa.
+     */
+    private void lookup(Context c, int window, int magnitude) {
+        long[] acc = c.packed;
+        Arrays.fill(acc, 0);
+        int offset = window * POINTS_PER_WINDOW * Field.LIMBS;
+
+        for (int d = 1; d <= POINTS_PER_WINDOW; d++) {
+            long mask = ((d ^ magnitude) - 1) >> 31;
+            for (int l = 0; l < Field.LIMBS; l++) {
+                acc[l] |= table[offset + l] & mask;
+            }
+            offset += Field.LIMBS;
+        }
+
+        for (int l = 0; l < Field.LIMBS; l++) {
+            c.tx[l] = (int) acc[l];
+            c.ty[l] = (int) (acc[l] >>> 32);
+        }
+    }
+
+    /**
+     * (nx, ny, nz) = (x, y, z) + (tx, ty), suma mixta de 8M + 3S.
+     */
+    private static void addAffine(Context c) {
+        Field.sqr(c.z1z1, c.z);
+        Field.mul(c.u2, c.tx, c.z1z1);
+        Field.mul(c.s2, c.z, c.z1z1);
+        Field.mul(c.s2, c.s2, c.ty);
+        Field.subUnreduced(c.h, c.u2, c.x);
+        Field.subUnreduced(c.r, c.s2, c.y);
+        Field.sqr(c.hh, c.h);
+        Field.mul(c.hhh, c.h, c.hh);
+        Field.mul(c.v, c.x, c.hh);
+
+        // X3 = R² - H³ - 2·V
+        Field.sqr(c.nx, c.r);
+        Field.sub(c.nx, c.nx, c.hhh);
+        Field.sub(c.nx, c.nx, c.v);
+        Field.sub(c.nx, c.nx, c.v);
+
+        // Y3 = R·(V - X3) - Y1·H³
+        Field.subUnreduced(c.ny, c.v, c.nx);
+        Field.mul(c.ny, c.ny, c.r);
+        Field.mul(c.hhh, c.hhh, c.y);
+        Field.sub(c.ny, c.ny, c.hhh);
+
+        // Z3 = Z1·H
+        Field.mul(c.nz, c.z, c.h);
+    }
+
+    /**
+     * Escribe el punto i del lote en afín: (X / Z², Y / Z³).
+     */
+    private static void encode(Context c, int i, int[] zInv, byte[] dst, int offset) {
+        int[] x = c.batchX[i];
+        int[] y = c.batchY[i];
+
+        Field.sqr(c.z1z1, zInv);
+        Field.mul(x, x, c.z1z1);
+        Field.mul(c.z1z1, c.z1z1, zInv);
+        Field.mul(y, y, c.z1z1);
+
+        dst[offset] = 0x04;
+        Field.toBytes(x, dst, offset + 1);
+        Field.toBytes(y, dst, offset + 33);
+    }
+}
@@ -0,0 +1,96 @@
+package com.diamon.criptografia.hash;
+
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+
+import java.util.Arrays;
+
+/**
+ * Backend de referencia: digests ligeros de Bouncy Castle con estado por
+ * hilo, sin búsquedas en la tabla de providers JCA ni arrays temporales.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class BouncyCastleHashEngine implements HashEngine {
+
+    /** Nombre del backend */
+    public static final String NAME = "bouncycastle";
+
+    private static final int SHA256_LENGTH = 32;
+
+    private static final BouncyCastleHashEngine INSTANCE = new BouncyCastleHashEngine();
+
+    /**
+     * Estado de digest reutilizable por hilo.
+     */
+    private static final class Digests {
+        final SHA256Digest sha256 = new SHA256Digest();
+        final RIPEMD160Digest ripemd160 = new RIPEMD160Digest();
+        // SHA-256 intermedio (de una semilla es la clave privada): se
+        // borra tras cada hash
+        final byte[] buffer = new byte[SHA256_LENGTH];
+    }
+
+    private static final ThreadLocal<Digests> DIGESTS = new ThreadLocal<Digests>() {
+        @Override
+        protected Digests initialValue() {
+            return new Digests();
+        }
+    };
+
+    private BouncyCastleHashEngine() {
+    }
+
+    /**
+     * @return Instancia compartida
+     */
+    public static BouncyCastleHashEngine getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void sha256(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        SHA256Digest sha256 = DIGESTS.get().sha256;
+        sha256.update(src, offset, length);
+        sha256.doFinal(dst, dstOffset);
+    }
+
+    @Override
+    public void doubleSha256(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        Digests digests = DIGESTS.get();
+        SHA256Digest sha256 = digests.sha256;
+        byte[] buffer = digests.buffer;
+
+        try {
+            sha256.update(src, offset, length);
+            sha256.doFinal(buffer, 0);
+            sha256.update(buffer, 0, SHA256_LENGTH);
+            sha256.doFinal(dst, dstOffset);
+        } finally {
+            Arrays.fill(buffer, (byte) 0);
+        }
+    }
+
+    @Override
+    public void hash160(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        Digests digests = DIGESTS.get();
+        SHA256Digest sha256 = digests.sha256;
+        RIPEMD160Digest ripemd160 = digests.ripemd160;
+        byte[] buffer = digests.buffer;
+
+        try {
+            sha256.update(src, offset, length);
+            sha256.doFinal(buffer, 0);
+            ripemd160.update(buffer, 0, SHA256_LENGTH);
+            ripemd160.doFinal(dst, dstOffset);
+        } finally {
+            Arrays.fill(buffer, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.diamon.criptografia.hash;
+
+/**
+ * Backend de los hashes de carteras: SHA-256, doble SHA-256 y HASH160.
+ *
+ * Todos los métodos escriben en buffers del llamador. Las
+ * implementaciones deben ser seguras entre hilos.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public interface HashEngine {
+
+    /**
+     * @return Nombre corto del backend
+     */
+    String getName();
+
+    /**
+     * SHA-256 de un rango del buffer de entrada.
+     *
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida (32 bytes libres)
+     * @param dstOffset Posición donde escribir el hash
+     */
+    void sha256(byte[] src, int offset, int length, byte[] dst, int dstOffset);
+
+    /**
+     * SHA256(SHA256(datos)) de un rango del buffer de entrada.
+     *
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida (32 bytes libres)
+     * @param dstOffset Posición donde escribir el hash
+     */
+    void doubleSha256(byte[] src, int offset, int length, byte[] dst, int dstOffset);
+
+    /**
+     * HASH160 = RIPEMD160(SHA256(datos)) de un rango del buffer de entrada.
+     *
+     * @param src       Buffer de entrada
+     * @param offset    Posición del primer byte
+     * @param length    Número de bytes
+     * @param dst       Buffer de salida (20 bytes libres)
+     * @param dstOffset Posición donde escribir el hash
+     */
+    void hash160(byte[] src, int offset, int length, byte[] dst, int dstOffset);
+}
@@ -0,0 +1,123 @@
+package com.diamon.criptografia.hash;
+
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Backend con el SHA-256 de la plataforma ({@link MessageDigest}).
+ *
+ * En la JVM de servidor el provider SUN usa las instrucciones SHA del
+ * procesador (intrinsics de HotSpot) y supera a la implementación en
+ * Java puro; en ART la llamada pasa por Conscrypt/JNI y suele salir más
+ * cara para entradas cortas. RIPEMD-160 no está en los providers
+ * estándar y se calcula siempre con Bouncy Castle.
+ *
+ * Un {@link MessageDigest} por hilo; el provider se resuelve una sola vez
+ * por hilo.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class JcaHashEngine implements HashEngine {
+
+    /** Nombre del backend */
+    public static final String NAME = "jca";
+
+    private static final int SHA256_LENGTH = 32;
+
+    private static final JcaHashEngine INSTANCE = new JcaHashEngine();
+
+    /**
+     * Estado de digest reutilizable por hilo.
+     */
+    private static final class Digests {
+        final MessageDigest sha256;
+        final RIPEMD160Digest ripemd160 = new RIPEMD160Digest();
+        // SHA-256 intermedio (de una semilla es la clave privada): se
+        // borra tras cada hash
+        final byte[] buffer = new byte[SHA256_LENGTH];
+
+        Digests() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 no disponible en la plataforma", e);
+            }
+        }
+    }
+
+    private static final ThreadLocal<Digests> DIGESTS = new ThreadLocal<Digests>() {
+        @Override
+        protected Digests initialValue() {
+            return new Digests();
+        }
+    };
+
+    private JcaHashEngine() {
+    }
+
+    /**
+     * @return Instancia compartida
+     */
+    public static JcaHashEngine getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void sha256(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        MessageDigest sha256 = DIGESTS.get().sha256;
+        sha256.update(src, offset, length);
+        finish(sha256, dst, dstOffset);
+    }
+
+    @Override
+    public void doubleSha256(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        Digests digests = DIGESTS.get();
+        MessageDigest sha256 = digests.sha256;
+        byte[] buffer = digests.buffer;
+
+        try {
+            sha256.update(src, offset, length);
+            finish(sha256, buffer, 0);
+            sha256.update(buffer, 0, SHA256_LENGTH);
+            finish(sha256, dst, dstOffset);
+        } finally {
+            Arrays.fill(buffer, (byte) 0);
+        }
+    }
+
+    @Override
+    public void hash160(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        Digests digests = DIGESTS.get();
+        MessageDigest sha256 = digests.sha256;
+        RIPEMD160Digest ripemd160 = digests.ripemd160;
+        byte[] buffer = digests.buffer;
+
+        try {
+            sha256.update(src, offset, length);
+            finish(sha256, buffer, 0);
+            ripemd160.update(buffer, 0, SHA256_LENGTH);
+            ripemd160.doFinal(dst, dstOffset);
+        } finally {
+            Arrays.fill(buffer, (byte) 0);
+        }
+    }
+
+    private static void finish(MessageDigest digest, byte[] dst, int dstOffset) {
+        try {
+            digest.digest(dst, dstOffset, SHA256_LENGTH);
+        } catch (DigestException e) {
+            // Solo si no hay 32 bytes libres en el destino
+            throw new IllegalArgumentException("Buffer de salida demasiado pequeño", e);
+        }
+    }
+}
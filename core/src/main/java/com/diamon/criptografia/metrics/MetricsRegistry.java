@@ -0,0 +1,137 @@
+package com.diamon.criptografia.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro de métricas por etapa: histograma de latencias por llamada y
+ * contador de elementos procesados.
+ *
+ * Se instala con {@link PipelineMetrics#setListener(PipelineMetrics.Listener)}
+ * y se consulta con {@link #snapshot()} o {@link #format()} para comparar
+ * ejecuciones y detectar regresiones.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class MetricsRegistry implements PipelineMetrics.Listener {
+
+    /**
+     * Instantánea de una etapa.
+     */
+    public static final class StageStats {
+        public final PipelineMetrics.Stage stage;
+        public final long calls;
+        public final long items;
+        public final long totalNanos;
+        public final long p50Nanos;
+        public final long p99Nanos;
+        public final long maxNanos;
+
+        StageStats(PipelineMetrics.Stage stage, long calls, long items, long totalNanos,
+                long p50Nanos, long p99Nanos, long maxNanos) {
+            this.stage = stage;
+            this.calls = calls;
+            this.items = items;
+            this.totalNanos = totalNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @return Elementos por segundo de tiempo dentro de la etapa (suma
+         *         de todos los hilos)
+         */
+        public double getItemsPerSecond() {
+            return totalNanos == 0 ? 0 : items * 1e9 / totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%-11s calls=%d items=%d p50=%.1fus p99=%.1fus max=%.1fus rate=%.0f/s",
+                    stage, calls, items, p50Nanos / 1e3, p99Nanos / 1e3, maxNanos / 1e3, getItemsPerSecond());
+        }
+    }
+
+    private final PipelineMetrics.Stage[] stages = PipelineMetrics.Stage.values();
+    private final LatencyHistogram[] latencies = new LatencyHistogram[stages.length];
+    private final AtomicLong[] items = new AtomicLong[stages.length];
+    private volatile long startNanos = System.nanoTime();
+
+    public MetricsRegistry() {
+        for (int i = 0; i < stages.length; i++) {
+            latencies[i] = new LatencyHistogram();
+            items[i] = new AtomicLong();
+        }
+    }
+
+    @Override
+    public void onBegin(PipelineMetrics.Stage stage) {
+        // Solo interesa la duración
+    }
+
+    @Override
+    public void onEnd(PipelineMetrics.Stage stage, long elapsedNanos, long count) {
+        latencies[stage.ordinal()].record(elapsedNanos);
+        items[stage.ordinal()].addAndGet(count);
+    }
+
+    /**
+     * @param stage Etapa
+     * @return Instantánea de la etapa
+     */
+    public StageStats getStats(PipelineMetrics.Stage stage) {
+        LatencyHistogram latency = latencies[stage.ordinal()];
+        return new StageStats(stage, latency.getCount(), items[stage.ordinal()].get(), latency.getTotalNanos(),
+                latency.getPercentile(0.50), latency.getPercentile(0.99), latency.getMaxNanos());
+    }
+
+    /**
+     * @return Instantánea de las etapas con al menos una llamada
+     */
+    public List<StageStats> snapshot() {
+        List<StageStats> result = new ArrayList<>();
+        for (PipelineMetrics.Stage stage : stages) {
+            StageStats stats = getStats(stage);
+            if (stats.calls > 0) {
+                result.add(stats);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Tiempo real transcurrido desde la creación o el último
+     *         {@link #reset()}, para calcular el rendimiento de un trabajo
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Pone todas las etapas a cero.
+     */
+    public void reset() {
+        for (int i = 0; i < stages.length; i++) {
+            latencies[i].reset();
+            items[i].set(0);
+        }
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return Una línea por etapa con llamadas, elementos, p50, p99, máximo y
+     *         rendimiento
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        for (StageStats stats : snapshot()) {
+            sb.append(stats).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,134 @@
+package com.diamon.criptografia.metrics;
+
+/**
+ * Punto de instrumentación de las etapas de derivación.
+ *
+ * Cada etapa se mide con {@link #begin(Stage)} / {@link #end(Stage, long, long)}
+ * y se notifica al {@link Listener} instalado. Sin listener, el coste es una
+ * lectura volátil por etapa y no se toma tiempo.
+ *
+ * <pre>
+ * long start = PipelineMetrics.begin(PipelineMetrics.Stage.HEX);
+ * try {
+ *     ...
+ * } finally {
+ *     PipelineMetrics.end(PipelineMetrics.Stage.HEX, start, 1);
+ * }
+ * </pre>
+ *
+ * El listener debe instalarse antes de empezar a trabajar: si cambia
+ * mientras una etapa está abierta, el nuevo listener puede recibir un
+ * final sin su inicio.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class PipelineMetrics {
+
+    /**
+     * Etapas instrumentadas.
+     */
+    public enum Stage {
+        /** Preparación de la tabla de base fija: carga o construcción (una vez por proceso) */
+        TABLE_INIT("wallet:table_init"),
+        /** Lectura del archivo semilla (elementos = bytes leídos) */
+        FILE_READ("wallet:file_read"),
+        /** Compresión GZIP y hash del archivo (elementos = bytes) */
+        GZIP("wallet:gzip"),
+        /** SHA-256 de la semilla hasta la clave privada */
+        SEED_HASH("wallet:seed_hash"),
+        /** Endurecimiento scrypt de la semilla (modo opcional) */
+        SEED_STRETCH("wallet:seed_stretch"),
+        /** Multiplicación escalar d·G */
+        EC_MULTIPLY("wallet:ec_multiply"),
+        /** RIPEMD160(SHA256(clave pública)) */
+        HASH160("wallet:hash160"),
+        /** Codificación Base58Check (WIF y dirección) */
+        BASE58("wallet:base58"),
+        /** Codificación Bech32/Bech32m (direcciones SegWit y Taproot) */
+        BECH32("wallet:bech32"),
+        /** Codificación hexadecimal */
+        HEX("wallet:hex");
+
+        /** Nombre de la sección para trazas del sistema */
+        public final String traceName;
+
+        Stage(String traceName) {
+            this.traceName = traceName;
+        }
+    }
+
+    /**
+     * Recibe el inicio y el final de cada etapa, en el mismo hilo que la
+     * ejecuta. Debe ser seguro entre hilos.
+     */
+    public interface Listener {
+
+        /**
+         * @param stage Etapa que comienza
+         */
+        void onBegin(Stage stage);
+
+        /**
+         * @param stage        Etapa que termina
+         * @param elapsedNanos Duración de la llamada
+         * @param items        Elementos procesados (carteras o bytes)
+         */
+        void onEnd(Stage stage, long elapsedNanos, long items);
+    }
+
+    /** Valor devuelto por {@link #begin(Stage)} sin listener */
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private static volatile Listener listener;
+
+    private PipelineMetrics() {
+    }
+
+    /**
+     * @param newListener Listener a instalar, o null para desactivar
+     */
+    public static void setListener(Listener newListener) {
+        listener = newListener;
+    }
+
+    /**
+     * @return Listener instalado, o null
+     */
+    public static Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Marca el inicio de una etapa.
+     *
+     * @param stage Etapa
+     * @return Marca de tiempo a pasar a {@link #end(Stage, long, long)}
+     */
+    public static long begin(Stage stage) {
+        Listener current = listener;
+        if (current == null) {
+            return DISABLED;
+        }
+        current.onBegin(stage);
+        return System.nanoTime();
+    }
+
+    /**
+     * Marca el final de una etapa.
+     *
+     * @param stage Etapa
+     * @param start Valor devuelto por {@link #begin(Stage)}
+     * @param items Elementos procesados en la llamada
+     */
+    public static void end(Stage stage, long start, long items) {
+        if (start == DISABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        Listener current = listener;
+        if (current != null) {
+            current.onEnd(stage, elapsed, items);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.diamon.criptografia.model;
+
+import com.diamon.criptografia.Base58Utils;
+import com.diamon.criptografia.Bech32Utils;
+import com.diamon.criptografia.CryptoUtils;
+import com.diamon.criptografia.HashUtils;
+import com.diamon.criptografia.HexUtils;
+import com.diamon.criptografia.TaprootUtils;
+
+import java.util.Arrays;
+
+/**
+ * Cartera respaldada por sus bytes: clave privada, clave pública y
+ * HASH160 en un único arreglo.
+ *
+ * A diferencia de {@link WalletData}, las representaciones en texto (hex,
+ * WIF y dirección) se calculan solo cuando se piden y quedan en caché. En
+ * generación masiva, donde muchas veces solo se consulta la dirección,
+ * evita la mayor parte de las asignaciones por cartera. Las variantes de
+ * clave comprimida y las direcciones SegWit (P2WPKH y P2TR) se obtienen de
+ * la clave pública guardada, sin volver a multiplicar por la clave privada.
+ *
+ * equals/hashCode comparan los bytes. {@link #clear()} borra el material de
+ * clave; las Strings ya entregadas no pueden borrarse y quedan a cargo del
+ * recolector.
+ *
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public final class RawWalletData {
+
+    private static final int PRIVATE_KEY_LENGTH = 32;
+    private static final int HASH160_LENGTH = 20;
+
+    /** clave privada | clave pública | HASH160 */
+    private final byte[] data;
+    private final int publicKeyLength;
+    private boolean cleared;
+
+    private String privateKeyHex;
+    private String wif;
+    private String publicKeyHex;
+    private String address;
+    private String compressedWif;
+    private String compressedAddress;
+    private String p2wpkhAddress;
+    private String p2trAddress;
+
+    /**
+     * Copia el material de clave desde buffers (posiblemente compartidos
+     * por varias carteras).
+     *
+     * @param privateKeys       Buffer con la clave privada de 32 bytes
+     * @param privateKeyOffset  Posición de la clave privada
+     * @param publicKeys        Buffer con la clave pública
+     * @param publicKeyOffset   Posición de la clave pública
+     * @param publicKeyLength   Longitud de la clave pública (33 o 65, o 1
+     *                          para el punto en el infinito)
+     * @param hash160s          Buffer con el HASH160 de la clave pública
+     * @param hash160Offset     Posición del HASH160
+     */
+    public RawWalletData(byte[] privateKeys, int privateKeyOffset, byte[] publicKeys, int publicKeyOffset,
+            int publicKeyLength, byte[] hash160s, int hash160Offset) {
+        this.publicKeyLength = publicKeyLength;
+        this.data = new byte[PRIVATE_KEY_LENGTH + publicKeyLength + HASH160_LENGTH];
+        System.arraycopy(privateKeys, privateKeyOffset, data, 0, PRIVATE_KEY_LENGTH);
+        System.arraycopy(publicKeys, publicKeyOffset, data, PRIVATE_KEY_LENGTH, publicKeyLength);
+        System.arraycopy(hash160s, hash160Offset, data, PRIVATE_KEY_LENGTH + publicKeyLength, HASH160_LENGTH);
+    }
+
+    /**
+     * @param privateKey Clave privada de 32 bytes
+     * @param publicKey  Clave pública (33 o 65 bytes)
+     * @param hash160    HASH160 de la clave pública
+     */
+    public RawWalletData(byte[] privateKey, byte[] publicKey, byte[] hash160) {
+        this(privateKey, 0, publicKey, 0, publicKey.length, hash160, 0);
+    }
+
+    /**
+     * @return Copia de la clave privada
+     */
+    public byte[] getPrivateKey() {
+        checkNotCleared();
+        return Arrays.copyOfRange(data, 0, PRIVATE_KEY_LENGTH);
+    }
+
+    /**
+     * @return Copia de la clave pública
+     */
+    public byte[] getPublicKey() {
+        return Arrays.copyOfRange(data, PRIVATE_KEY_LENGTH, PRIVATE_KEY_LENGTH + publicKeyLength);
+    }
+
+    /**
+     * @return Copia del HASH160 de la clave pública
+     */
+    public byte[] getHash160() {
+        int offset = PRIVATE_KEY_LENGTH + publicKeyLength;
+        return Arrays.copyOfRange(data, offset, offset + HASH160_LENGTH);
+    }
+
+    /**
+     * @return Clave privada en hex (64 caracteres)
+     */
+    public String getPrivateKeyHex() {
+        checkNotCleared();
+        String value = privateKeyHex;
+        if (value == null) {
+            value = HexUtils.encode(getPrivateKey());
+            privateKeyHex = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return Wallet Import Format, con el sufijo de clave comprimida si la
+     *         clave pública guardada es la comprimida (el WIF debe importar
+     *         la misma dirección que {@link #getAddress()})
+     */
+    public String getWif() {
+        if (isCompressed()) {
+            return getCompressedWif();
+        }
+        checkNotCleared();
+        String value = wif;
+        if (value == null) {
+            byte[] payload = new byte[1 + PRIVATE_KEY_LENGTH];
+            payload[0] = (byte) 0x80;
+            System.arraycopy(data, 0, payload, 1, PRIVATE_KEY_LENGTH);
+            value = Base58Utils.encodeBase58Check(payload);
+            Arrays.fill(payload, (byte) 0);
+            wif = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return Clave pública en hex
+     */
+    public String getPublicKeyHex() {
+        String value = publicKeyHex;
+        if (value == null) {
+            value = HexUtils.encode(getPublicKey());
+            publicKeyHex = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return Dirección Bitcoin en Base58Check
+     */
+    public String getAddress() {
+        String value = address;
+        if (value == null) {
+            byte[] payload = new byte[1 + HASH160_LENGTH];
+            System.arraycopy(data, PRIVATE_KEY_LENGTH + publicKeyLength, payload, 1, HASH160_LENGTH);
+            value = Base58Utils.encodeBase58Check(payload);
+            address = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return true si la clave pública guardada es la comprimida
+     */
+    public boolean isCompressed() {
+        return publicKeyLength == CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH;
+    }
+
+    /**
+     * @return Clave pública comprimida (33 bytes), o el punto en el
+     *         infinito sin cambios, como {@link CryptoUtils#compressPublicKey(byte[])}
+     */
+    public byte[] getCompressedPublicKey() {
+        if (publicKeyLength != CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH) {
+            return getPublicKey();
+        }
+        byte[] key = new byte[CryptoUtils.COMPRESSED_PUBLIC_KEY_LENGTH];
+        CryptoUtils.compressPublicKey(data, PRIVATE_KEY_LENGTH, key, 0);
+        return key;
+    }
+
+    /**
+     * @return Wallet Import Format con sufijo de clave comprimida
+     */
+    public String getCompressedWif() {
+        checkNotCleared();
+        String value = compressedWif;
+        if (value == null) {
+            byte[] payload = new byte[1 + PRIVATE_KEY_LENGTH + 1];
+            payload[0] = (byte) 0x80;
+            System.arraycopy(data, 0, payload, 1, PRIVATE_KEY_LENGTH);
+            payload[payload.length - 1] = 0x01;
+            value = Base58Utils.encodeBase58Check(payload);
+            Arrays.fill(payload, (byte) 0);
+            compressedWif = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return Dirección de la clave pública comprimida
+     */
+    public String getCompressedAddress() {
+        if (isCompressed()) {
+            return getAddress();
+        }
+        String value = compressedAddress;
+        if (value == null) {
+            byte[] payload = new byte[1 + HASH160_LENGTH];
+            System.arraycopy(getCompressedHash160(), 0, payload, 1, HASH160_LENGTH);
+            value = Base58Utils.encodeBase58Check(payload);
+            compressedAddress = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return Dirección SegWit nativa P2WPKH ("bc1q...")
+     */
+    public String getP2wpkhAddress() {
+        String value = p2wpkhAddress;
+        if (value == null) {
+            value = Bech32Utils.encodeSegwitAddress(Bech32Utils.MAINNET_HRP, 0, getCompressedHash160());
+            p2wpkhAddress = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return Dirección Taproot P2TR de gasto por clave ("bc1p...")
+     */
+    public String getP2trAddress() {
+        String value = p2trAddress;
+        if (value == null) {
+            value = Bech32Utils.encodeSegwitAddress(Bech32Utils.MAINNET_HRP, 1,
+                    TaprootUtils.outputKey(getPublicKey()));
+            p2trAddress = value;
+        }
+        return value;
+    }
+
+    /**
+     * HASH160 de la clave comprimida: el guardado si la clave ya lo es.
+     */
+    private byte[] getCompressedHash160() {
+        byte[] hash160 = new byte[HASH160_LENGTH];
+        if (isCompressed()) {
+            System.arraycopy(data, PRIVATE_KEY_LENGTH + publicKeyLength, hash160, 0, HASH160_LENGTH);
+        } else {
+            byte[] key = getCompressedPublicKey();
+            HashUtils.hash160(key, 0, key.length, hash160, 0);
+        }
+        return hash160;
+    }
+
+    /**
+     * @return Cartera con todas las representaciones en texto, en ambas
+     *         codificaciones de la clave pública
+     */
+    public WalletData toWalletData() {
+        if (isCompressed()) {
+            // Solo existe la codificación comprimida: ambas variantes coinciden
+            return new WalletData(getPrivateKeyHex(), getWif(), getPublicKeyHex(), getAddress(),
+                    getWif(), getPublicKeyHex(), getAddress());
+        }
+        return new WalletData(getPrivateKeyHex(), getWif(), getPublicKeyHex(), getAddress(),
+                getCompressedWif(), HexUtils.encode(getCompressedPublicKey()), getCompressedAddress());
+    }
+
+    /**
+     * Borra la clave privada y descarta sus representaciones en caché.
+     * Clave pública y dirección siguen disponibles.
+     */
+    public void clear() {
+        Arrays.fill(data, 0, PRIVATE_KEY_LENGTH, (byte) 0);
+        privateKeyHex = null;
+        wif = null;
+        compressedWif = null;
+        cleared = true;
+    }
+
+    /**
+     * @return true si ya se llamó a {@link #clear()}
+     */
+    public boolean isCleared() {
+        return cleared;
+    }
+
+    private void checkNotCleared() {
+        if (cleared) {
+            throw new IllegalStateException("La clave privada ya fue borrada");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RawWalletData)) {
+            return false;
+        }
+        RawWalletData other = (RawWalletData) o;
+        return cleared == other.cleared && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        // Solo la parte pública, para no derivar el hash de la clave privada
+        int hash = 1;
+        for (int i = PRIVATE_KEY_LENGTH; i < data.length; i++) {
+            hash = 31 * hash + data[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RawWalletData{" +
+                "address='" + getAddress() + '\'' +
+                ", cleared=" + cleared +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package com.diamon.criptografia.model;
+
+/**
+ * Modelo inmutable que representa los datos de una cartera Bitcoin.
+ * Contiene clave privada, WIF, clave pública y dirección, y opcionalmente
+ * las variantes de clave pública comprimida (mismo punto, otra dirección).
+ * 
+ * @author Bitcoin Wallet Generator
+ * @version 1.0
+ */
+public class WalletData {
+
+    /** Clave privada en formato hexadecimal (64 caracteres) */
+    public final String privateKeyHex;
+
+    /** Wallet Import Format - formato estándar para importar claves */
+    public final String wif;
+
+    /** Clave pública en formato hexadecimal (130 caracteres, no comprimida) */
+    public final String publicKeyHex;
+
+    /** Dirección Bitcoin en formato Base58Check (comienza con '1') */
+    public final String address;
+
+    /** WIF con sufijo de clave comprimida (comienza con 'K' o 'L'), o null */
+    public final String compressedWif;
+
+    /** Clave pública comprimida en hex (66 caracteres), o null */
+    public final String compressedPublicKeyHex;
+
+    /** Dirección de la clave pública comprimida, o null */
+    public final String compressedAddress;
+
+    /**
+     * Constructor para crear datos de cartera inmutables sin las variantes
+     * comprimidas.
+     * 
+     * @param privateKeyHex Clave privada en hex
+     * @param wif           Wallet Import Format
+     * @param publicKeyHex  Clave pública en hex
+     * @param address       Dirección Bitcoin
+     */
+    public WalletData(String privateKeyHex, String wif, String publicKeyHex, String address) {
+        this(privateKeyHex, wif, publicKeyHex, address, null, null, null);
+    }
+
+    /**
+     * Constructor para crear datos de cartera inmutables con ambas
+     * codificaciones de la clave pública.
+     * 
+     * @param privateKeyHex          Clave privada en hex
+     * @param wif                    Wallet Import Format (no comprimida)
+     * @param publicKeyHex           Clave pública no comprimida en hex
+     * @param address                Dirección de la clave no comprimida
+     * @param compressedWif          WIF de la clave comprimida
+     * @param compressedPublicKeyHex Clave pública comprimida en hex
+     * @param compressedAddress      Dirección de la clave comprimida
+     */
+    public WalletData(String privateKeyHex, String wif, String publicKeyHex, String address,
+            String compressedWif, String compressedPublicKeyHex, String compressedAddress) {
+        this.privateKeyHex = privateKeyHex;
+        this.wif = wif;
+        this.publicKeyHex = publicKeyHex;
+        this.address = address;
+        this.compressedWif = compressedWif;
+        this.compressedPublicKeyHex = compressedPublicKeyHex;
+        this.compressedAddress = compressedAddress;
+    }
+
+    /**
+     * Verifica si todos los campos están presentes.
+     * 
+     * @return true si la cartera es válida
+     */
+    public boolean isValid() {
+        return privateKeyHex != null && !privateKeyHex.isEmpty()
+                && wif != null && !wif.isEmpty()
+                && publicKeyHex != null && !publicKeyHex.isEmpty()
+                && address != null && !address.isEmpty();
+    }
+
+    /**
+     * @return true si la cartera incluye las variantes comprimidas
+     */
+    public boolean hasCompressed() {
+        return compressedWif != null && compressedPublicKeyHex != null && compressedAddress != null;
+    }
+
+    @Override
+    public String toString() {
+        return "WalletData{" +
+                "address='" + address + '\'' +
+                ", wif='" + wif.substring(0, 10) + "...'" +
+                ", privateKeyHex='" + privateKeyHex.substring(0, 16) + "...'" +
+                '}';
+    }
+}
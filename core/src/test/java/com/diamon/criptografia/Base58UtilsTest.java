@@ -0,0 +1,158 @@
+package com.diamon.criptografia;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de codificación Base58Check.
+ */
+public class Base58UtilsTest {
+
+    private static final String ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+
+    /** Implementación de referencia con BigInteger (la versión anterior) */
+    private static String referenceEncodeBase58Check(byte[] payload) throws Exception {
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        byte[] hash = sha256.digest(sha256.digest(payload));
+        byte[] bytes = new byte[payload.length + 4];
+        System.arraycopy(payload, 0, bytes, 0, payload.length);
+        System.arraycopy(hash, 0, bytes, payload.length, 4);
+
+        StringBuilder sb = new StringBuilder();
+        BigInteger num = new BigInteger(1, bytes);
+        BigInteger base = BigInteger.valueOf(58);
+        while (num.signum() > 0) {
+            BigInteger[] divRem = num.divideAndRemainder(base);
+            sb.append(ALPHABET.charAt(divRem[1].intValue()));
+            num = divRem[0];
+        }
+        for (int i = 0; i < bytes.length && bytes[i] == 0; i++) {
+            sb.append('1');
+        }
+        return sb.reverse().toString();
+    }
+
+    @Test
+    public void encodeBase58Check_knownWif() {
+        byte[] payload = CryptoUtils.hexToBytes(
+                "800c28fca386c7a227600b2fe50b7cae11ec86d3bf1fbe471be89827e19d72aa1d");
+        assertEquals("5HueCGU8rMjxEXxiPuD5BDku4MkFqeZyd4dZ1jvhTVqvbTLvyTJ",
+                Base58Utils.encodeBase58Check(payload));
+    }
+
+    @Test
+    public void encodeBase58Check_matchesReference() throws Exception {
+        Random random = new Random(5);
+        for (int length = 0; length <= 80; length++) {
+            for (int round = 0; round < 20; round++) {
+                byte[] payload = new byte[length];
+                random.nextBytes(payload);
+                // Forzar ceros iniciales en parte de los casos
+                for (int i = 0; i < Math.min(length, round % 4); i++) {
+                    payload[i] = 0;
+                }
+                assertEquals(referenceEncodeBase58Check(payload), Base58Utils.encodeBase58Check(payload));
+            }
+        }
+    }
+
+    @Test
+    public void encodeBase58Check_bufferVariants() throws Exception {
+        byte[] payload = new byte[25];
+        new Random(9).nextBytes(payload);
+        payload[0] = 0;
+        String expected = referenceEncodeBase58Check(payload);
+
+        byte[] src = new byte[payload.length + 7];
+        System.arraycopy(payload, 0, src, 7, payload.length);
+
+        char[] chars = new char[3 + Base58Utils.maxEncodedLength(payload.length + 4)];
+        int charCount = Base58Utils.encodeBase58Check(src, 7, payload.length, chars, 3);
+        assertEquals(expected, new String(chars, 3, charCount));
+
+        byte[] ascii = new byte[2 + Base58Utils.maxEncodedLength(payload.length + 4)];
+        int byteCount = Base58Utils.encodeBase58Check(src, 7, payload.length, ascii, 2);
+        assertEquals(expected, new String(ascii, 2, byteCount, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void encodeBase58_plain() {
+        byte[] src = { 0, 0, 0x28, 0x7f, (byte) 0xb4, (byte) 0xcd };
+        char[] chars = new char[Base58Utils.maxEncodedLength(src.length)];
+        int count = Base58Utils.encodeBase58(src, 0, src.length, chars, 0);
+        assertEquals("11233QC4", new String(chars, 0, count));
+    }
+
+    @Test
+    public void decodeBase58Check_roundTrip() {
+        Random random = new Random(13);
+        for (int length = 1; length <= 60; length++) {
+            byte[] payload = new byte[length];
+            random.nextBytes(payload);
+            for (int i = 0; i < Math.min(length, length % 3); i++) {
+                payload[i] = 0;
+            }
+
+            Base58Utils.Decoded decoded = Base58Utils.decodeBase58Check(Base58Utils.encodeBase58Check(payload));
+            assertEquals(payload[0] & 0xFF, decoded.version);
+            assertArrayEquals(Arrays.copyOfRange(payload, 1, length), decoded.payload);
+        }
+    }
+
+    @Test
+    public void decodeBase58Check_allZeroHash160Address() {
+        // Dirección con 21 bytes cero iniciales: antes se rechazaba
+        String address = "1111111111111111111114oLvT2";
+        assertTrue(Base58Utils.isValidBase58Check(address));
+
+        Base58Utils.Decoded decoded = Base58Utils.decodeBase58Check(address);
+        assertEquals(0, decoded.version);
+        assertArrayEquals(new byte[20], decoded.payload);
+    }
+
+    @Test
+    public void decodeBase58Check_knownWif() {
+        Base58Utils.Decoded decoded = Base58Utils.decodeBase58Check(
+                "5HueCGU8rMjxEXxiPuD5BDku4MkFqeZyd4dZ1jvhTVqvbTLvyTJ");
+        assertEquals(0x80, decoded.version);
+        assertEquals("0c28fca386c7a227600b2fe50b7cae11ec86d3bf1fbe471be89827e19d72aa1d",
+                CryptoUtils.bytesToHex(decoded.payload));
+    }
+
+    @Test
+    public void decodeBase58Check_bufferVariant() {
+        byte[] dst = new byte[64];
+        int length = Base58Utils.decodeBase58Check(new StringBuilder("1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZm"), dst, 3);
+
+        assertEquals(21, length);
+        assertEquals(0, dst[3]);
+        assertEquals("91b24bf9f5288532960ac687abb035127b1d28a5",
+                CryptoUtils.bytesToHex(Arrays.copyOfRange(dst, 4, 24)));
+    }
+
+    @Test
+    public void decodeBase58Check_rejectsInvalidInput() {
+        byte[] dst = new byte[64];
+        // Carácter fuera del alfabeto
+        assertEquals(-1, Base58Utils.decodeBase58Check("1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZ0", dst, 0));
+        // Carácter no ASCII
+        assertEquals(-1, Base58Utils.decodeBase58Check("1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZñ", dst, 0));
+        // Checksum alterado
+        assertFalse(Base58Utils.isValidBase58Check("1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZn"));
+        // Demasiado corta
+        assertFalse(Base58Utils.isValidBase58Check("1111"));
+        assertFalse(Base58Utils.isValidBase58Check(""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeBase58Check_throwsOnBadChecksum() {
+        Base58Utils.decodeBase58Check("5HueCGU8rMjxEXxiPuD5BDku4MkFqeZyd4dZ1jvhTVqvbTLvyTK");
+    }
+}
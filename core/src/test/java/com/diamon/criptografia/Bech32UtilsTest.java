@@ -0,0 +1,96 @@
+package com.diamon.criptografia;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de Bech32Utils con los vectores de BIP173 y BIP350.
+ */
+public class Bech32UtilsTest {
+
+    private static final String PROGRAM_V0 = "751e76e8199196d454941c45d1b3a323f1433bd6";
+
+    @Test
+    public void encode_bip350Vectors() {
+        byte[] program = HexUtils.decode(PROGRAM_V0);
+        assertEquals("bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4",
+                Bech32Utils.encodeSegwitAddress("bc", 0, program));
+        assertEquals("bc1pw508d6qejxtdg4y5r3zarvary0c5xw7kw508d6qejxtdg4y5r3zarvary0c5xw7kt5nd6y",
+                Bech32Utils.encodeSegwitAddress("bc", 1, HexUtils.decode(PROGRAM_V0 + PROGRAM_V0)));
+        assertEquals("bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqzk5jj0",
+                Bech32Utils.encodeSegwitAddress("bc", 1,
+                        HexUtils.decode("79be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798")));
+        assertEquals("bc1sw50qgdz25j", Bech32Utils.encodeSegwitAddress("bc", 16, HexUtils.decode("751e")));
+    }
+
+    @Test
+    public void decode_acceptsUpperCase() {
+        Bech32Utils.Decoded decoded = Bech32Utils.decodeSegwitAddress("bc",
+                "BC1QW508D6QEJXTDG4Y5R3ZARVARY0C5XW7KV8F3T4");
+        assertEquals(0, decoded.witnessVersion);
+        assertArrayEquals(HexUtils.decode(PROGRAM_V0), decoded.program);
+    }
+
+    @Test
+    public void decode_rejectsInvalidAddresses() {
+        String[] invalid = {
+                // Variante de checksum equivocada para la versión
+                "bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqh2y7hd",
+                "bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kemeawh",
+                // Un carácter cambiado
+                "bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t5",
+                // Mayúsculas y minúsculas mezcladas
+                "bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kV8f3t4",
+                // Otra red
+                "tb1qw508d6qejxtdg4y5r3zarvary0c5xw7kxpjzsx",
+                "",
+                "bc1" };
+        for (String address : invalid) {
+            assertFalse(address, Bech32Utils.isValidSegwitAddress("bc", address));
+        }
+    }
+
+    @Test
+    public void roundTrip_randomPrograms() {
+        Random random = new Random(22);
+        for (int length : new int[] { 20, 32 }) {
+            for (int i = 0; i < 100; i++) {
+                byte[] program = new byte[length];
+                random.nextBytes(program);
+                int version = length == 20 ? 0 : 1;
+                String address = Bech32Utils.encodeSegwitAddress("bc", version, program);
+                assertEquals(Bech32Utils.encodedLength("bc", length), address.length());
+
+                Bech32Utils.Decoded decoded = Bech32Utils.decodeSegwitAddress("bc", address);
+                assertEquals(version, decoded.witnessVersion);
+                assertArrayEquals(program, decoded.program);
+            }
+        }
+    }
+
+    @Test
+    public void encodeBatch_matchesSingle() {
+        int count = 17;
+        byte[] programs = new byte[count * 32];
+        new Random(23).nextBytes(programs);
+        byte[] dst = new byte[3 + count * Bech32Utils.encodedLength("bc", 32)];
+
+        int stride = Bech32Utils.encodeSegwitAddresses("bc", 1, programs, 0, 32, count, dst, 3);
+
+        for (int i = 0; i < count; i++) {
+            byte[] program = new byte[32];
+            System.arraycopy(programs, i * 32, program, 0, 32);
+            assertEquals(Bech32Utils.encodeSegwitAddress("bc", 1, program),
+                    new String(dst, 3 + i * stride, stride, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encode_rejectsWrongV0ProgramLength() {
+        Bech32Utils.encodeSegwitAddress("bc", 0, new byte[32 - 1]);
+    }
+}
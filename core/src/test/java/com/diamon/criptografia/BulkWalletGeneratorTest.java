@@ -0,0 +1,120 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.model.RawWalletData;
+import com.diamon.criptografia.model.WalletData;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la generación masiva en paralelo.
+ */
+public class BulkWalletGeneratorTest {
+
+    private static List<byte[]> seeds(int count) {
+        List<byte[]> seeds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            seeds.add(("semilla " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return seeds;
+    }
+
+    private static void assertSameWallet(WalletData expected, WalletData actual) {
+        assertEquals(expected.privateKeyHex, actual.privateKeyHex);
+        assertEquals(expected.wif, actual.wif);
+        assertEquals(expected.publicKeyHex, actual.publicKeyHex);
+        assertEquals(expected.address, actual.address);
+        assertEquals(expected.compressedWif, actual.compressedWif);
+        assertEquals(expected.compressedPublicKeyHex, actual.compressedPublicKeyHex);
+        assertEquals(expected.compressedAddress, actual.compressedAddress);
+    }
+
+    @Test
+    public void ordered_matchesSingleSeedPath() throws Exception {
+        List<byte[]> seeds = seeds(3 * BulkWalletGenerator.CHUNK_SIZE + 17);
+
+        try (BulkWalletGenerator generator = new BulkWalletGenerator(4, true)) {
+            final List<Long> indices = new ArrayList<>();
+            final List<WalletData> wallets = new ArrayList<>();
+            long count = generator.generate(seeds.iterator(), new BulkWalletGenerator.WalletListener() {
+                @Override
+                public void onWallet(long index, WalletData wallet) {
+                    indices.add(index);
+                    wallets.add(wallet);
+                }
+            });
+
+            assertEquals(seeds.size(), count);
+            for (int i = 0; i < seeds.size(); i++) {
+                assertEquals(Long.valueOf(i), indices.get(i));
+                assertSameWallet(WalletUtils.fromSeed(seeds.get(i)), wallets.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void unordered_deliversEveryIndexOnceAndReportsProgress() throws Exception {
+        List<byte[]> seeds = seeds(5 * BulkWalletGenerator.CHUNK_SIZE);
+        final AtomicReferenceArray<WalletData> results = new AtomicReferenceArray<>(seeds.size());
+        final AtomicLong lastProgress = new AtomicLong();
+
+        try (BulkWalletGenerator generator = new BulkWalletGenerator(3, false)) {
+            generator.setProgressListener(new BulkWalletGenerator.ProgressListener() {
+                @Override
+                public void onProgress(long completed) {
+                    lastProgress.accumulateAndGet(completed, Math::max);
+                }
+            });
+
+            generator.generate(seeds.iterator(), new BulkWalletGenerator.WalletListener() {
+                @Override
+                public void onWallet(long index, WalletData wallet) {
+                    assertTrue(results.compareAndSet((int) index, null, wallet));
+                }
+            });
+        }
+
+        assertEquals(seeds.size(), lastProgress.get());
+        for (int i = 0; i < seeds.size(); i += 97) {
+            assertSameWallet(WalletUtils.fromSeed(seeds.get(i)), results.get(i));
+        }
+    }
+
+    @Test
+    public void generateAll_keepsInputOrder() throws Exception {
+        List<byte[]> seeds = seeds(10);
+        try (BulkWalletGenerator generator = new BulkWalletGenerator(true)) {
+            List<WalletData> wallets = generator.generateAll(seeds);
+            assertEquals(seeds.size(), wallets.size());
+            for (int i = 0; i < seeds.size(); i++) {
+                assertSameWallet(WalletUtils.fromSeed(seeds.get(i)), wallets.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void generateRaw_matchesEagerWallets() throws Exception {
+        List<byte[]> seeds = seeds(BulkWalletGenerator.CHUNK_SIZE + 5);
+        final RawWalletData[] results = new RawWalletData[seeds.size()];
+
+        try (BulkWalletGenerator generator = new BulkWalletGenerator(2, true)) {
+            generator.generateRaw(seeds.iterator(), new BulkWalletGenerator.RawWalletListener() {
+                @Override
+                public void onWallet(long index, RawWalletData wallet) {
+                    results[(int) index] = wallet;
+                }
+            });
+        }
+
+        for (int i = 0; i < seeds.size(); i++) {
+            assertSameWallet(WalletUtils.fromSeed(seeds.get(i)), results[i].toWalletData());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.ec.BouncyCastleEngine;
+import com.diamon.criptografia.ec.EcEngine;
+import com.diamon.criptografia.ec.Secp256k1Engine;
+import com.diamon.criptografia.hash.BouncyCastleHashEngine;
+import com.diamon.criptografia.hash.HashEngine;
+import com.diamon.criptografia.hash.JcaHashEngine;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Selección de backends, autoprueba y vuelta a la referencia.
+ */
+public class CryptoBackendsTest {
+
+    /** Motor que deriva bien salvo un bit de la coordenada Y */
+    private static final class BrokenEcEngine implements EcEngine {
+        @Override
+        public String getName() {
+            return "broken";
+        }
+
+        @Override
+        public void derivePublicKey(byte[] privateKey, int privateKeyOffset, byte[] publicKey, int publicKeyOffset) {
+            derivePublicKeys(privateKey, privateKeyOffset, publicKey, publicKeyOffset, 1);
+        }
+
+        @Override
+        public void derivePublicKeys(byte[] privateKeys, int privateKeysOffset,
+                byte[] publicKeys, int publicKeysOffset, int count) {
+            BouncyCastleEngine.getInstance().derivePublicKeys(privateKeys, privateKeysOffset,
+                    publicKeys, publicKeysOffset, count);
+            publicKeys[publicKeysOffset + PUBLIC_KEY_LENGTH - 1] ^= 1;
+        }
+    }
+
+    /** Backend que falla al primer uso */
+    private static final class ThrowingHashEngine implements HashEngine {
+        @Override
+        public String getName() {
+            return "throwing";
+        }
+
+        @Override
+        public void sha256(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+            throw new IllegalStateException("sin digest");
+        }
+
+        @Override
+        public void doubleSha256(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+            throw new IllegalStateException("sin digest");
+        }
+
+        @Override
+        public void hash160(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+            throw new IllegalStateException("sin digest");
+        }
+    }
+
+    @After
+    public void restoreDefaults() {
+        CryptoBackends.select(null, null);
+    }
+
+    @Test
+    public void referenceBackends_needNoSelfTest() {
+        CryptoBackends.select(BouncyCastleEngine.NAME, BouncyCastleHashEngine.NAME);
+
+        assertEquals(CryptoBackends.Status.REFERENCE, CryptoBackends.getEcStatus());
+        assertEquals(CryptoBackends.Status.REFERENCE, CryptoBackends.getHashStatus());
+        assertSame(BouncyCastleEngine.getInstance(), CryptoBackends.ec());
+        assertSame(BouncyCastleHashEngine.getInstance(), CryptoBackends.hash());
+    }
+
+    @Test
+    public void candidates_areTrustedAfterSelfTest() {
+        CryptoBackends.select(Secp256k1Engine.NAME, JcaHashEngine.NAME);
+        CryptoBackends.selfTest();
+
+        assertEquals(CryptoBackends.Status.TRUSTED, CryptoBackends.getEcStatus());
+        assertEquals(CryptoBackends.Status.TRUSTED, CryptoBackends.getHashStatus());
+        assertSame(Secp256k1Engine.getInstance(), CryptoBackends.ec());
+        assertSame(JcaHashEngine.getInstance(), CryptoBackends.hash());
+    }
+
+    @Test
+    public void pendingCandidate_isTestedInBackground() throws InterruptedException {
+        CryptoBackends.select(Secp256k1Engine.NAME, JcaHashEngine.NAME);
+        CryptoBackends.ec();
+
+        long deadline = System.currentTimeMillis() + 30000;
+        while (CryptoBackends.getEcStatus() == CryptoBackends.Status.PENDING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(CryptoBackends.Status.TRUSTED, CryptoBackends.getEcStatus());
+        assertSame(Secp256k1Engine.getInstance(), CryptoBackends.ec());
+    }
+
+    @Test
+    public void misbehavingBackends_fallBackToReference() {
+        CryptoBackends.register(new BrokenEcEngine());
+        CryptoBackends.register(new ThrowingHashEngine());
+        CryptoBackends.select("broken", "throwing");
+        CryptoBackends.selfTest();
+
+        assertEquals(CryptoBackends.Status.FAILED, CryptoBackends.getEcStatus());
+        assertEquals(CryptoBackends.Status.FAILED, CryptoBackends.getHashStatus());
+        assertSame(BouncyCastleEngine.getInstance(), CryptoBackends.ec());
+        assertSame(BouncyCastleHashEngine.getInstance(), CryptoBackends.hash());
+        assertTrue(CryptoBackends.describe().contains("broken [FAILED] usando bouncycastle"));
+
+        byte[] privateKey = new byte[FixedBaseMultiplier.SCALAR_LENGTH];
+        privateKey[privateKey.length - 1] = 1;
+        assertEquals("0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"
+                + "483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8",
+                CryptoUtils.bytesToHex(CryptoUtils.derivePublicKey(privateKey)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void select_rejectsUnknownName() {
+        CryptoBackends.select("desconocido", null);
+    }
+}
@@ -0,0 +1,123 @@
+package com.diamon.criptografia;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de las APIs de CryptoUtils.
+ */
+public class CryptoUtilsTest {
+
+    private static byte[][] randomKeys(int count, long seed) {
+        Random random = new Random(seed);
+        byte[][] keys = new byte[count][32];
+        for (byte[] key : keys) {
+            random.nextBytes(key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void compressPublicKey_matchesCompressedEncoding() {
+        for (byte[] key : randomKeys(200, 3)) {
+            byte[] expected = FixedBaseMultiplier.getInstance().multiply(key).getEncoded(true);
+            assertArrayEquals(expected, CryptoUtils.compressPublicKey(CryptoUtils.derivePublicKey(key)));
+        }
+    }
+
+    @Test
+    public void compressPublicKey_keepsOtherEncodings() {
+        byte[] compressed = CryptoUtils.compressPublicKey(CryptoUtils.derivePublicKey(randomKeys(1, 4)[0]));
+        assertArrayEquals(compressed, CryptoUtils.compressPublicKey(compressed));
+        assertArrayEquals(new byte[] { 0 }, CryptoUtils.compressPublicKey(new byte[] { 0 }));
+    }
+
+    @Test
+    public void generateWIF_compressedAddsSuffix() {
+        byte[] key = new byte[32];
+        key[31] = 1;
+        assertEquals("5HpHagT65TZzG1PH3CSu63k8DbpvD8s5ip4nEB3kEsreAnchuDf", CryptoUtils.generateWIF(key, false));
+        assertEquals("KwDiBf89QgGbjEhKnhXJuH7LrciVrZi3qYjgd9M7rFU73sVHnoWn", CryptoUtils.generateWIF(key, true));
+    }
+
+    @Test
+    public void derivePublicKeys_matchesSingleKeyPath() {
+        // Más de un bloque de normalización para cubrir el corte entre bloques
+        byte[][] keys = randomKeys(2500, 1);
+        byte[][] batch = CryptoUtils.derivePublicKeys(keys);
+
+        assertEquals(keys.length, batch.length);
+        for (int i = 0; i < keys.length; i++) {
+            assertArrayEquals(CryptoUtils.derivePublicKey(keys[i]), batch[i]);
+        }
+    }
+
+    @Test
+    public void derivePublicKeys_keepsInfinityEncoding() {
+        byte[][] keys = { new byte[32], randomKeys(1, 2)[0] };
+        byte[][] batch = CryptoUtils.derivePublicKeys(keys);
+
+        assertArrayEquals(CryptoUtils.derivePublicKey(keys[0]), batch[0]);
+        assertArrayEquals(CryptoUtils.derivePublicKey(keys[1]), batch[1]);
+    }
+
+    @Test
+    public void derivePublicKeys_bufferVariantMatchesSingleKeyPath() {
+        byte[][] keys = randomKeys(300, 3);
+        byte[] privateKeys = new byte[3 + keys.length * 32];
+        for (int i = 0; i < keys.length; i++) {
+            System.arraycopy(keys[i], 0, privateKeys, 3 + i * 32, 32);
+        }
+
+        byte[] publicKeys = new byte[5 + keys.length * 65];
+        CryptoUtils.derivePublicKeys(privateKeys, 3, publicKeys, 5, keys.length);
+
+        for (int i = 0; i < keys.length; i++) {
+            byte[] expected = CryptoUtils.derivePublicKey(keys[i]);
+            byte[] actual = new byte[65];
+            System.arraycopy(publicKeys, 5 + i * 65, actual, 0, 65);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void derivePublicKeys_bufferVariantKeepsInfinityPerKey() {
+        // Claves 0 y n: el punto en el infinito no hace fallar al resto del lote
+        byte[] order = FixedBaseMultiplier.getInstance().getOrder().toByteArray();
+        byte[][] keys = randomKeys(4, 5);
+        keys[1] = new byte[32];
+        keys[2] = Arrays.copyOfRange(order, order.length - 32, order.length);
+        byte[] privateKeys = new byte[keys.length * 32];
+        for (int i = 0; i < keys.length; i++) {
+            System.arraycopy(keys[i], 0, privateKeys, i * 32, 32);
+        }
+
+        byte[] publicKeys = new byte[keys.length * 65];
+        Arrays.fill(publicKeys, (byte) 0x55);
+        CryptoUtils.derivePublicKeys(privateKeys, 0, publicKeys, 0, keys.length);
+
+        for (int i = 0; i < keys.length; i++) {
+            byte[] expected = CryptoUtils.derivePublicKey(keys[i]);
+            assertEquals(expected.length, CryptoUtils.publicKeyLength(publicKeys, i * 65));
+            byte[] slot = Arrays.copyOfRange(publicKeys, i * 65, (i + 1) * 65);
+            assertArrayEquals(Arrays.copyOf(expected, 65), slot);
+        }
+
+        byte[] compressed = new byte[33];
+        CryptoUtils.compressPublicKey(publicKeys, 65, compressed, 0);
+        assertEquals(1, CryptoUtils.publicKeyLength(compressed, 0));
+        assertArrayEquals(new byte[33], compressed);
+    }
+
+    @Test
+    public void segwitAddresses_knownVectors() {
+        byte[] publicKey = CryptoUtils.derivePublicKey(new byte[] { 1 });
+        assertEquals("bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4", CryptoUtils.generateP2wpkhAddress(publicKey));
+        assertEquals("bc1pmfr3p9j00pfxjh0zmgp99y8zftmd3s5pmedqhyptwy6lm87hf5sspknck9",
+                CryptoUtils.generateP2trAddress(publicKey));
+    }
+}
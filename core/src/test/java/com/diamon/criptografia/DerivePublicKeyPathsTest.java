@@ -0,0 +1,95 @@
+package com.diamon.criptografia;
+
+import org.bouncycastle.jce.ECNamedCurveTable;
+import org.bouncycastle.jce.spec.ECNamedCurveParameterSpec;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Equivalencia de las rutas de derivación: ruta genérica anterior
+ * (ECNamedCurveTable + G.multiply) frente a la tabla de base fija de
+ * {@link FixedBaseMultiplier}, y derivación individual frente a derivación
+ * en lote. Los tiempos se miden en EcEngineBenchmark.
+ */
+public class DerivePublicKeyPathsTest {
+
+    private static final int KEYS = 1_000;
+
+    /** Ruta previa: búsqueda de curva y multiplicación genérica por llamada */
+    private static byte[] legacyDerivePublicKey(byte[] privateKey) {
+        ECNamedCurveParameterSpec spec = ECNamedCurveTable.getParameterSpec("secp256k1");
+        BigInteger d = new BigInteger(1, privateKey);
+        return spec.getG().multiply(d).normalize().getEncoded(false);
+    }
+
+    /**
+     * Claves aleatorias más los bordes de la tabla: 1, n - 1, todos los
+     * dígitos 0xFF (mayor que n, se reduce) y ventanas alternas a cero.
+     */
+    private static byte[][] keys(long seed) {
+        byte[][] keys = new byte[KEYS][32];
+        Random random = new Random(seed);
+        for (byte[] key : keys) {
+            random.nextBytes(key);
+        }
+
+        keys[0][31] = 1;
+        Arrays.fill(keys[0], 0, 31, (byte) 0);
+        byte[] order = FixedBaseMultiplier.getInstance().getOrder().subtract(BigInteger.ONE).toByteArray();
+        System.arraycopy(order, order.length - 32, keys[1], 0, 32);
+        Arrays.fill(keys[2], (byte) 0xFF);
+        for (int i = 0; i < 32; i += 2) {
+            keys[3][i] = 0;
+        }
+        return keys;
+    }
+
+    @Test
+    public void legacyAndFixedBase_produceSameKeys() {
+        for (byte[] key : keys(7)) {
+            assertArrayEquals(legacyDerivePublicKey(key), CryptoUtils.derivePublicKey(key));
+        }
+    }
+
+    @Test
+    public void singleAndBatch_produceSameKeys() {
+        byte[][] keys = keys(11);
+        byte[][] expected = new byte[KEYS][];
+        for (int i = 0; i < KEYS; i++) {
+            expected[i] = CryptoUtils.derivePublicKey(keys[i]);
+        }
+
+        for (int batchSize : new int[] { 1, 16, 256, KEYS }) {
+            byte[][] batch = new byte[batchSize][];
+            for (int offset = 0; offset + batchSize <= KEYS; offset += batchSize) {
+                System.arraycopy(keys, offset, batch, 0, batchSize);
+                byte[][] derived = CryptoUtils.derivePublicKeys(batch);
+                for (int i = 0; i < batchSize; i++) {
+                    assertArrayEquals(expected[offset + i], derived[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void flatBufferBatch_matchesSingle() {
+        byte[][] keys = keys(13);
+        byte[] privateKeys = new byte[KEYS * 32];
+        for (int i = 0; i < KEYS; i++) {
+            System.arraycopy(keys[i], 0, privateKeys, i * 32, 32);
+        }
+
+        int keyLength = CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH;
+        byte[] publicKeys = new byte[KEYS * keyLength];
+        CryptoUtils.derivePublicKeys(privateKeys, 0, publicKeys, 0, KEYS);
+        for (int i = 0; i < KEYS; i++) {
+            assertArrayEquals(CryptoUtils.derivePublicKey(keys[i]),
+                    Arrays.copyOfRange(publicKeys, i * keyLength, (i + 1) * keyLength));
+        }
+    }
+}
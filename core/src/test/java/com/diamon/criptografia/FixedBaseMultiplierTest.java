@@ -0,0 +1,77 @@
+package com.diamon.criptografia;
+
+import org.bouncycastle.jce.ECNamedCurveTable;
+import org.bouncycastle.jce.spec.ECNamedCurveParameterSpec;
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compara la tabla de base fija contra la multiplicación genérica de
+ * Bouncy Castle.
+ */
+public class FixedBaseMultiplierTest {
+
+    private static final ECNamedCurveParameterSpec SPEC = ECNamedCurveTable.getParameterSpec("secp256k1");
+
+    private static byte[] referencePublicKey(byte[] privateKey) {
+        return SPEC.getG().multiply(new BigInteger(1, privateKey)).normalize().getEncoded(false);
+    }
+
+    private static byte[] scalar(BigInteger value) {
+        byte[] out = new byte[32];
+        byte[] encoded = value.toByteArray();
+        int length = Math.min(encoded.length, 32);
+        System.arraycopy(encoded, encoded.length - length, out, 32 - length, length);
+        return out;
+    }
+
+    @Test
+    public void one_returnsGenerator() {
+        byte[] pub = CryptoUtils.derivePublicKey(scalar(BigInteger.ONE));
+        assertArrayEquals(SPEC.getG().getEncoded(false), pub);
+    }
+
+    @Test
+    public void randomScalars_matchReference() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            byte[] key = new byte[32];
+            random.nextBytes(key);
+            assertArrayEquals(referencePublicKey(key), CryptoUtils.derivePublicKey(key));
+        }
+    }
+
+    @Test
+    public void edgeScalars_matchReference() {
+        BigInteger n = SPEC.getN();
+        BigInteger[] values = {
+                BigInteger.valueOf(2),
+                BigInteger.valueOf(255),
+                BigInteger.valueOf(256),
+                n.subtract(BigInteger.ONE),
+                n.add(BigInteger.ONE),
+                BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE)
+        };
+        for (BigInteger value : values) {
+            byte[] key = scalar(value);
+            assertArrayEquals(referencePublicKey(key), CryptoUtils.derivePublicKey(key));
+        }
+    }
+
+    @Test
+    public void zeroScalar_returnsInfinity() {
+        ECPoint q = FixedBaseMultiplier.getInstance().multiply(new byte[32]);
+        assertTrue(q.isInfinity());
+    }
+
+    @Test
+    public void shortScalar_matchesReference() {
+        byte[] key = { 0x01, 0x23, 0x45 };
+        assertArrayEquals(referencePublicKey(key), CryptoUtils.derivePublicKey(key));
+    }
+}
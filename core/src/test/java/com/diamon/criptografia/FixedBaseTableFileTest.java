@@ -0,0 +1,184 @@
+package com.diamon.criptografia;
+
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Persistencia de la tabla de base fija: escritura, carga mapeada y
+ * reconstrucción de archivos dañados.
+ */
+public class FixedBaseTableFileTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("tabla", ".tbl");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private static byte[][] keys(int count) {
+        byte[][] keys = new byte[count][FixedBaseMultiplier.SCALAR_LENGTH];
+        Random random = new Random(19);
+        for (byte[] key : keys) {
+            random.nextBytes(key);
+        }
+        return keys;
+    }
+
+    private static void assertSameKeys(FixedBaseMultiplier multiplier) {
+        for (byte[] key : keys(64)) {
+            assertArrayEquals(FixedBaseMultiplier.getInstance().multiply(key).getEncoded(false),
+                    multiplier.multiply(key).getEncoded(false));
+        }
+    }
+
+    private ECPoint[] readPoints() {
+        ByteBuffer data = FixedBaseTableFile.open(file);
+        assertNotNull(data);
+        ECCurve curve = FixedBaseMultiplier.getInstance().getCurve();
+        ECPoint[] points = new ECPoint[FixedBaseMultiplier.WINDOWS * FixedBaseMultiplier.POINTS_PER_WINDOW];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = FixedBaseTableFile.decodePoint(data, i, curve);
+        }
+        return points;
+    }
+
+    private void flipByte(long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0x40);
+        }
+    }
+
+    @Test
+    public void missingFile_isBuiltAndWritten() {
+        FixedBaseMultiplier built = new FixedBaseMultiplier(file);
+
+        assertFalse(built.isTableLoaded());
+        assertEquals(FixedBaseTableFile.FILE_LENGTH, file.length());
+        assertSameKeys(built);
+    }
+
+    @Test
+    public void writtenFile_isMappedAndDerivesSameKeys() {
+        new FixedBaseMultiplier(file);
+        FixedBaseMultiplier loaded = new FixedBaseMultiplier(file);
+
+        assertTrue(loaded.isTableLoaded());
+        assertSameKeys(loaded);
+    }
+
+    @Test
+    public void corruptPoint_isRebuilt() throws IOException {
+        new FixedBaseMultiplier(file);
+        flipByte(FixedBaseTableFile.HEADER_LENGTH + 1000L * 64 + 5);
+
+        FixedBaseMultiplier rebuilt = new FixedBaseMultiplier(file);
+        assertFalse(rebuilt.isTableLoaded());
+        assertSameKeys(rebuilt);
+
+        // El archivo reescrito vuelve a ser válido
+        assertTrue(new FixedBaseMultiplier(file).isTableLoaded());
+    }
+
+    @Test
+    public void swappedPoints_withValidHeader_areRebuilt() {
+        new FixedBaseMultiplier(file);
+        ECPoint[] points = readPoints();
+
+        // Dos puntos válidos de la curva en el lugar del otro, con una
+        // cabecera correcta: solo el hash de los puntos lo detecta
+        ECPoint swapped = points[3000];
+        points[3000] = points[3001];
+        points[3001] = swapped;
+        assertTrue(FixedBaseTableFile.write(file, points));
+
+        FixedBaseMultiplier rebuilt = new FixedBaseMultiplier(file);
+        assertFalse(rebuilt.isTableLoaded());
+        assertSameKeys(rebuilt);
+        assertTrue(new FixedBaseMultiplier(file).isTableLoaded());
+    }
+
+    @Test
+    public void lastPointOffCurve_withValidHeader_isRebuilt() {
+        new FixedBaseMultiplier(file);
+        ECPoint[] points = readPoints();
+
+        int last = points.length - 1;
+        ECCurve curve = FixedBaseMultiplier.getInstance().getCurve();
+        points[last] = curve.createPoint(points[last].getAffineXCoord().toBigInteger(),
+                points[last].getAffineYCoord().toBigInteger().add(BigInteger.ONE));
+        assertTrue(FixedBaseTableFile.write(file, points));
+
+        assertFalse(new FixedBaseMultiplier(file).isTableLoaded());
+    }
+
+    @Test
+    public void corruptHeader_isRebuilt() throws IOException {
+        new FixedBaseMultiplier(file);
+        flipByte(4);
+
+        assertFalse(new FixedBaseMultiplier(file).isTableLoaded());
+    }
+
+    @Test
+    public void truncatedFile_isRebuilt() throws IOException {
+        new FixedBaseMultiplier(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(FixedBaseTableFile.FILE_LENGTH / 2);
+        }
+
+        assertFalse(new FixedBaseMultiplier(file).isTableLoaded());
+        assertEquals(FixedBaseTableFile.FILE_LENGTH, file.length());
+    }
+
+    @Test
+    public void lazyPoints_areSafeAcrossThreads() throws InterruptedException {
+        new FixedBaseMultiplier(file);
+        final FixedBaseMultiplier loaded = new FixedBaseMultiplier(file);
+        final byte[][] keys = keys(256);
+        final byte[][][] results = new byte[4][keys.length][];
+
+        Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < keys.length; i++) {
+                    results[thread][i] = loaded.multiply(keys[i]).getEncoded(false);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            byte[] expected = FixedBaseMultiplier.getInstance().multiply(keys[i]).getEncoded(false);
+            for (byte[][] result : results) {
+                assertTrue(Arrays.equals(expected, result[i]));
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.diamon.criptografia;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Vectores conocidos del motor de hashing.
+ */
+public class HashUtilsTest {
+
+    private static final byte[] ABC = "abc".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void sha256_knownVector() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                CryptoUtils.bytesToHex(HashUtils.sha256(ABC)));
+    }
+
+    @Test
+    public void doubleSha256_knownVector() {
+        assertEquals("4f8b42c22dd3729b519ba6f68d2da7cc5b2d606d05daed5ad5128cc03e6c6358",
+                CryptoUtils.bytesToHex(HashUtils.doubleSha256(ABC)));
+    }
+
+    @Test
+    public void hash160_generatorPublicKey() {
+        byte[] publicKey = CryptoUtils.hexToBytes("0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"
+                + "483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8");
+        assertEquals("91b24bf9f5288532960ac687abb035127b1d28a5",
+                CryptoUtils.bytesToHex(HashUtils.hash160(publicKey)));
+    }
+
+    @Test
+    public void offsetVariants_writeIntoCallerBuffer() {
+        byte[] src = new byte[10];
+        System.arraycopy(ABC, 0, src, 4, ABC.length);
+        byte[] dst = new byte[40];
+
+        HashUtils.doubleSha256(src, 4, ABC.length, dst, 8);
+        assertArrayEquals(HashUtils.doubleSha256(ABC), Arrays.copyOfRange(dst, 8, 40));
+
+        HashUtils.hash160(src, 4, ABC.length, dst, 1);
+        assertArrayEquals(HashUtils.hash160(ABC), Arrays.copyOfRange(dst, 1, 21));
+    }
+}
@@ -0,0 +1,85 @@
+package com.diamon.criptografia;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del códec hexadecimal.
+ */
+public class HexUtilsTest {
+
+    private static String referenceHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void encode_matchesStringFormat() {
+        byte[] all = new byte[256];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = (byte) i;
+        }
+        assertEquals(referenceHex(all), HexUtils.encode(all));
+        assertEquals("", HexUtils.encode(new byte[0]));
+    }
+
+    @Test
+    public void encode_bufferAndAppendableVariants() throws Exception {
+        byte[] src = { 0x00, 0x01, (byte) 0xab, (byte) 0xff, 0x10 };
+
+        char[] chars = new char[8];
+        assertEquals(6, HexUtils.encode(src, 1, 3, chars, 2));
+        assertEquals("01abff", new String(chars, 2, 6));
+
+        byte[] ascii = new byte[6];
+        HexUtils.encode(src, 1, 3, ascii, 0);
+        assertEquals("01abff", new String(ascii, StandardCharsets.US_ASCII));
+
+        StringBuilder sb = new StringBuilder("x=");
+        HexUtils.encode(src, 0, src.length, sb);
+        assertEquals("x=0001abff10", sb.toString());
+    }
+
+    @Test
+    public void decode_roundTripMixedCase() {
+        byte[] data = new byte[64];
+        new Random(3).nextBytes(data);
+        String hex = HexUtils.encode(data);
+
+        assertArrayEquals(data, HexUtils.decode(hex));
+        assertArrayEquals(data, HexUtils.decode(hex.toUpperCase()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_rejectsInvalidCharacter() {
+        HexUtils.decode("0g");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_rejectsOddLength() {
+        HexUtils.decode("abc");
+    }
+
+    @Test
+    public void batchVariants() {
+        byte[][] values = { { 1, 2 }, { (byte) 0xfe }, {} };
+        assertArrayEquals(new String[] { "0102", "fe", "" }, HexUtils.encodeAll(values));
+
+        byte[][] decoded = HexUtils.decodeAll(new CharSequence[] { "0102", "FE", "" });
+        assertArrayEquals(values[0], decoded[0]);
+        assertArrayEquals(values[1], decoded[1]);
+        assertEquals(0, decoded[2].length);
+
+        byte[] records = { 1, 2, 3, 4, 5, 6 };
+        char[] chars = new char[12];
+        assertEquals(12, HexUtils.encodeAll(records, 0, 2, 3, chars, 0));
+        assertEquals("010203040506", new String(chars));
+    }
+}
@@ -0,0 +1,82 @@
+package com.diamon.criptografia;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifica que el procesamiento en streaming produce la misma clave que el
+ * procesamiento con el archivo completo en memoria.
+ */
+public class SeedDigestOutputStreamTest {
+
+    private static final int THRESHOLD = 100_000;
+
+    /** Procesamiento anterior: archivo completo + GZIP en memoria */
+    private static byte[] referencePrivateKey(byte[] fileBytes, long threshold) throws Exception {
+        byte[] processed = fileBytes;
+        if (fileBytes.length > threshold) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) {
+                gzipStream.write(fileBytes);
+                gzipStream.finish();
+            }
+            processed = outputStream.toByteArray();
+        }
+        return CryptoUtils.generatePrivateKey(processed);
+    }
+
+    private static byte[] streamingPrivateKey(byte[] fileBytes, long threshold, int chunk,
+            SeedDigestOutputStream[] out) throws Exception {
+        SeedDigestOutputStream stream = new SeedDigestOutputStream(threshold);
+        for (int pos = 0; pos < fileBytes.length; pos += chunk) {
+            stream.write(fileBytes, pos, Math.min(chunk, fileBytes.length - pos));
+        }
+        byte[] seedDigest = stream.finish();
+        out[0] = stream;
+        return CryptoUtils.generatePrivateKeyFromSeedDigest(seedDigest);
+    }
+
+    @Test
+    public void matchesInMemoryProcessing() throws Exception {
+        Random random = new Random(17);
+        int[] sizes = { 0, 1, 4096, THRESHOLD - 1, THRESHOLD, THRESHOLD + 1, 3 * THRESHOLD + 123 };
+
+        for (int size : sizes) {
+            byte[] file = new byte[size];
+            random.nextBytes(file);
+            // Mitad compresible para que GZIP haga trabajo real
+            for (int i = 0; i < size / 2; i++) {
+                file[i] = (byte) (i % 7);
+            }
+
+            SeedDigestOutputStream[] stream = new SeedDigestOutputStream[1];
+            byte[] expected = referencePrivateKey(file, THRESHOLD);
+            assertArrayEquals(expected, streamingPrivateKey(file, THRESHOLD, 4096, stream));
+            assertArrayEquals(expected, streamingPrivateKey(file, THRESHOLD, 65_537, stream));
+
+            assertEquals(size, stream[0].getOriginalSize());
+            assertEquals(size > THRESHOLD, stream[0].isCompressed());
+            if (!stream[0].isCompressed()) {
+                assertEquals(size, stream[0].getProcessedSize());
+            }
+        }
+    }
+
+    @Test
+    public void reportsCompressedSize() throws Exception {
+        byte[] file = new byte[THRESHOLD * 2];
+        SeedDigestOutputStream[] stream = new SeedDigestOutputStream[1];
+        streamingPrivateKey(file, THRESHOLD, 8192, stream);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) {
+            gzipStream.write(file);
+        }
+        assertEquals(outputStream.size(), stream[0].getProcessedSize());
+    }
+}
@@ -0,0 +1,88 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.model.WalletData;
+
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del endurecimiento scrypt, contrastado con Bouncy Castle.
+ */
+public class SeedStretcherTest {
+
+    private static final byte[] PASSWORD = "password".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SALT = "NaCl".getBytes(StandardCharsets.US_ASCII);
+
+    private static void assertMatchesReference(int logN, int r, int p, int dkLen) throws Exception {
+        try (SeedStretcher stretcher = new SeedStretcher(new SeedStretcher.Params(logN, r, p))) {
+            byte[] expected = SCrypt.generate(PASSWORD, SALT, 1 << logN, r, p, dkLen);
+            assertArrayEquals(expected, stretcher.scrypt(PASSWORD, SALT, dkLen));
+            // La memoria reutilizada no altera la segunda derivación
+            assertArrayEquals(expected, stretcher.scrypt(PASSWORD, SALT, dkLen));
+        }
+    }
+
+    @Test
+    public void scrypt_matchesBouncyCastle() throws Exception {
+        assertMatchesReference(4, 1, 1, 64);
+        assertMatchesReference(10, 8, 1, 64);
+        assertMatchesReference(10, 8, 16, 64);
+        assertMatchesReference(8, 3, 5, 32);
+    }
+
+    @Test
+    public void stretch_isDeterministicAndSaltSensitive() throws Exception {
+        byte[] seed = "frase de cerebro".getBytes(StandardCharsets.UTF_8);
+        try (SeedStretcher stretcher = new SeedStretcher(new SeedStretcher.Params(10, 8, 2))) {
+            byte[] a = stretcher.stretch(seed, new byte[0]);
+            byte[] b = stretcher.stretch(seed, new byte[0]);
+            byte[] salted = stretcher.stretch(seed, "a@b.c".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(32, a.length);
+            assertArrayEquals(a, b);
+            assertFalse(Arrays.equals(a, salted));
+
+            WalletData stretched = WalletUtils.fromStretchedSeed(seed, new byte[0], stretcher);
+            assertEquals(WalletUtils.fromPrivateKey(a).address, stretched.address);
+            assertNotEquals(WalletUtils.fromSeed(seed).address, stretched.address);
+        }
+    }
+
+    @Test
+    public void interruptedDerivation_leavesStretcherReusable() throws Exception {
+        byte[] expected = SCrypt.generate(PASSWORD, SALT, 1 << 10, 8, 4, 32);
+        try (SeedStretcher stretcher = new SeedStretcher(new SeedStretcher.Params(10, 8, 4))) {
+            for (int i = 0; i < 5; i++) {
+                // Con la interrupción pendiente, la espera a los carriles falla
+                // en cuanto empieza (si hay más de un hilo)
+                Thread.currentThread().interrupt();
+                try {
+                    stretcher.scrypt(PASSWORD, SALT, 32);
+                } catch (InterruptedException expectedInterrupt) {
+                    // Los carriles ya han terminado al salir
+                }
+                Thread.interrupted();
+
+                assertArrayEquals(expected, stretcher.scrypt(PASSWORD, SALT, 32));
+            }
+        }
+    }
+
+    @Test
+    public void params_encodeRoundTrip() {
+        SeedStretcher.Params params = new SeedStretcher.Params(14, 8, 2);
+        assertEquals("scrypt-v1:14:8:2", params.encode());
+        assertEquals(params, SeedStretcher.Params.decode(params.encode()));
+        assertEquals(32L * 1024 * 1024, params.getMemoryBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void params_rejectUnknownVersion() {
+        SeedStretcher.Params.decode("scrypt-v9:14:8:2");
+    }
+}
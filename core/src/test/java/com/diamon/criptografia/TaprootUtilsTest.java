@@ -0,0 +1,69 @@
+package com.diamon.criptografia;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de TaprootUtils con los vectores de BIP341 y BIP86.
+ */
+public class TaprootUtilsTest {
+
+    @Test
+    public void outputKey_bip341Vector() {
+        byte[] internal = HexUtils.decode("02d6889cb081036e0faefa3a35157ad71086b123b2b144b649798b494c300a961d");
+        assertEquals("53a1f6e454df1aa2776a2814a721372d6258050de330b3c6d10ee8f4e0dda343",
+                HexUtils.encode(TaprootUtils.outputKey(internal)));
+    }
+
+    @Test
+    public void p2trAddress_bip86Vector() {
+        byte[] internal = HexUtils.decode("03cc8a4bc64d897bddc5fbc2f670f7a8ba0b386779106cf1223c6fc5d7cd6fc115");
+        assertEquals("bc1p5cyxnuxmeuwuvkwfem96lqzszd02n6xdcjrs20cac6yqjjwudpxqkedrcr",
+                CryptoUtils.generateP2trAddress(internal));
+    }
+
+    @Test
+    public void outputKey_ignoresParityOfInternalKey() {
+        byte[] privateKey = new byte[32];
+        new Random(24).nextBytes(privateKey);
+        byte[] uncompressed = CryptoUtils.derivePublicKey(privateKey);
+        byte[] compressed = CryptoUtils.compressPublicKey(uncompressed);
+        byte[] flipped = compressed.clone();
+        flipped[0] ^= 1;
+
+        byte[] expected = TaprootUtils.outputKey(uncompressed);
+        assertArrayEquals(expected, TaprootUtils.outputKey(compressed));
+        assertArrayEquals(expected, TaprootUtils.outputKey(flipped));
+    }
+
+    @Test
+    public void outputKeys_batchMatchesSingle() {
+        int count = 9;
+        byte[] privateKeys = new byte[count * 32];
+        new Random(25).nextBytes(privateKeys);
+        byte[] publicKeys = new byte[count * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+        CryptoUtils.derivePublicKeys(privateKeys, 0, publicKeys, 0, count);
+        byte[] outputKeys = new byte[count * TaprootUtils.OUTPUT_KEY_LENGTH];
+
+        TaprootUtils.outputKeys(publicKeys, 0, CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH, count, outputKeys, 0);
+
+        for (int i = 0; i < count; i++) {
+            byte[] publicKey = new byte[CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+            System.arraycopy(publicKeys, i * publicKey.length, publicKey, 0, publicKey.length);
+            byte[] expected = TaprootUtils.outputKey(publicKey);
+            for (int j = 0; j < TaprootUtils.OUTPUT_KEY_LENGTH; j++) {
+                assertEquals(expected[j], outputKeys[i * TaprootUtils.OUTPUT_KEY_LENGTH + j]);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void outputKey_rejectsPointOffCurve() {
+        byte[] publicKey = CryptoUtils.derivePublicKey(new byte[] { 1 });
+        publicKey[64] ^= 1;
+        TaprootUtils.outputKey(publicKey);
+    }
+}
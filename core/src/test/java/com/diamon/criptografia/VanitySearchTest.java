@@ -0,0 +1,120 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.model.WalletData;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la búsqueda de direcciones por prefijo.
+ */
+public class VanitySearchTest {
+
+    @Test
+    public void pattern_filterNeverRejectsMatchingAddress() {
+        String[] prefixes = { "1", "11", "1A", "1B", "1z", "12", "1Qz" };
+        VanityPattern[] patterns = new VanityPattern[prefixes.length];
+        for (int i = 0; i < prefixes.length; i++) {
+            patterns[i] = new VanityPattern(prefixes[i]);
+        }
+
+        Random random = new Random(5);
+        byte[] hash = new byte[HashUtils.HASH160_LENGTH];
+        for (int n = 0; n < 20000; n++) {
+            random.nextBytes(hash);
+            // Bytes cero iniciales para cubrir los prefijos "11..."
+            for (int z = 0; z < n % 3; z++) {
+                hash[z] = 0;
+            }
+            byte[] payload = new byte[1 + HashUtils.HASH160_LENGTH];
+            System.arraycopy(hash, 0, payload, 1, hash.length);
+            String address = Base58Utils.encodeBase58Check(payload);
+
+            for (VanityPattern pattern : patterns) {
+                if (pattern.matches(address)) {
+                    assertTrue(pattern.getPrefix() + " " + address, pattern.mayMatch(hash, 0));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void difficulty_matchesExpectations() {
+        assertEquals(1.0, VanitySearch.getDifficulty("1"), 1e-9);
+        assertEquals(256.0, VanitySearch.getDifficulty("11"), 1e-6);
+        // Un carácter más multiplica la dificultad por unas 58 veces
+        double one = VanitySearch.getDifficulty("1A");
+        double two = VanitySearch.getDifficulty("1AB");
+        assertTrue(one > 20 && one < 60);
+        assertTrue(two / one > 50 && two / one < 66);
+    }
+
+    @Test
+    public void invalidPrefixes_throw() {
+        String[] invalid = { "", "A", "3abc", "10", "1O", "1l", "1I" };
+        for (String prefix : invalid) {
+            try {
+                VanitySearch.getDifficulty(prefix);
+                fail(prefix);
+            } catch (IllegalArgumentException expected) {
+                // esperado
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void impossiblePrefix_throws() {
+        // 25 bytes con 2 ceros dejan menos de 58^33 valores
+        VanitySearch.getDifficulty("11zzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzz");
+    }
+
+    @Test
+    public void search_findsWalletWithPrefix() throws Exception {
+        try (VanitySearch search = new VanitySearch(2)) {
+            WalletData wallet = search.search("1A", null);
+
+            assertNotNull(wallet);
+            assertTrue(wallet.address, wallet.address.startsWith("1A"));
+            WalletData expected = WalletUtils.fromPrivateKey(HexUtils.decode(wallet.privateKeyHex));
+            assertEquals(expected.address, wallet.address);
+            assertEquals(expected.publicKeyHex, wallet.publicKeyHex);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void cancelBeforeStart_returnsNull() throws Exception {
+        try (VanitySearch search = new VanitySearch(2)) {
+            long ticket = search.ticket();
+            search.cancel();
+            assertNull(search.search("1zzzzzzz", null, ticket));
+
+            // Un ticket nuevo no arrastra la cancelación anterior
+            assertNotNull(search.search("1", null, search.ticket()));
+        }
+    }
+
+    @Test
+    public void cancel_returnsNull() throws Exception {
+        final VanitySearch search = new VanitySearch(2);
+        try {
+            final int[] reports = new int[1];
+            WalletData wallet = search.search("1zzzzzzz", new VanitySearch.ProgressListener() {
+                @Override
+                public void onProgress(VanitySearch.Progress progress) {
+                    assertTrue(progress.keysTried >= 0);
+                    assertTrue(progress.difficulty > 1e12);
+                    if (++reports[0] == 2) {
+                        search.cancel();
+                    }
+                }
+            });
+            assertNull(wallet);
+            assertEquals(2, reports[0]);
+        } finally {
+            search.close();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.model.WalletData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de ida y vuelta del formato binario columnar.
+ */
+public class WalletBinaryReaderTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("carteras", ".bwc");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private static List<byte[]> seeds(int count) {
+        List<byte[]> seeds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            seeds.add(("binario " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return seeds;
+    }
+
+    private void write(List<byte[]> seeds) throws Exception {
+        write(seeds, false);
+    }
+
+    private void write(List<byte[]> seeds, boolean compressed) throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             BulkWalletGenerator generator = new BulkWalletGenerator(4, false);
+             WalletBinaryWriter writer = new WalletBinaryWriter(raf.getChannel(), compressed)) {
+            generator.generateChunks(seeds.iterator(), writer);
+        }
+    }
+
+    private WalletBinaryReader open() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return new WalletBinaryReader(raf.getChannel());
+        }
+    }
+
+    @Test
+    public void roundTrip_randomAccess() throws Exception {
+        List<byte[]> seeds = seeds(2 * BulkWalletGenerator.CHUNK_SIZE + 45);
+        write(seeds);
+
+        WalletBinaryReader reader = open();
+        reader.verify();
+        assertEquals(seeds.size(), reader.getRecordCount());
+
+        int[] indices = {0, 1, BulkWalletGenerator.CHUNK_SIZE - 1, BulkWalletGenerator.CHUNK_SIZE,
+                seeds.size() - 1};
+        for (int index : indices) {
+            WalletData expected = WalletUtils.fromSeed(seeds.get(index));
+            WalletData actual = reader.getWallet(index);
+            assertEquals(expected.privateKeyHex, actual.privateKeyHex);
+            assertEquals(expected.wif, actual.wif);
+            assertEquals(expected.publicKeyHex, actual.publicKeyHex);
+            assertEquals(expected.address, actual.address);
+            assertEquals(expected.address, reader.getAddress(index));
+            assertEquals(0, reader.getFlags(index));
+        }
+    }
+
+    @Test
+    public void roundTrip_compressedKeys() throws Exception {
+        List<byte[]> seeds = seeds(BulkWalletGenerator.CHUNK_SIZE + 30);
+        write(seeds, true);
+
+        WalletBinaryReader reader = open();
+        reader.verify();
+        assertEquals(WalletBinaryFormat.COMPRESSED_PUBLIC_KEY_LENGTH, reader.getHeader().publicKeyLength);
+
+        for (int index : new int[] {0, BulkWalletGenerator.CHUNK_SIZE, seeds.size() - 1}) {
+            WalletData expected = WalletUtils.fromSeed(seeds.get(index));
+            WalletData actual = reader.getWallet(index);
+            assertEquals(expected.privateKeyHex, actual.privateKeyHex);
+            assertEquals(expected.compressedWif, actual.wif);
+            assertEquals(expected.compressedPublicKeyHex, actual.publicKeyHex);
+            assertEquals(expected.compressedAddress, actual.address);
+            assertEquals(WalletBinaryFormat.FLAG_COMPRESSED_PUBLIC_KEY, reader.getFlags(index));
+        }
+    }
+
+    @Test
+    public void scan_visitsColumnInOrder() throws Exception {
+        final List<byte[]> seeds = seeds(BulkWalletGenerator.CHUNK_SIZE + 7);
+        write(seeds);
+
+        final long[] next = {0};
+        open().scan(WalletBinaryFormat.Column.HASH160, new WalletBinaryReader.ColumnVisitor() {
+            @Override
+            public void visit(long index, byte[] value, int offset, int length) {
+                assertEquals(next[0]++, index);
+                byte[] publicKey = CryptoUtils.derivePublicKey(CryptoUtils.generatePrivateKey(seeds.get((int) index)));
+                byte[] hash = new byte[length];
+                System.arraycopy(value, offset, hash, 0, length);
+                assertArrayEquals(HashUtils.hash160(publicKey), hash);
+            }
+        });
+        assertEquals(seeds.size(), next[0]);
+    }
+
+    @Test(expected = IOException.class)
+    public void verify_detectsCorruptedBlock() throws Exception {
+        write(seeds(10));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(WalletBinaryFormat.HEADER_LENGTH + 5);
+            int b = raf.read();
+            raf.seek(WalletBinaryFormat.HEADER_LENGTH + 5);
+            raf.write(b ^ 0x01);
+        }
+        open().verify();
+    }
+
+    @Test(expected = IOException.class)
+    public void open_rejectsCorruptedHeader() throws Exception {
+        write(seeds(10));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(12);
+            raf.write(0x7F);
+        }
+        open();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void read_rejectsIndexOutOfRange() throws Exception {
+        write(seeds(3));
+        open().getPrivateKey(3);
+    }
+}
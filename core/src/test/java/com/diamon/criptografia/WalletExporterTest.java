@@ -0,0 +1,221 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.model.WalletData;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del exportador CSV/JSONL.
+ */
+public class WalletExporterTest {
+
+    private static List<byte[]> seeds(int count) {
+        List<byte[]> seeds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            seeds.add(("exportar " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return seeds;
+    }
+
+    private static String export(List<byte[]> seeds, WalletExporter.Format format, int queueCapacity,
+            WalletExporter.Column... columns) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BulkWalletGenerator generator = new BulkWalletGenerator(4, false);
+             WalletExporter exporter = new WalletExporter(Channels.newChannel(out), format, queueCapacity,
+                     columns)) {
+            generator.generateChunks(seeds.iterator(), exporter);
+        }
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void csv_allColumnsInInputOrder() throws Exception {
+        // Cola mínima: los generadores se bloquean y el escritor reordena
+        List<byte[]> seeds = seeds(4 * BulkWalletGenerator.CHUNK_SIZE + 3);
+        String csv = export(seeds, WalletExporter.Format.CSV, 1,
+                WalletExporter.Column.ADDRESS, WalletExporter.Column.PUBLIC_KEY_HEX,
+                WalletExporter.Column.WIF, WalletExporter.Column.PRIVATE_KEY_HEX);
+
+        String[] lines = csv.split("\n");
+        assertEquals("address,publicKeyHex,wif,privateKeyHex", lines[0]);
+        assertEquals(seeds.size() + 1, lines.length);
+
+        for (int i = 0; i < seeds.size(); i++) {
+            WalletData expected = WalletUtils.fromSeed(seeds.get(i));
+            assertEquals(expected.address + "," + expected.publicKeyHex + "," + expected.wif + ","
+                    + expected.privateKeyHex, lines[i + 1]);
+        }
+    }
+
+    @Test
+    public void jsonl_selectedColumns() throws Exception {
+        List<byte[]> seeds = seeds(300);
+        String jsonl = export(seeds, WalletExporter.Format.JSONL, WalletExporter.DEFAULT_QUEUE_CAPACITY,
+                WalletExporter.Column.WIF, WalletExporter.Column.ADDRESS);
+
+        String[] lines = jsonl.split("\n");
+        assertEquals(seeds.size(), lines.length);
+
+        for (int i = 0; i < seeds.size(); i++) {
+            WalletData expected = WalletUtils.fromSeed(seeds.get(i));
+            assertEquals("{\"wif\":\"" + expected.wif + "\",\"address\":\"" + expected.address + "\"}", lines[i]);
+        }
+    }
+
+    @Test
+    public void csv_compressedColumns() throws Exception {
+        List<byte[]> seeds = seeds(BulkWalletGenerator.CHUNK_SIZE + 9);
+        String csv = export(seeds, WalletExporter.Format.CSV, WalletExporter.DEFAULT_QUEUE_CAPACITY,
+                WalletExporter.Column.ADDRESS, WalletExporter.Column.COMPRESSED_ADDRESS,
+                WalletExporter.Column.COMPRESSED_PUBLIC_KEY_HEX, WalletExporter.Column.COMPRESSED_WIF);
+
+        String[] lines = csv.split("\n");
+        assertEquals("address,compressedAddress,compressedPublicKeyHex,compressedWif", lines[0]);
+        assertEquals(seeds.size() + 1, lines.length);
+
+        for (int i = 0; i < seeds.size(); i++) {
+            WalletData expected = WalletUtils.fromSeed(seeds.get(i));
+            assertEquals(expected.address + "," + expected.compressedAddress + ","
+                    + expected.compressedPublicKeyHex + "," + expected.compressedWif, lines[i + 1]);
+        }
+    }
+
+    @Test
+    public void jsonl_segwitColumns() throws Exception {
+        List<byte[]> seeds = seeds(BulkWalletGenerator.CHUNK_SIZE + 5);
+        String jsonl = export(seeds, WalletExporter.Format.JSONL, WalletExporter.DEFAULT_QUEUE_CAPACITY,
+                WalletExporter.Column.P2WPKH_ADDRESS, WalletExporter.Column.P2TR_ADDRESS);
+
+        String[] lines = jsonl.split("\n");
+        assertEquals(seeds.size(), lines.length);
+        for (int i = 0; i < seeds.size(); i++) {
+            byte[] publicKey = HexUtils.decode(WalletUtils.fromSeed(seeds.get(i)).publicKeyHex);
+            assertEquals("{\"p2wpkhAddress\":\"" + CryptoUtils.generateP2wpkhAddress(publicKey)
+                    + "\",\"p2trAddress\":\"" + CryptoUtils.generateP2trAddress(publicKey) + "\"}", lines[i]);
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void writerRuntimeFailure_doesNotBlockGeneratorsOrClose() throws Exception {
+        // Canal que falla con una excepción no comprobada en la primera escritura
+        WritableByteChannel failing = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                throw new IllegalStateException("Disco lleno");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // Cola mínima y muchas filas: los generadores siguen encolando tras el fallo
+        WalletExporter exporter = new WalletExporter(failing, WalletExporter.Format.CSV, 1,
+                WalletExporter.Column.ADDRESS, WalletExporter.Column.PUBLIC_KEY_HEX, WalletExporter.Column.WIF);
+        try (BulkWalletGenerator generator = new BulkWalletGenerator(4, false)) {
+            generator.generateChunks(seeds(32 * BulkWalletGenerator.CHUNK_SIZE).iterator(), exporter);
+        } catch (ExecutionException e) {
+            // Los generadores pueden ver el fallo antes de terminar
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        try {
+            exporter.close();
+            fail("Se esperaba el fallo del escritor");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void infinityRow_isWrittenLikeSingleKeyPath() throws Exception {
+        // Bloque con la clave 0 (punto en el infinito) entre dos claves normales
+        byte[] privateKeys = new byte[3 * 32];
+        privateKeys[31] = 1;
+        privateKeys[95] = 2;
+        byte[] publicKeys = new byte[3 * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+        CryptoUtils.derivePublicKeys(privateKeys, 0, publicKeys, 0, 3);
+        byte[] hash160s = new byte[3 * HashUtils.HASH160_LENGTH];
+        for (int i = 0; i < 3; i++) {
+            int offset = i * CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH;
+            HashUtils.hash160(publicKeys, offset, CryptoUtils.publicKeyLength(publicKeys, offset), hash160s,
+                    i * HashUtils.HASH160_LENGTH);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (WalletExporter exporter = new WalletExporter(Channels.newChannel(out), WalletExporter.Format.CSV,
+                WalletExporter.Column.ADDRESS, WalletExporter.Column.PUBLIC_KEY_HEX,
+                WalletExporter.Column.COMPRESSED_ADDRESS, WalletExporter.Column.COMPRESSED_PUBLIC_KEY_HEX,
+                WalletExporter.Column.P2TR_ADDRESS)) {
+            exporter.onChunk(0, 3, privateKeys, publicKeys, hash160s);
+        }
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.US_ASCII).split("\n");
+        assertEquals(4, lines.length);
+        for (int i = 0; i < 3; i++) {
+            byte[] privateKey = Arrays.copyOfRange(privateKeys, i * 32, (i + 1) * 32);
+            WalletData expected = WalletUtils.fromPrivateKey(privateKey);
+            // El punto en el infinito no tiene dirección Taproot
+            String p2tr = i == 1 ? "" : CryptoUtils.generateP2trAddress(CryptoUtils.derivePublicKey(privateKey));
+            assertEquals(expected.address + "," + expected.publicKeyHex + "," + expected.compressedAddress + ","
+                    + expected.compressedPublicKeyHex + "," + p2tr, lines[i + 1]);
+        }
+    }
+
+    @Test
+    public void missingChunk_failsClose() throws Exception {
+        byte[] privateKeys = new byte[32];
+        privateKeys[31] = 1;
+        WalletExporter exporter = new WalletExporter(Channels.newChannel(new ByteArrayOutputStream()),
+                WalletExporter.Format.CSV, WalletExporter.Column.PRIVATE_KEY_HEX);
+        exporter.onChunk(0, 1, privateKeys, null, null);
+        // Falta la fila 1: la fila 2 no llega a su turno
+        exporter.onChunk(2, 1, privateKeys, null, null);
+        try {
+            exporter.close();
+            fail("El hueco debe hacer fallar close()");
+        } catch (IOException expected) {
+            assertEquals(1, exporter.getRowCount());
+        }
+    }
+
+    @Test
+    public void reusedExporter_rejectsWrittenRows() throws Exception {
+        byte[] privateKeys = new byte[32];
+        privateKeys[31] = 1;
+        WalletExporter exporter = new WalletExporter(Channels.newChannel(new ByteArrayOutputStream()),
+                WalletExporter.Format.CSV, WalletExporter.Column.PRIVATE_KEY_HEX);
+        exporter.onChunk(0, 1, privateKeys, null, null);
+        exporter.close();
+        try {
+            // Una segunda generación vuelve a empezar en el índice 0
+            exporter.onChunk(0, 1, privateKeys, null, null);
+            fail("Las filas ya escritas deben rechazarse");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(1, exporter.getRowCount());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noColumns_rejected() throws Exception {
+        new WalletExporter(Channels.newChannel(new ByteArrayOutputStream()), WalletExporter.Format.CSV);
+    }
+}
@@ -0,0 +1,68 @@
+package com.diamon.criptografia;
+
+import com.diamon.criptografia.model.WalletData;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del pipeline completo semilla → cartera, sin emulador.
+ */
+public class WalletUtilsTest {
+
+    @Test
+    public void fromPrivateKey_knownVector() {
+        byte[] privateKey = new byte[32];
+        privateKey[31] = 1;
+
+        WalletData wallet = WalletUtils.fromPrivateKey(privateKey);
+
+        assertEquals("0000000000000000000000000000000000000000000000000000000000000001", wallet.privateKeyHex);
+        assertEquals("5HpHagT65TZzG1PH3CSu63k8DbpvD8s5ip4nEB3kEsreAnchuDf", wallet.wif);
+        assertEquals("0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"
+                + "483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8", wallet.publicKeyHex);
+        assertEquals("1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZm", wallet.address);
+        assertTrue(wallet.isValid());
+    }
+
+    @Test
+    public void fromPrivateKey_compressedKnownVector() {
+        byte[] privateKey = new byte[32];
+        privateKey[31] = 1;
+
+        WalletData wallet = WalletUtils.fromPrivateKey(privateKey);
+
+        assertTrue(wallet.hasCompressed());
+        assertEquals("KwDiBf89QgGbjEhKnhXJuH7LrciVrZi3qYjgd9M7rFU73sVHnoWn", wallet.compressedWif);
+        assertEquals("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798",
+                wallet.compressedPublicKeyHex);
+        assertEquals("1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH", wallet.compressedAddress);
+    }
+
+    @Test
+    public void fromSeed_usesDoubleSha256() {
+        byte[] seed = "correct horse battery staple".getBytes(StandardCharsets.UTF_8);
+
+        WalletData fromSeed = WalletUtils.fromSeed(seed);
+        WalletData fromKey = WalletUtils.fromPrivateKey(HashUtils.doubleSha256(seed));
+        WalletData fromDigest = WalletUtils.fromSeedDigest(HashUtils.sha256(seed));
+
+        assertEquals(fromKey.address, fromSeed.address);
+        assertEquals(fromKey.wif, fromSeed.wif);
+        assertEquals(fromKey.address, fromDigest.address);
+        assertEquals(fromKey.privateKeyHex, fromDigest.privateKeyHex);
+    }
+
+    @Test
+    public void warmUp_isRepeatableAndLeavesResultsUnchanged() {
+        WalletUtils.warmUp();
+        WalletUtils.warmUp();
+
+        byte[] privateKey = new byte[32];
+        privateKey[31] = 1;
+        assertEquals("1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZm", WalletUtils.fromPrivateKey(privateKey).address);
+    }
+}
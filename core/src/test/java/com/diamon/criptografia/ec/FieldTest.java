@@ -0,0 +1,127 @@
+package com.diamon.criptografia.ec;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compara la aritmética de {@link Field} con BigInteger módulo p.
+ */
+public class FieldTest {
+
+    private static final BigInteger P = new BigInteger(
+            "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+
+    private static int[] element(BigInteger value) {
+        byte[] bytes = new byte[32];
+        byte[] encoded = value.toByteArray();
+        int length = Math.min(encoded.length, 32);
+        System.arraycopy(encoded, encoded.length - length, bytes, 32 - length, length);
+        int[] r = new int[Field.LIMBS];
+        Field.fromBytes(r, bytes, 0);
+        return r;
+    }
+
+    private static BigInteger value(int[] a) {
+        byte[] bytes = new byte[32];
+        Field.toBytes(a.clone(), bytes, 0);
+        return new BigInteger(1, bytes);
+    }
+
+    private static BigInteger[] samples() {
+        Random random = new Random(3);
+        BigInteger[] values = new BigInteger[64];
+        values[0] = BigInteger.ZERO;
+        values[1] = BigInteger.ONE;
+        values[2] = P.subtract(BigInteger.ONE);
+        values[3] = P;
+        values[4] = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+        values[5] = P.add(BigInteger.ONE);
+        for (int i = 6; i < values.length; i++) {
+            values[i] = new BigInteger(256, random);
+        }
+        return values;
+    }
+
+    @Test
+    public void bytes_roundTrip() {
+        for (BigInteger a : samples()) {
+            assertEquals(a.mod(P), value(element(a)));
+        }
+    }
+
+    @Test
+    public void arithmetic_matchesBigInteger() {
+        BigInteger[] values = samples();
+        int[] r = new int[Field.LIMBS];
+        for (BigInteger a : values) {
+            for (BigInteger b : values) {
+                int[] x = element(a);
+                int[] y = element(b);
+
+                Field.mul(r, x, y);
+                assertEquals(a.multiply(b).mod(P), value(r));
+                Field.add(r, x, y);
+                assertEquals(a.add(b).mod(P), value(r));
+                Field.sub(r, x, y);
+                assertEquals(a.subtract(b).mod(P), value(r));
+            }
+
+            int[] x = element(a);
+            Field.sqr(r, x);
+            assertEquals(a.multiply(a).mod(P), value(r));
+            Field.negate(r, x);
+            assertEquals(a.negate().mod(P), value(r));
+        }
+    }
+
+    @Test
+    public void chainedOperations_stayInRange() {
+        Random random = new Random(5);
+        BigInteger expected = new BigInteger(256, random);
+        int[] acc = element(expected);
+        int[] r = new int[Field.LIMBS];
+
+        for (int i = 0; i < 1_000; i++) {
+            BigInteger b = new BigInteger(256, random);
+            int[] y = element(b);
+            switch (i % 4) {
+                case 0:
+                    Field.mul(acc, acc, y);
+                    expected = expected.multiply(b);
+                    break;
+                case 1:
+                    Field.sub(acc, acc, y);
+                    Field.sub(acc, acc, y);
+                    expected = expected.subtract(b.shiftLeft(1));
+                    break;
+                case 2:
+                    Field.add(r, acc, y);
+                    Field.sqr(acc, r);
+                    expected = expected.add(b).pow(2);
+                    break;
+                default:
+                    Field.negate(acc, acc);
+                    expected = expected.negate();
+                    break;
+            }
+            expected = expected.mod(P);
+        }
+        assertEquals(expected, value(acc));
+    }
+
+    @Test
+    public void inv_matchesModInverse() {
+        int[][] scratch = new int[6][Field.LIMBS];
+        int[] r = new int[Field.LIMBS];
+        for (BigInteger a : samples()) {
+            Field.inv(r, element(a), scratch);
+            BigInteger reduced = a.mod(P);
+            BigInteger expected = reduced.signum() == 0 ? BigInteger.ZERO : reduced.modInverse(P);
+            assertEquals(expected, value(r));
+        }
+    }
+}
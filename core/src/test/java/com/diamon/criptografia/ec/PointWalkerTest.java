@@ -0,0 +1,74 @@
+package com.diamon.criptografia.ec;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Contrasta {@link PointWalker} con {@link BouncyCastleEngine} clave a
+ * clave.
+ */
+public class PointWalkerTest {
+
+    private final EcEngine reference = BouncyCastleEngine.getInstance();
+
+    private static byte[] scalar(BigInteger value) {
+        byte[] out = new byte[32];
+        byte[] encoded = value.toByteArray();
+        int length = Math.min(encoded.length, 32);
+        System.arraycopy(encoded, encoded.length - length, out, 32 - length, length);
+        return out;
+    }
+
+    private void assertWalk(BigInteger start, int batchSize, int batches) {
+        PointWalker walker = new PointWalker(batchSize);
+        walker.reset(scalar(start), 0);
+
+        byte[] keys = new byte[batchSize * EcEngine.PUBLIC_KEY_LENGTH];
+        byte[] expected = new byte[EcEngine.PUBLIC_KEY_LENGTH];
+        byte[] actual = new byte[EcEngine.PUBLIC_KEY_LENGTH];
+        BigInteger k = start;
+        for (int batch = 0; batch < batches; batch++) {
+            walker.next(keys, 0);
+            for (int i = 0; i < batchSize; i++) {
+                reference.derivePublicKey(scalar(k), 0, expected, 0);
+                System.arraycopy(keys, i * EcEngine.PUBLIC_KEY_LENGTH, actual, 0, EcEngine.PUBLIC_KEY_LENGTH);
+                assertArrayEquals(k.toString(16), expected, actual);
+                k = k.add(BigInteger.ONE);
+            }
+        }
+    }
+
+    @Test
+    public void randomStart_matchesReference() {
+        Random random = new Random(23);
+        for (int i = 0; i < 3; i++) {
+            assertWalk(new BigInteger(250, random).setBit(250), 64, 4);
+        }
+    }
+
+    @Test
+    public void smallBatches_matchReference() {
+        assertWalk(BigInteger.valueOf(5), 1, 20);
+        assertWalk(BigInteger.valueOf(1000), 3, 10);
+    }
+
+    @Test
+    public void resetRestartsWalk() {
+        assertWalk(BigInteger.ONE.shiftLeft(200), 16, 2);
+        assertWalk(BigInteger.ONE.shiftLeft(200).add(BigInteger.valueOf(32)), 16, 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void nextWithoutReset_throws() {
+        new PointWalker(8).next(new byte[8 * EcEngine.PUBLIC_KEY_LENGTH], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBatchSize_throws() {
+        new PointWalker(0);
+    }
+}
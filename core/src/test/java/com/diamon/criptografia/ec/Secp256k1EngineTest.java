@@ -0,0 +1,145 @@
+package com.diamon.criptografia.ec;
+
+import org.bouncycastle.jce.ECNamedCurveTable;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Contrasta {@link Secp256k1Engine} con el motor de referencia
+ * {@link BouncyCastleEngine}.
+ */
+public class Secp256k1EngineTest {
+
+    private static final BigInteger N = ECNamedCurveTable.getParameterSpec("secp256k1").getN();
+
+    private final EcEngine engine = Secp256k1Engine.getInstance();
+    private final EcEngine reference = BouncyCastleEngine.getInstance();
+
+    private static byte[] scalar(BigInteger value) {
+        byte[] out = new byte[32];
+        byte[] encoded = value.toByteArray();
+        int length = Math.min(encoded.length, 32);
+        System.arraycopy(encoded, encoded.length - length, out, 32 - length, length);
+        return out;
+    }
+
+    private void assertSameKey(byte[] privateKey) {
+        byte[] expected = new byte[EcEngine.PUBLIC_KEY_LENGTH];
+        byte[] actual = new byte[EcEngine.PUBLIC_KEY_LENGTH];
+        reference.derivePublicKey(privateKey, 0, expected, 0);
+        engine.derivePublicKey(privateKey, 0, actual, 0);
+        assertArrayEquals(new BigInteger(1, privateKey).toString(16), expected, actual);
+    }
+
+    @Test
+    public void randomScalars_matchReference() {
+        Random random = new Random(17);
+        byte[] key = new byte[32];
+        for (int i = 0; i < 500; i++) {
+            random.nextBytes(key);
+            assertSameKey(key);
+        }
+    }
+
+    @Test
+    public void edgeScalars_matchReference() {
+        BigInteger[] values = {
+                BigInteger.ONE,
+                BigInteger.valueOf(15),
+                BigInteger.valueOf(16),
+                BigInteger.valueOf(17),
+                BigInteger.ONE.shiftLeft(128),
+                BigInteger.ONE.shiftLeft(252),
+                BigInteger.ONE.shiftLeft(255),
+                N.subtract(BigInteger.ONE),
+                N.subtract(BigInteger.valueOf(16)),
+                N.add(BigInteger.ONE),
+                BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE)
+        };
+        for (BigInteger value : values) {
+            assertSameKey(scalar(value));
+        }
+    }
+
+    @Test
+    public void sparseScalars_matchReference() {
+        // Muchas ventanas nulas seguidas, incluidas las primeras
+        Random random = new Random(23);
+        for (int i = 0; i < 100; i++) {
+            byte[] key = new byte[32];
+            key[random.nextInt(32)] = (byte) (1 + random.nextInt(255));
+            key[random.nextInt(32)] |= (byte) random.nextInt(256);
+            assertSameKey(key);
+        }
+    }
+
+    @Test
+    public void batch_matchesReferenceAtOffsets() {
+        int count = 150;
+        byte[] keys = new byte[3 + count * 32];
+        new Random(29).nextBytes(keys);
+
+        byte[] expected = new byte[5 + count * EcEngine.PUBLIC_KEY_LENGTH];
+        byte[] actual = new byte[5 + count * EcEngine.PUBLIC_KEY_LENGTH];
+        reference.derivePublicKeys(keys, 3, expected, 5, count);
+        engine.derivePublicKeys(keys, 3, actual, 5, count);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void invalidScalars_areRejected() {
+        for (BigInteger value : new BigInteger[] { BigInteger.ZERO, N }) {
+            try {
+                engine.derivePublicKey(scalar(value), 0, new byte[EcEngine.PUBLIC_KEY_LENGTH], 0);
+                fail("Se esperaba IllegalArgumentException para " + value);
+            } catch (IllegalArgumentException expected) {
+                // punto en el infinito
+            }
+        }
+
+        byte[] keys = new byte[3 * 32];
+        keys[31] = 1;
+        keys[63] = 2;
+        try {
+            engine.derivePublicKeys(keys, 0, new byte[3 * EcEngine.PUBLIC_KEY_LENGTH], 0, 3);
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("2"));
+        }
+    }
+
+    @Test
+    public void concurrentUse_matchesReference() throws Exception {
+        Thread[] threads = new Thread[4];
+        final Throwable[] failure = new Throwable[1];
+        for (int i = 0; i < threads.length; i++) {
+            final int seed = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    Random random = new Random(seed);
+                    byte[] key = new byte[32];
+                    for (int j = 0; j < 100; j++) {
+                        random.nextBytes(key);
+                        assertSameKey(key);
+                    }
+                } catch (Throwable t) {
+                    synchronized (failure) {
+                        failure[0] = t;
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        synchronized (failure) {
+            assertNull(failure[0]);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.diamon.criptografia.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del histograma de latencias.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketBounds_coverEveryValue() {
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(value + " <= " + upper, value <= upper);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.bucketUpperBound(index - 1));
+            }
+            // Error relativo acotado a 1/8
+            assertTrue(upper - value <= value / 8);
+        }
+    }
+
+    @Test
+    public void percentiles_withinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000L, histogram.getMaxNanos());
+
+        long p50 = histogram.getPercentile(0.50);
+        long p99 = histogram.getPercentile(0.99);
+        assertTrue(p50 >= 500_000L && p50 <= 500_000L * 9 / 8);
+        assertTrue(p99 >= 990_000L && p99 <= 1_000_000L);
+    }
+
+    @Test
+    public void reset_clearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getTotalNanos());
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+}
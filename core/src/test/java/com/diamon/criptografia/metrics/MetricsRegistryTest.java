@@ -0,0 +1,85 @@
+package com.diamon.criptografia.metrics;
+
+import com.diamon.criptografia.WalletUtils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del registro de métricas instalado sobre la derivación.
+ */
+public class MetricsRegistryTest {
+
+    @After
+    public void tearDown() {
+        PipelineMetrics.setListener(null);
+    }
+
+    @Test
+    public void singleWallet_recordsEveryDerivationStage() {
+        MetricsRegistry registry = new MetricsRegistry();
+        PipelineMetrics.setListener(registry);
+
+        WalletUtils.fromSeed("métricas".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(1, registry.getStats(PipelineMetrics.Stage.SEED_HASH).calls);
+        // Una sola multiplicación para las variantes no comprimida y comprimida
+        assertEquals(1, registry.getStats(PipelineMetrics.Stage.EC_MULTIPLY).calls);
+        assertEquals(2, registry.getStats(PipelineMetrics.Stage.HASH160).calls);
+        assertEquals(4, registry.getStats(PipelineMetrics.Stage.BASE58).calls);
+        assertEquals(3, registry.getStats(PipelineMetrics.Stage.HEX).calls);
+        assertEquals(0, registry.getStats(PipelineMetrics.Stage.FILE_READ).calls);
+        assertTrue(registry.format().contains("EC_MULTIPLY"));
+    }
+
+    @Test
+    public void disabled_recordsNothing() {
+        MetricsRegistry registry = new MetricsRegistry();
+        PipelineMetrics.setListener(registry);
+        PipelineMetrics.setListener(null);
+
+        WalletUtils.fromSeed("sin métricas".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    @Test
+    public void beginAndEnd_pairedOnListener() {
+        final int[] open = {0};
+        PipelineMetrics.setListener(new PipelineMetrics.Listener() {
+            @Override
+            public void onBegin(PipelineMetrics.Stage stage) {
+                open[0]++;
+            }
+
+            @Override
+            public void onEnd(PipelineMetrics.Stage stage, long elapsedNanos, long items) {
+                open[0]--;
+                assertTrue(elapsedNanos >= 0);
+            }
+        });
+
+        WalletUtils.fromSeed("pares".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(0, open[0]);
+    }
+
+    @Test
+    public void items_feedThroughput() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.onEnd(PipelineMetrics.Stage.FILE_READ, 1_000_000L, 4096);
+        registry.onEnd(PipelineMetrics.Stage.FILE_READ, 1_000_000L, 4096);
+
+        MetricsRegistry.StageStats stats = registry.getStats(PipelineMetrics.Stage.FILE_READ);
+        assertEquals(2, stats.calls);
+        assertEquals(8192, stats.items);
+        assertEquals(8192 * 1e9 / 2_000_000L, stats.getItemsPerSecond(), 1e-6);
+
+        registry.reset();
+        assertEquals(0, registry.getStats(PipelineMetrics.Stage.FILE_READ).calls);
+    }
+}
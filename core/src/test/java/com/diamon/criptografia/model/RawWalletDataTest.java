@@ -0,0 +1,143 @@
+package com.diamon.criptografia.model;
+
+import com.diamon.criptografia.CryptoUtils;
+import com.diamon.criptografia.HashUtils;
+import com.diamon.criptografia.WalletUtils;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la cartera respaldada por bytes.
+ */
+public class RawWalletDataTest {
+
+    private static final byte[] SEED = "semilla de prueba".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void renderings_matchEagerWallet() {
+        WalletData expected = WalletUtils.fromSeed(SEED);
+        RawWalletData raw = WalletUtils.rawFromSeed(SEED);
+
+        assertEquals(expected.address, raw.getAddress());
+        assertEquals(expected.publicKeyHex, raw.getPublicKeyHex());
+        assertEquals(expected.wif, raw.getWif());
+        assertEquals(expected.privateKeyHex, raw.getPrivateKeyHex());
+
+        WalletData converted = raw.toWalletData();
+        assertEquals(expected.wif, converted.wif);
+        assertEquals(expected.address, converted.address);
+    }
+
+    @Test
+    public void compressedRenderings_matchEagerWallet() {
+        WalletData expected = WalletUtils.fromSeed(SEED);
+        RawWalletData raw = WalletUtils.rawFromSeed(SEED);
+
+        assertFalse(raw.isCompressed());
+        assertEquals(expected.compressedAddress, raw.getCompressedAddress());
+        assertEquals(expected.compressedWif, raw.getCompressedWif());
+
+        WalletData converted = raw.toWalletData();
+        assertEquals(expected.compressedPublicKeyHex, converted.compressedPublicKeyHex);
+        assertEquals(expected.compressedAddress, converted.compressedAddress);
+    }
+
+    @Test
+    public void compressedKey_wifMatchesAddress() {
+        WalletData expected = WalletUtils.fromSeed(SEED);
+        byte[] privateKey = CryptoUtils.generatePrivateKey(SEED);
+        byte[] publicKey = CryptoUtils.compressPublicKey(CryptoUtils.derivePublicKey(privateKey));
+        byte[] hash160 = new byte[HashUtils.HASH160_LENGTH];
+        HashUtils.hash160(publicKey, 0, publicKey.length, hash160, 0);
+
+        RawWalletData raw = new RawWalletData(privateKey, 0, publicKey, 0, publicKey.length, hash160, 0);
+        assertTrue(raw.isCompressed());
+        assertEquals(expected.compressedAddress, raw.getAddress());
+        // El WIF debe llevar el sufijo 0x01 para importar esa misma dirección
+        assertEquals(expected.compressedWif, raw.getWif());
+
+        WalletData converted = raw.toWalletData();
+        assertEquals(expected.compressedWif, converted.wif);
+        assertEquals(expected.compressedAddress, converted.address);
+        assertEquals(expected.compressedPublicKeyHex, converted.publicKeyHex);
+        assertEquals(expected.compressedWif, converted.compressedWif);
+        assertEquals(expected.compressedAddress, converted.compressedAddress);
+        assertEquals(expected.compressedPublicKeyHex, converted.compressedPublicKeyHex);
+    }
+
+    @Test
+    public void infinitySlot_matchesEagerWallet() {
+        // Hueco de lote con el punto en el infinito de la clave 0
+        byte[] privateKey = new byte[32];
+        byte[] publicKeys = new byte[CryptoUtils.UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+        CryptoUtils.derivePublicKeys(privateKey, 0, publicKeys, 0, 1);
+        int length = CryptoUtils.publicKeyLength(publicKeys, 0);
+        byte[] hash160 = new byte[HashUtils.HASH160_LENGTH];
+        HashUtils.hash160(publicKeys, 0, length, hash160, 0);
+
+        WalletData expected = WalletUtils.fromPrivateKey(privateKey);
+        WalletData converted = new RawWalletData(privateKey, 0, publicKeys, 0, length, hash160, 0).toWalletData();
+        assertEquals(expected.publicKeyHex, converted.publicKeyHex);
+        assertEquals(expected.address, converted.address);
+        assertEquals(expected.compressedPublicKeyHex, converted.compressedPublicKeyHex);
+        assertEquals(expected.compressedAddress, converted.compressedAddress);
+        assertEquals(expected.compressedWif, converted.compressedWif);
+    }
+
+    @Test
+    public void segwitAddresses_matchCryptoUtils() {
+        RawWalletData raw = WalletUtils.rawFromSeed(SEED);
+        byte[] publicKey = raw.getPublicKey();
+
+        assertEquals(CryptoUtils.generateP2wpkhAddress(publicKey), raw.getP2wpkhAddress());
+        assertEquals(CryptoUtils.generateP2trAddress(publicKey), raw.getP2trAddress());
+        assertSame(raw.getP2trAddress(), raw.getP2trAddress());
+    }
+
+    @Test
+    public void renderings_areCached() {
+        RawWalletData raw = WalletUtils.rawFromSeed(SEED);
+        assertSame(raw.getAddress(), raw.getAddress());
+        assertSame(raw.getWif(), raw.getWif());
+    }
+
+    @Test
+    public void equalsAndHashCode_useBytes() {
+        RawWalletData a = WalletUtils.rawFromSeed(SEED);
+        RawWalletData b = WalletUtils.rawFromSeed(SEED);
+        RawWalletData other = WalletUtils.rawFromSeed("otra".getBytes(StandardCharsets.UTF_8));
+
+        a.getAddress(); // la caché no afecta a la igualdad
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, other);
+    }
+
+    @Test
+    public void clear_wipesPrivateKeyButKeepsPublicData() {
+        RawWalletData raw = WalletUtils.rawFromSeed(SEED);
+        String address = raw.getAddress();
+        raw.getWif();
+
+        raw.clear();
+
+        assertTrue(raw.isCleared());
+        assertEquals(address, raw.getAddress());
+        try {
+            raw.getWif();
+            fail("La clave privada debería estar borrada");
+        } catch (IllegalStateException expected) {
+            // esperado
+        }
+        try {
+            raw.getPrivateKey();
+            fail("La clave privada debería estar borrada");
+        } catch (IllegalStateException expected) {
+            // esperado
+        }
+    }
+}